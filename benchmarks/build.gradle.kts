@@ -0,0 +1,18 @@
+plugins {
+    id("me.champeau.jmh") version "0.6.8"
+}
+
+dependencies {
+    jmhImplementation(project(":core"))
+    jmhImplementation(project(":mojang-data"))
+    jmhImplementation(project(":datapack-loading"))
+    jmhImplementation(project(":world-generation"))
+}
+
+// ./gradlew :benchmarks:jmh
+// Results are written as json, so that runs can be compared by tooling.
+jmh {
+    jmhVersion.set("1.37")
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+}
@@ -0,0 +1,144 @@
+package net.minestom.vanilla.benchmarks;
+
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.utils.NamespaceID;
+import net.minestom.server.world.DimensionType;
+import net.minestom.vanilla.datapack.Datapack;
+import net.minestom.vanilla.datapack.worldgen.NoiseSettings;
+import net.minestom.vanilla.generation.Heightmaps;
+import net.minestom.vanilla.generation.NoiseChunkGenerator;
+import net.minestom.vanilla.generation.RandomState;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.UnknownNullability;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole chunks generated with the vanilla overworld settings.
+ * <p>
+ * Runs in throughput mode with seconds as the time unit, so the reported score is in chunks per second.
+ * Every invocation generates a chunk that was not generated before, using a fresh generator so that no noise chunk is
+ * reused.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class ChunkGenerationBenchmark {
+
+    private static final NamespaceID PLAINS = NamespaceID.from("minecraft:plains");
+    private static final long SEED = 125;
+
+    private Datapack datapack;
+    private NoiseSettings settings;
+    private DimensionType dimensionType;
+    private int chunkX;
+
+    @Setup
+    public void setup() {
+        datapack = VanillaData.datapack();
+        settings = VanillaData.overworld();
+        dimensionType = DimensionType.OVERWORLD;
+    }
+
+    private NoiseChunkGenerator generator() {
+        return new NoiseChunkGenerator(datapack, (x, y, z, sampler) -> PLAINS, settings, dimensionType);
+    }
+
+    private ArrayChunk nextChunk() {
+        return new ArrayChunk(chunkX++, 0,
+                dimensionType.getMinY() / Chunk.CHUNK_SECTION_SIZE,
+                dimensionType.getMaxY() / Chunk.CHUNK_SECTION_SIZE);
+    }
+
+    @Benchmark
+    public ArrayChunk fill() {
+        ArrayChunk chunk = nextChunk();
+        generator().fill(datapack, new RandomState(settings, SEED), chunk);
+        return chunk;
+    }
+
+    @Benchmark
+    public ArrayChunk fillAndSurface() {
+        ArrayChunk chunk = nextChunk();
+        NoiseChunkGenerator generator = generator();
+        RandomState randomState = new RandomState(settings, SEED);
+        generator.fill(datapack, randomState, chunk);
+        generator.buildSurface(datapack, randomState, chunk, PLAINS);
+        return chunk;
+    }
+
+    /**
+     * A chunk that only stores its blocks, so that the benchmark measures the generator rather than minestom's
+     * palettes.
+     */
+    public static final class ArrayChunk implements NoiseChunkGenerator.TargetChunk {
+
+        private final int chunkX;
+        private final int chunkZ;
+        private final int minSection;
+        private final int maxSection;
+        private final Block[] blocks;
+        private final Heightmaps heightmaps;
+
+        ArrayChunk(int chunkX, int chunkZ, int minSection, int maxSection) {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+            this.minSection = minSection;
+            this.maxSection = maxSection;
+            this.blocks = new Block[Chunk.CHUNK_SIZE_X * Chunk.CHUNK_SIZE_Z * (maxY() - minY())];
+            this.heightmaps = new Heightmaps(minY(), maxY());
+        }
+
+        @Override
+        public int chunkX() {
+            return chunkX;
+        }
+
+        @Override
+        public int chunkZ() {
+            return chunkZ;
+        }
+
+        @Override
+        public int minSection() {
+            return minSection;
+        }
+
+        @Override
+        public int maxSection() {
+            return maxSection;
+        }
+
+        @Override
+        public @NotNull Heightmaps heightmaps() {
+            return heightmaps;
+        }
+
+        @Override
+        public @UnknownNullability Block getBlock(int x, int y, int z, @NotNull Condition condition) {
+            if (y < minY() || y >= maxY()) return Block.AIR;
+            Block block = blocks[index(x, y, z)];
+            return block == null ? Block.STONE : block;
+        }
+
+        @Override
+        public void setBlock(int x, int y, int z, @NotNull Block block) {
+            if (y < minY() || y >= maxY()) return;
+            blocks[index(x, y, z)] = block;
+            heightmaps.update(x, y, z, block, (localX, localY, localZ) -> {
+                Block written = blocks[index(localX, localY, localZ)];
+                return written == null ? Block.AIR : written;
+            });
+        }
+
+        private int index(int x, int y, int z) {
+            return ((y - minY()) * Chunk.CHUNK_SIZE_Z + (z & 0xF)) * Chunk.CHUNK_SIZE_X + (x & 0xF);
+        }
+    }
+}
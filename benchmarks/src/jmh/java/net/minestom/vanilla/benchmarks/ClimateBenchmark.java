@@ -0,0 +1,68 @@
+package net.minestom.vanilla.benchmarks;
+
+import net.minestom.vanilla.datapack.worldgen.biome.Climate;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Biome lookups in the climate parameter R-tree.
+ * <p>
+ * The tree is filled with random parameter points, as many as the vanilla overworld preset has. The preset itself is
+ * hardcoded in vanilla, and is not part of the datapack.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ClimateBenchmark {
+
+    private static final int TARGETS = 1024;
+
+    @Param({"7600"})
+    public int points;
+
+    private Climate.Parameters<Integer> parameters;
+    private final Climate.TargetPoint[] targets = new Climate.TargetPoint[TARGETS];
+    private int index;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+        Map<Climate.ParamPoint, Supplier<Integer>> things = new HashMap<>();
+        for (int i = 0; i < points; i++) {
+            Integer biome = i;
+            things.put(new Climate.ParamPoint(range(random), range(random), range(random), range(random),
+                    range(random), range(random), 0), () -> biome);
+        }
+        parameters = new Climate.Parameters<>(things);
+
+        for (int i = 0; i < TARGETS; i++) {
+            targets[i] = Climate.target(value(random), value(random), value(random), value(random),
+                    value(random), value(random));
+        }
+    }
+
+    private static Climate.Param range(Random random) {
+        double a = value(random);
+        double b = value(random);
+        return Climate.param(Math.min(a, b), Math.max(a, b));
+    }
+
+    private static double value(Random random) {
+        return random.nextDouble(-1, 1);
+    }
+
+    @Benchmark
+    public Integer find() {
+        index = (index + 1) & (TARGETS - 1);
+        return parameters.find(targets[index]);
+    }
+}
@@ -0,0 +1,92 @@
+package net.minestom.vanilla.benchmarks;
+
+import net.minestom.vanilla.datapack.worldgen.DensityFunction;
+import net.minestom.vanilla.datapack.worldgen.NoiseSettings;
+import net.minestom.vanilla.datapack.worldgen.math.CubicSpline;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single evaluations of the overworld's density functions, and of a plain cubic spline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DensityFunctionBenchmark {
+
+    private static final int POSITIONS = 1024;
+
+    private final DensityFunction.Context[] contexts = new DensityFunction.Context[POSITIONS];
+    private int index;
+
+    private NoiseSettings.NoiseRouter router;
+    private CubicSpline spline;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+        for (int i = 0; i < POSITIONS; i++) {
+            contexts[i] = DensityFunction.context(random.nextInt(-30_000, 30_000), random.nextInt(-64, 320),
+                    random.nextInt(-30_000, 30_000));
+        }
+
+        router = VanillaData.overworld().noise_router();
+
+        // A nested spline of the same shape as the ones used by the overworld offset, driven by the x coordinate
+        DensityFunction coordinate = new DensityFunction() {
+            @Override
+            public double compute(Context context) {
+                return Math.sin(context.x() * 0.001);
+            }
+
+            @Override
+            public double minValue() {
+                return -1;
+            }
+
+            @Override
+            public double maxValue() {
+                return 1;
+            }
+        };
+        CubicSpline inner = new CubicSpline.MultiPoint(coordinate, List.of(
+                new CubicSpline.MultiPoint.Point(-1, new CubicSpline.Constant(-0.2), 0),
+                new CubicSpline.MultiPoint.Point(-0.4, new CubicSpline.Constant(0.1), 0.5),
+                new CubicSpline.MultiPoint.Point(0.3, new CubicSpline.Constant(0.3), 0),
+                new CubicSpline.MultiPoint.Point(1, new CubicSpline.Constant(0.6), 0.2)
+        ));
+        spline = new CubicSpline.MultiPoint(coordinate, List.of(
+                new CubicSpline.MultiPoint.Point(-1.1, new CubicSpline.Constant(0.044), 0),
+                new CubicSpline.MultiPoint.Point(-0.51, inner, 0),
+                new CubicSpline.MultiPoint.Point(-0.16, new CubicSpline.Constant(-0.1), 0),
+                new CubicSpline.MultiPoint.Point(0.25, inner, 0.01),
+                new CubicSpline.MultiPoint.Point(1, new CubicSpline.Constant(0.8), 0)
+        ));
+    }
+
+    private DensityFunction.Context next() {
+        index = (index + 1) & (POSITIONS - 1);
+        return contexts[index];
+    }
+
+    @Benchmark
+    public double finalDensity() {
+        return router.final_density().compute(next());
+    }
+
+    @Benchmark
+    public double initialDensity() {
+        return router.initial_density_without_jaggedness().compute(next());
+    }
+
+    @Benchmark
+    public double cubicSpline() {
+        return spline.compute(next());
+    }
+}
@@ -0,0 +1,71 @@
+package net.minestom.vanilla.benchmarks;
+
+import it.unimi.dsi.fastutil.doubles.DoubleList;
+import net.minestom.vanilla.datapack.worldgen.noise.ImprovedNoise;
+import net.minestom.vanilla.datapack.worldgen.noise.NormalNoise;
+import net.minestom.vanilla.datapack.worldgen.noise.PerlinNoise;
+import net.minestom.vanilla.datapack.worldgen.random.WorldgenRandom;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single samples of the noise primitives every density function is built from.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NoiseBenchmark {
+
+    private static final int POSITIONS = 1024;
+
+    private final double[] xs = new double[POSITIONS];
+    private final double[] ys = new double[POSITIONS];
+    private final double[] zs = new double[POSITIONS];
+    private int index;
+
+    private ImprovedNoise improved;
+    private PerlinNoise perlin;
+    private NormalNoise normal;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(0);
+        for (int i = 0; i < POSITIONS; i++) {
+            xs[i] = random.nextDouble(-30_000, 30_000);
+            ys[i] = random.nextDouble(-64, 320);
+            zs[i] = random.nextDouble(-30_000, 30_000);
+        }
+
+        improved = new ImprovedNoise(WorldgenRandom.xoroshiro(0));
+        // The octaves and amplitudes of minecraft:temperature
+        perlin = new PerlinNoise(WorldgenRandom.xoroshiro(0), -10, new double[]{1.5, 0, 1, 0, 0, 0});
+        normal = new NormalNoise(WorldgenRandom.xoroshiro(0), new NormalNoise.Config(-10, DoubleList.of(1.5, 0, 1, 0, 0, 0)));
+    }
+
+    private int next() {
+        return index = (index + 1) & (POSITIONS - 1);
+    }
+
+    @Benchmark
+    public double improvedNoise() {
+        int i = next();
+        return improved.sample(xs[i], ys[i], zs[i]);
+    }
+
+    @Benchmark
+    public double perlinNoise() {
+        int i = next();
+        return perlin.sample(xs[i], ys[i], zs[i]);
+    }
+
+    @Benchmark
+    public double normalNoise() {
+        int i = next();
+        return normal.sample(xs[i], ys[i], zs[i]);
+    }
+}
@@ -0,0 +1,41 @@
+package net.minestom.vanilla.benchmarks;
+
+import io.github.pesto.MojangDataFeature;
+import net.minestom.vanilla.datapack.Datapack;
+import net.minestom.vanilla.datapack.worldgen.NoiseSettings;
+import net.minestom.vanilla.utils.MinestomUtils;
+
+import java.util.Objects;
+
+/**
+ * The vanilla datapack, loaded once and shared by all benchmarks within the same fork.
+ */
+final class VanillaData {
+
+    private static final String VERSION = "1.20.4";
+
+    private static volatile Datapack datapack;
+
+    private VanillaData() {
+    }
+
+    static Datapack datapack() {
+        Datapack loaded = datapack;
+        if (loaded != null) return loaded;
+        synchronized (VanillaData.class) {
+            if (datapack == null) {
+                MinestomUtils.initialize();
+                datapack = Datapack.loadByteArray(new MojangDataFeature().assetsRequest(VERSION).join());
+            }
+            return datapack;
+        }
+    }
+
+    static Datapack.NamespacedData minecraft() {
+        return Objects.requireNonNull(datapack().namespacedData().get("minecraft"), "minecraft namespace not found");
+    }
+
+    static NoiseSettings overworld() {
+        return minecraft().world_gen().noise_settings().file("overworld.json");
+    }
+}
@@ -1,177 +1,167 @@
 package net.minestom.vanilla.blocks;
 
 import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Vec;
 import net.minestom.server.entity.ItemEntity;
 import net.minestom.server.entity.Player;
 import net.minestom.server.event.player.PlayerBlockBreakEvent;
+import net.minestom.server.instance.Instance;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.item.ItemStack;
 import net.minestom.vanilla.VanillaReimplementation;
+import net.minestom.server.utils.NamespaceID;
 import net.minestom.vanilla.datapack.Datapack;
+import net.minestom.vanilla.datapack.loot.CompiledLootTable;
 import net.minestom.vanilla.datapack.loot.LootTable;
 import net.minestom.vanilla.datapack.loot.context.LootContext;
-import net.minestom.vanilla.datapack.loot.function.LootFunction;
-import net.minestom.vanilla.datapack.loot.function.Predicate;
-import net.minestom.vanilla.files.FileSystem;
-import net.minestom.vanilla.logging.Logger;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
-import java.util.function.Consumer;
 import java.util.random.RandomGenerator;
-
-public record VanillaBlockLoot(VanillaReimplementation vri, Datapack datapack) {
-
-    private record LootEntry(@Nullable List<LootFunction> functions, List<ItemStack> items, double weight) {
+import java.util.stream.IntStream;
+
+public final class VanillaBlockLoot {
+
+    // Below this many blocks, generating their loot in parallel is not worth the overhead
+    private static final int PARALLEL_THRESHOLD = 64;
+    // Shared by all blocks without a loot table
+    private static final LootTable NO_DROPS = new LootTable(null, null, List.of());
+
+    private final VanillaReimplementation vri;
+    private final CompiledLootTable[] block2lootTable;
+
+    /**
+     * Resolves and compiles the loot table of every block of the given datapack, sharing the loot tables, predicates
+     * and item modifiers they reference.
+     *
+     * @param vri      the vanilla reimplementation object
+     * @param datapack the datapack
+     */
+    public VanillaBlockLoot(VanillaReimplementation vri, Datapack datapack) {
+        this.vri = vri;
+
+        int maxId = Block.values().stream().mapToInt(Block::id).max().orElse(-1);
+        this.block2lootTable = new CompiledLootTable[maxId + 1];
+        CompiledLootTable.Compiler compiler = CompiledLootTable.compiler(datapack);
+        Arrays.fill(block2lootTable, compiler.compile(NO_DROPS));
+        for (Block block : Block.values()) {
+            NamespaceID id = NamespaceID.from(block.namespace().domain(), "blocks/" + block.namespace().path());
+            CompiledLootTable lootTable = compiler.compile(id);
+            if (lootTable != null) block2lootTable[block.id()] = lootTable;
+        }
     }
 
     public void spawnLoot(@NotNull PlayerBlockBreakEvent event) {
-        String blockName = event.getBlock().namespace().value();
-        datapack.namespacedData().forEach((namespace, data) -> {
-            FileSystem<LootTable> blocks = data.loot_tables().folder("blocks");
-            var lootTable = blocks.file(blockName + ".json");
-            if (lootTable == null) return;
+        CompiledLootTable lootTable = block2lootTable[event.getBlock().id()];
+        if (lootTable.isEmpty()) return;
 
-            Block blockState = event.getBlock();
-            Point origin = event.getBlockPosition();
-            ItemStack tool = event.getPlayer().getInventory().getItemInMainHand();
-            Player entity = event.getPlayer();
-            Block blockEntity = blockState.registry().blockEntity() == null ? null : blockState;
-            Random random = vri.random(entity);
+        Block blockState = event.getBlock();
+        Point origin = event.getBlockPosition();
+        ItemStack tool = event.getPlayer().getInventory().getItemInMainHand();
+        Player entity = event.getPlayer();
+        Block blockEntity = blockState.registry().blockEntity() == null ? null : blockState;
+        Random random = vri.random(entity);
 
-            LootContext context = new LootContext.Block(blockState, origin, tool, entity, blockEntity, null);
+        LootContext context = new LootContext.Block(blockState, origin, tool, entity, blockEntity, null);
 
-            List<ItemStack> items = new ArrayList<>();
-            generateLootItems(lootTable, context, random, items::add);
+        List<ItemStack> items = new ArrayList<>();
+        lootTable.generate(context, random, items::add);
 
-            for (ItemStack item : items) {
-                ItemEntity itemEntity = new ItemEntity(item);
-                itemEntity.setInstance(entity.getInstance(), origin.add(0.5));
-            }
-        });
+        for (ItemStack item : items) {
+            ItemEntity itemEntity = new ItemEntity(item);
+            itemEntity.setInstance(entity.getInstance(), origin.add(0.5));
+        }
     }
 
-    private void generateLootItems(LootTable lootTable, LootContext context, Random random, Consumer<ItemStack> out) {
-        for (LootTable.Pool pool : lootTable.pools()) {
-
-            // Ensure all conditions are met
-            if (fails(pool.conditions(), context)) continue;
-
-            int rolls = pool.rolls().asInt().apply(() -> random);
-
-            // collect all of the loot entries
-            List<LootEntry> entries = new ArrayList<>();
-            for (LootTable.Pool.Entry entry : pool.entries()) {
-
-                // Ensure all conditions are met
-                if (fails(entry.conditions(), context)) continue;
+    /**
+     * A block to generate the loot of in bulk.
+     *
+     * @param block           the block state
+     * @param position        the block position
+     * @param tool            the tool that broke the block, or air
+     * @param entity          the player that broke the block
+     * @param explosionRadius the radius of the explosion that broke the block
+     */
+    public record BrokenBlock(@NotNull Block block, @NotNull Point position, @NotNull ItemStack tool,
+                              @Nullable Player entity, @Nullable Double explosionRadius) {
+    }
 
-                // now we can add the entries
-                addEntries(context, entry, itemGenerator -> {
-                    double weight = itemGenerator.weight() == null ? 1 : Objects.requireNonNull(itemGenerator.weight()).asDouble().apply(() -> random);
-                    var lootEntries = itemGenerator.apply(datapack, context);
-                    for (List<ItemStack> lootEntryItems : lootEntries) {
-                        entries.add(new LootEntry(itemGenerator.functions(), lootEntryItems, weight));
-                    }
-                });
-            }
+    /**
+     * Generates the loot of many blocks at once, e.g. all blocks destroyed by an explosion. Every block rolls with
+     * its own random generator split from the given one, so the result does not depend on whether it is generated
+     * in parallel. Identical stacks of the same block are merged.
+     *
+     * @param blocks   the broken blocks
+     * @param random   the random generator
+     * @param parallel whether to generate the loot of the blocks in parallel
+     * @return the loot of each block position, without the blocks that dropped nothing
+     */
+    public @NotNull Map<Point, List<ItemStack>> generateLoot(@NotNull Collection<BrokenBlock> blocks,
+                                                            @NotNull RandomGenerator random, boolean parallel) {
+        BrokenBlock[] broken = blocks.toArray(BrokenBlock[]::new);
+        SplittableRandom[] randoms = new SplittableRandom[broken.length];
+        SplittableRandom root = new SplittableRandom(random.nextLong());
+        for (int i = 0; i < randoms.length; i++) {
+            randoms[i] = root.split();
+        }
 
-            // if there is no entries, we can skip this pool
-            if (entries.isEmpty()) continue;
-
-            // now that we have all the entries, we can roll for them
-            double totalWeight = entries.stream().mapToDouble(LootEntry::weight).sum();
-            for (int i = 0; i < rolls; i++) {
-                LootEntry chosenLootEntry = null;
-                double roll = random.nextDouble() * totalWeight;
-                for (LootEntry lootEntry : entries) {
-                    roll -= lootEntry.weight();
-                    if (roll <= 0) {
-                        chosenLootEntry = lootEntry;
-                        break;
-                    }
-                }
-                Objects.requireNonNull(chosenLootEntry);
-
-                // we now have the loot entry, we need to apply the loot functions
-                LootEntry finalChosenLootEntry = chosenLootEntry;
-                chosenLootEntry.items()
-                        .stream()
-                        // loot entry functions
-                        .map(item -> {
-                            if (finalChosenLootEntry.functions() == null) return item;
-                            for (LootFunction function : finalChosenLootEntry.functions()) {
-                                item = function.apply(new LootFunctionContext(random, item, context));
-                            }
-                            return item;
-                        })
-                        // pool functions
-                        .map(item -> {
-                            if (pool.functions() == null) return item;
-                            for (LootFunction function : pool.functions()) {
-                                item = function.apply(new LootFunctionContext(random, item, context));
-                            }
-                            return item;
-                        })
-                        // table functions
-                        .map(item -> {
-                            if (lootTable.functions() == null) return item;
-                            for (LootFunction function : lootTable.functions()) {
-                                item = function.apply(new LootFunctionContext(random, item, context));
-                            }
-                            return item;
-                        })
-                        // add all of the items to the list
-                        .forEach(out);
+        @SuppressWarnings("unchecked")
+        List<ItemStack>[] loot = new List[broken.length];
+        IntStream indices = IntStream.range(0, broken.length);
+        (parallel ? indices.parallel() : indices).forEach(i -> loot[i] = generateLoot(broken[i], randoms[i]));
+
+        Map<Point, List<ItemStack>> position2loot = new HashMap<>();
+        for (int i = 0; i < broken.length; i++) {
+            if (loot[i].isEmpty()) continue;
+            Point position = broken[i].position();
+            List<ItemStack> items = position2loot.computeIfAbsent(new Vec(position.blockX(), position.blockY(), position.blockZ()), ignored -> new ArrayList<>());
+            for (ItemStack item : loot[i]) {
+                merge(items, item);
             }
         }
+        return position2loot;
     }
 
-    private record LootFunctionContext(RandomGenerator random, ItemStack itemStack, LootContext context) implements LootFunction.Context {
-        @Override
-        public <T> @Nullable T get(Trait<T> trait) {
-            return context.get(trait);
-        }
+    /**
+     * Generates and spawns the loot of many blocks at once, see {@link #generateLoot(Collection, RandomGenerator, boolean)}.
+     *
+     * @param instance the instance to spawn the loot in
+     * @param blocks   the broken blocks
+     */
+    public void spawnLoot(@NotNull Instance instance, @NotNull Collection<BrokenBlock> blocks) {
+        Random random = vri.random(instance);
+        generateLoot(blocks, random, blocks.size() >= PARALLEL_THRESHOLD).forEach((position, items) -> {
+            for (ItemStack item : items) {
+                ItemEntity itemEntity = new ItemEntity(item);
+                itemEntity.setInstance(instance, position.add(0.5));
+            }
+        });
     }
 
-    private static boolean fails(@Nullable List<Predicate> predicates, LootContext context) {
-        if (predicates == null) return false;
-        for (Predicate predicate : predicates) {
-            if (!predicate.test(context)) {
-                return true;
-            }
-        }
-        return false;
+    private List<ItemStack> generateLoot(BrokenBlock broken, RandomGenerator random) {
+        CompiledLootTable lootTable = block2lootTable[broken.block().id()];
+        if (lootTable.isEmpty()) return List.of();
+
+        Block blockEntity = broken.block().registry().blockEntity() == null ? null : broken.block();
+        LootContext context = new LootContext.Block(broken.block(), broken.position(), broken.tool(),
+                broken.entity(), blockEntity, broken.explosionRadius());
+
+        List<ItemStack> items = new ArrayList<>();
+        lootTable.generate(context, random, item -> merge(items, item));
+        return items;
     }
 
-    private void addEntries(LootContext context, LootTable.Pool.Entry entry, Consumer<LootTable.Pool.Entry.ItemGenerator> out) {
-        if (fails(entry.conditions(), context)) return;
-        switch (entry.type().toString()) {
-            case "minecraft:item", "minecraft:tag", "minecraft:dynamic", "minecraft:empty" -> out.accept((LootTable.Pool.Entry.ItemGenerator) entry);
-            case "minecraft:loot_table" -> // TODO: recursive loot tables
-                    Logger.debug("Recursive loot tables are not yet supported");
-            case "minecraft:group" -> {
-                LootTable.Pool.Entry.Group group = (LootTable.Pool.Entry.Group) entry;
-                for (LootTable.Pool.Entry groupEntry : group.children()) {
-                    addEntries(context, groupEntry, out);
-                }
-            }
-            case "minecraft:alternatives" -> {
-                LootTable.Pool.Entry.Alternatives alternatives = (LootTable.Pool.Entry.Alternatives) entry;
-                for (LootTable.Pool.Entry alternative : alternatives.children()) {
-                    if (fails(alternative.conditions(), context)) continue;
-                    addEntries(context, alternative, out);
-                    break;
-                }
-            }
-            case "minecraft:sequence" -> {
-                LootTable.Pool.Entry.Sequence sequence = (LootTable.Pool.Entry.Sequence) entry;
-                for (LootTable.Pool.Entry alternative : sequence.children()) {
-                    if (fails(alternative.conditions(), context)) break;
-                    addEntries(context, alternative, out);
-                }
-            }
+    private static void merge(List<ItemStack> items, ItemStack item) {
+        if (item.isAir()) return;
+        int maxStackSize = item.material().maxStackSize();
+        for (int i = 0; i < items.size() && item.amount() > 0; i++) {
+            ItemStack existing = items.get(i);
+            if (existing.amount() >= maxStackSize || !existing.isSimilar(item)) continue;
+            int moved = Math.min(maxStackSize - existing.amount(), item.amount());
+            items.set(i, existing.withAmount(existing.amount() + moved));
+            item = item.withAmount(item.amount() - moved);
         }
+        if (item.amount() > 0) items.add(item);
     }
 }
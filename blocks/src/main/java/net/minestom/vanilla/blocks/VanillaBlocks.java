@@ -12,6 +12,7 @@ import net.minestom.server.event.player.PlayerBlockBreakEvent;
 import net.minestom.server.event.player.PlayerBlockPlaceEvent;
 import net.minestom.server.instance.Instance;
 import net.minestom.server.instance.block.Block;
+import net.minestom.server.item.ItemStack;
 import net.minestom.vanilla.VanillaReimplementation;
 import net.minestom.vanilla.blocks.behaviours.*;
 import net.minestom.vanilla.blocks.behaviours.oxidisable.OxidatableBlockBehaviour;
@@ -21,11 +22,15 @@ import net.minestom.vanilla.blocks.behaviours.recipe.*;
 import net.minestom.vanilla.blockupdatesystem.BlockUpdatable;
 import net.minestom.vanilla.blockupdatesystem.BlockUpdateManager;
 import net.minestom.vanilla.datapack.DatapackLoadingFeature;
+import net.minestom.vanilla.events.ExplosionBlockDropsEvent;
 import net.minestom.vanilla.randomticksystem.RandomTickManager;
 import net.minestom.vanilla.randomticksystem.RandomTickable;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * All blocks available in the vanilla reimplementation
@@ -211,12 +216,23 @@ public enum VanillaBlocks {
         EventNode<Event> events = EventNode.all("vanilla-blocks");
 
         // block loot
-        VanillaBlockLoot loot = new VanillaBlockLoot(vri, vri.feature(DatapackLoadingFeature.class).current());
+        // the loot tables are resolved again whenever the datapack is reloaded
+        DatapackLoadingFeature datapacks = vri.feature(DatapackLoadingFeature.class);
+        AtomicReference<VanillaBlockLoot> loot = new AtomicReference<>(new VanillaBlockLoot(vri, datapacks.current()));
+        datapacks.onReload(datapack -> loot.set(new VanillaBlockLoot(vri, datapack)));
         events.addListener(EventListener.builder(PlayerBlockBreakEvent.class)
                 .filter(event -> !event.isCancelled())
                 .filter(event -> event.getPlayer().getGameMode() != GameMode.CREATIVE)
-                .handler(loot::spawnLoot)
+                .handler(event -> loot.get().spawnLoot(event))
                 .build());
+        events.addListener(ExplosionBlockDropsEvent.class, event -> {
+            // without an explosion radius, survives_explosion always passes
+            Double radius = event.isDroppingEverything() ? null : (double) event.getStrength();
+            List<VanillaBlockLoot.BrokenBlock> blocks = new ArrayList<>();
+            event.getBlocks().forEach((position, block) ->
+                    blocks.add(new VanillaBlockLoot.BrokenBlock(block, position, ItemStack.AIR, null, radius)));
+            loot.get().spawnLoot(event.getInstance(), blocks);
+        });
 
         Short2ObjectMap<VanillaBlockBehaviour> stateId2behaviour = new Short2ObjectOpenHashMap<>();
 
@@ -0,0 +1,144 @@
+package net.minestom.vanilla.commands;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.command.CommandSender;
+import net.minestom.server.command.builder.Command;
+import net.minestom.server.command.builder.CommandContext;
+import net.minestom.server.command.builder.arguments.ArgumentType;
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.entity.Player;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.InstanceContainer;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import net.minestom.server.utils.location.RelativeVec;
+import net.minestom.vanilla.instance.ChunkPregenerator;
+import net.minestom.vanilla.logging.Logger;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pre-generates chunks of the sender's instance (or the first instance, when run from the console).
+ * <p>
+ * pregen radius &lt;radius&gt; - generates a square of chunks around the sender
+ * pregen rectangle &lt;from&gt; &lt;to&gt; - generates all chunks between the two positions
+ * pregen resume - resumes an interrupted pre-generation from its checkpoint
+ * pregen cancel - stops the running pre-generation, keeping its checkpoint
+ * </p>
+ */
+@SuppressWarnings("UnstableApiUsage")
+public class PregenCommand extends Command {
+
+    private final Map<Instance, ChunkPregenerator> running = new ConcurrentHashMap<>();
+
+    public PregenCommand() {
+        super("pregen");
+        setCondition(this::condition);
+
+        this.addSyntax(
+                this::usageRadius,
+                ArgumentType.Literal("radius"),
+                ArgumentType.Integer("radius").min(0)
+        );
+        this.addSyntax(
+                this::usageRectangle,
+                ArgumentType.Literal("rectangle"),
+                ArgumentType.RelativeVec2("from"),
+                ArgumentType.RelativeVec2("to")
+        );
+        this.addSyntax(
+                this::usageResume,
+                ArgumentType.Literal("resume")
+        );
+        this.addSyntax(
+                this::usageCancel,
+                ArgumentType.Literal("cancel")
+        );
+    }
+
+    private boolean condition(CommandSender player, String commandName) {
+        return true; // TODO: permissions
+    }
+
+    private void usageRadius(CommandSender sender, CommandContext context) {
+        InstanceContainer instance = instance(sender);
+        if (instance == null) return;
+        int radius = context.get("radius");
+        Pos position = sender instanceof Player player ? player.getPosition() : Pos.ZERO;
+        ChunkPregenerator.Region region = ChunkPregenerator.Region.radius(
+                ChunkUtils.getChunkCoordinate(position.x()), ChunkUtils.getChunkCoordinate(position.z()), radius);
+        start(sender, instance, ChunkPregenerator.create(instance, region, checkpoint(instance)));
+    }
+
+    private void usageRectangle(CommandSender sender, CommandContext context) {
+        InstanceContainer instance = instance(sender);
+        if (instance == null) return;
+        Pos origin = sender instanceof Player player ? player.getPosition() : Pos.ZERO;
+        RelativeVec fromVec = context.get("from");
+        RelativeVec toVec = context.get("to");
+        Vec from = fromVec.from(origin);
+        Vec to = toVec.from(origin);
+        ChunkPregenerator.Region region = ChunkPregenerator.Region.rectangle(
+                ChunkUtils.getChunkCoordinate(from.x()), ChunkUtils.getChunkCoordinate(from.z()),
+                ChunkUtils.getChunkCoordinate(to.x()), ChunkUtils.getChunkCoordinate(to.z()));
+        start(sender, instance, ChunkPregenerator.create(instance, region, checkpoint(instance)));
+    }
+
+    private void usageResume(CommandSender sender, CommandContext context) {
+        InstanceContainer instance = instance(sender);
+        if (instance == null) return;
+        ChunkPregenerator pregenerator = ChunkPregenerator.resume(instance, checkpoint(instance));
+        if (pregenerator == null) {
+            sender.sendMessage("There is no pre-generation to resume.");
+            return;
+        }
+        start(sender, instance, pregenerator);
+    }
+
+    private void usageCancel(CommandSender sender, CommandContext context) {
+        InstanceContainer instance = instance(sender);
+        if (instance == null) return;
+        ChunkPregenerator pregenerator = running.get(instance);
+        if (pregenerator == null) {
+            sender.sendMessage("There is no pre-generation running.");
+            return;
+        }
+        pregenerator.cancel();
+        sender.sendMessage("Cancelled pre-generation, use /pregen resume to continue it.");
+    }
+
+    private void start(CommandSender sender, InstanceContainer instance, ChunkPregenerator pregenerator) {
+        if (running.putIfAbsent(instance, pregenerator) != null) {
+            sender.sendMessage("A pre-generation is already running, cancel it first.");
+            return;
+        }
+        long total = pregenerator.region().count();
+        sender.sendMessage("Pre-generating " + total + " chunks, " + pregenerator.completed() + " already done.");
+        long start = System.nanoTime();
+        pregenerator.start().whenComplete((ignored, throwable) -> {
+            running.remove(instance);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            sender.sendMessage(String.format("Pre-generation finished: %d/%d chunks in %.1fs",
+                    pregenerator.completed(), total, seconds));
+            Logger.info("Pre-generation of %d chunks finished in %.1fs", pregenerator.completed(), seconds);
+        });
+    }
+
+    private @Nullable InstanceContainer instance(CommandSender sender) {
+        Instance instance = sender instanceof Player player ? player.getInstance() :
+                MinecraftServer.getInstanceManager().getInstances().stream().findFirst().orElse(null);
+        if (!(instance instanceof InstanceContainer container)) {
+            sender.sendMessage("This command can only pre-generate instance containers!");
+            return null;
+        }
+        return container;
+    }
+
+    private static Path checkpoint(Instance instance) {
+        String dimension = instance.getDimensionType().getName().asString().replace(':', '_');
+        return Path.of("pregen-" + dimension + ".properties");
+    }
+}
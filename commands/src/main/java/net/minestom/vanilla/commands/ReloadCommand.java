@@ -0,0 +1,40 @@
+package net.minestom.vanilla.commands;
+
+import net.minestom.server.command.CommandSender;
+import net.minestom.server.command.builder.Command;
+import net.minestom.server.command.builder.CommandContext;
+import net.minestom.vanilla.VanillaReimplementation;
+import net.minestom.vanilla.datapack.DatapackLoadingFeature;
+import net.minestom.vanilla.logging.Logger;
+
+/**
+ * Reloads the datapack in the background
+ */
+public class ReloadCommand extends Command {
+
+    private final DatapackLoadingFeature feature;
+
+    public ReloadCommand(VanillaReimplementation vri) {
+        super("reload");
+        this.feature = vri.feature(DatapackLoadingFeature.class);
+        setCondition(this::condition);
+        setDefaultExecutor(this::execute);
+    }
+
+    private boolean condition(CommandSender player, String commandName) {
+        return true; // TODO: permissions
+    }
+
+    private void execute(CommandSender sender, CommandContext arguments) {
+        sender.sendMessage("Reloading!");
+        feature.reload().whenComplete((datapack, throwable) -> {
+            if (throwable != null) {
+                Logger.warn("Failed to reload the datapack");
+                Logger.warn(throwable);
+                sender.sendMessage("Failed to reload the datapack, see the console for details");
+                return;
+            }
+            sender.sendMessage("Reloaded the datapack");
+        });
+    }
+}
@@ -2,38 +2,42 @@ package net.minestom.vanilla.commands;
 
 import net.minestom.server.command.CommandManager;
 import net.minestom.server.command.builder.Command;
+import net.minestom.vanilla.VanillaReimplementation;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.function.Supplier;
+import java.util.function.Function;
 
 /**
  * All commands available in the vanilla reimplementation
  */
 public enum VanillaCommands {
 
-    FORCELOAD(ForceloadCommand::new),
-    GAMEMODE(GamemodeCommand::new),
-    DIFFICULTY(DifficultyCommand::new),
-    ME(MeCommand::new),
-    STOP(StopCommand::new),
-    HELP(HelpCommand::new),
-    SAVE_ALL(SaveAllCommand::new),
+    FORCELOAD(vri -> new ForceloadCommand()),
+    GAMEMODE(vri -> new GamemodeCommand()),
+    DIFFICULTY(vri -> new DifficultyCommand()),
+    ME(vri -> new MeCommand()),
+    STOP(vri -> new StopCommand()),
+    HELP(vri -> new HelpCommand()),
+    SAVE_ALL(vri -> new SaveAllCommand()),
+    PREGEN(vri -> new PregenCommand()),
+    RELOAD(ReloadCommand::new),
     ;
 
-    private final Supplier<Command> commandCreator;
+    private final Function<VanillaReimplementation, Command> commandCreator;
 
-    VanillaCommands(Supplier<Command> commandCreator) {
+    VanillaCommands(Function<VanillaReimplementation, Command> commandCreator) {
         this.commandCreator = commandCreator;
     }
 
     /**
-     * Register all vanilla commands into the given manager
+     * Register all vanilla commands into the command manager of the given vanilla reimplementation
      *
-     * @param manager the command manager to register commands on
+     * @param vri the vanilla reimplementation, whose features the commands may use
      */
-    public static void registerAll(@NotNull CommandManager manager) {
+    public static void registerAll(@NotNull VanillaReimplementation vri) {
+        CommandManager manager = vri.process().command();
         for (VanillaCommands vanillaCommand : values()) {
-            Command command = vanillaCommand.commandCreator.get();
+            Command command = vanillaCommand.commandCreator.apply(vri);
             manager.register(command);
         }
     }
@@ -2,6 +2,7 @@ package net.minestom.vanilla.commands;
 
 import net.minestom.server.utils.NamespaceID;
 import net.minestom.vanilla.VanillaReimplementation;
+import net.minestom.vanilla.datapack.DatapackLoadingFeature;
 import net.minestom.vanilla.instancemeta.InstanceMetaFeature;
 import org.jetbrains.annotations.NotNull;
 
@@ -24,12 +25,12 @@ public class VanillaCommandsFeature implements VanillaReimplementation.Feature {
         }
 
         private void hook(@NotNull VanillaReimplementation vri) {
-            VanillaCommands.registerAll(vri.process().command());
+            VanillaCommands.registerAll(vri);
         }
     }
 
     @Override
     public @NotNull Set<Class<? extends VanillaReimplementation.Feature>> dependencies() {
-        return Set.of(InstanceMetaFeature.class);
+        return Set.of(InstanceMetaFeature.class, DatapackLoadingFeature.class);
     }
 }
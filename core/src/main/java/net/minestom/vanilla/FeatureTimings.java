@@ -0,0 +1,62 @@
+package net.minestom.vanilla;
+
+import net.minestom.server.utils.NamespaceID;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records when each feature was hooked, to report the startup critical path.
+ */
+final class FeatureTimings {
+
+    private final long start = System.nanoTime();
+    private final Map<Class<?>, Timing> timings = new ConcurrentHashMap<>();
+
+    /**
+     * Records a feature as hooked.
+     *
+     * @param feature the feature
+     * @param started when the feature started hooking, from {@link System#nanoTime()}
+     * @param hooked  when the feature finished hooking, including its asynchronous work
+     */
+    void record(@NotNull VanillaReimplementation.Feature feature, long started, long hooked) {
+        timings.put(feature.identity(), new Timing(feature, started - start, hooked - start));
+    }
+
+    /**
+     * Creates a report of all recorded features, sorted by when they started, followed by the critical path, i.e. the
+     * chain of dependencies that finished last.
+     *
+     * @return the report
+     */
+    @NotNull String report() {
+        List<Timing> sorted = new ArrayList<>(timings.values());
+        sorted.sort(Comparator.comparingLong(Timing::started));
+
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format("%-40s %10s %10s %10s%n", "feature", "start ms", "took ms", "end ms"));
+        for (Timing timing : sorted) {
+            builder.append(String.format("%-40s %10.1f %10.1f %10.1f%n", timing.feature.namespaceId(),
+                    timing.started / 1e6, (timing.hooked - timing.started) / 1e6, timing.hooked / 1e6));
+        }
+
+        List<NamespaceID> criticalPath = new ArrayList<>();
+        Timing current = sorted.stream().max(Comparator.comparingLong(Timing::hooked)).orElse(null);
+        while (current != null) {
+            criticalPath.add(0, current.feature.namespaceId());
+            current = current.feature.dependencies().stream()
+                    .map(timings::get)
+                    .filter(Objects::nonNull)
+                    .max(Comparator.comparingLong(Timing::hooked))
+                    .orElse(null);
+        }
+        builder.append("critical path: ");
+        builder.append(String.join(" -> ", criticalPath.stream().map(NamespaceID::asString).toList()));
+        return builder.toString();
+    }
+
+    private record Timing(VanillaReimplementation.Feature feature, long started, long hooked) {
+    }
+}
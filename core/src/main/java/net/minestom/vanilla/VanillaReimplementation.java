@@ -15,6 +15,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 
@@ -151,6 +152,36 @@ public interface VanillaReimplementation {
          */
         void hook(@NotNull HookContext context);
 
+        /**
+         * Hooks into this server process, allowing slow I/O to happen without blocking a hooking thread.
+         * <p>
+         * Features that depend on this feature are hooked once the returned future completes. Features overriding
+         * this method can implement {@link #hook(HookContext)} as {@code hookAsync(context).join()}.
+         * </p>
+         *
+         * @param context the context containing all related objects
+         * @return a future completing once this feature is hooked
+         */
+        default @NotNull CompletableFuture<Void> hookAsync(@NotNull HookContext context) {
+            hook(context);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        /**
+         * Whether this feature may be hooked on its own thread, concurrently with the features it doesn't depend on.
+         * <p>
+         * Minestom's registries (commands, event nodes, block handlers, ...) are not thread-safe, so by default
+         * features are hooked one after another on the thread calling {@link VanillaReimplementation#hook}. Only
+         * features that register nothing with the server process while hooking (e.g. features that only load data)
+         * should return true.
+         * </p>
+         *
+         * @return true if this feature can be hooked concurrently
+         */
+        default boolean hooksConcurrently() {
+            return false;
+        }
+
         interface HookContext {
             @NotNull VanillaReimplementation vri();
             @NotNull VanillaRegistry registry();
@@ -26,13 +26,27 @@ import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnknownNullability;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 class VanillaReimplementationImpl implements VanillaReimplementation {
 
+    /**
+     * Hooks features one after another on the calling thread, for debugging features that don't declare all of
+     * their dependencies.
+     */
+    private static final boolean SEQUENTIAL_HOOKS = Boolean.getBoolean("vri.features.sequential");
+    private static final AtomicInteger HOOK_THREAD_COUNT = new AtomicInteger();
+    private static final ThreadFactory HOOK_THREADS = runnable -> {
+        Thread thread = new Thread(runnable, "vri-feature-hook-" + HOOK_THREAD_COUNT.getAndIncrement());
+        thread.setDaemon(true);
+        return thread;
+    };
+
     private final ServerProcess process;
     private final Map<NamespaceID, Instance> worlds = new ConcurrentHashMap<>();
     private final Map<EntityType, VanillaRegistry.EntitySpawner> entity2Spawner = new ConcurrentHashMap<>();
@@ -233,34 +247,94 @@ class VanillaReimplementationImpl implements VanillaReimplementation {
         List<Feature> sortedByDependencies = DependencySorting.sort(features);
         Loading.finish();
 
+        // Each feature is hooked as soon as all of its dependencies are. Features that opt in are hooked concurrently,
+        // the others one after another on this thread, since Minestom's registries are not thread-safe.
+        Loading.start("Hooking features");
+        ExecutorService executor = SEQUENTIAL_HOOKS ? null : Executors.newCachedThreadPool(HOOK_THREADS);
+        FeatureTimings timings = new FeatureTimings();
+        Map<Class<? extends Feature>, CompletableFuture<Void>> class2hooked = new HashMap<>();
+        List<PendingHook> onThisThread = new ArrayList<>();
         for (Feature feature : sortedByDependencies) {
             if (!predicate.test(feature)) {
                 Logger.info("Skipping feature %s...", feature.namespaceId());
+                class2hooked.put(feature.identity(), CompletableFuture.completedFuture(null));
                 continue;
             }
 
-            try {
-                instructHook(feature, registry);
-                //noinspection unchecked
-                class2Feature.put((Class<Feature>) feature.getClass(), feature);
-            } catch (Exception e) {
-                Logger.error("Failed to load feature: " + feature.namespaceId(), e);
-                throw new RuntimeException(e);
+            CompletableFuture<Void> dependencies = CompletableFuture.allOf(feature.dependencies().stream()
+                    .map(class2hooked::get)
+                    .toArray(CompletableFuture[]::new));
+            if (executor != null && feature.hooksConcurrently()) {
+                Supplier<CompletableFuture<Void>> hook = Loading.inherit(() -> instructHook(feature, registry, timings));
+                class2hooked.put(feature.identity(), dependencies.thenComposeAsync(ignored -> hook.get(), executor));
+            } else {
+                PendingHook pending = new PendingHook(feature, dependencies, new CompletableFuture<>());
+                class2hooked.put(feature.identity(), pending.hooked());
+                onThisThread.add(pending);
             }
         }
-    }
 
-    private void instructHook(Feature feature, VanillaRegistry registry) {
+        while (!onThisThread.isEmpty()) {
+            // features are sorted by dependencies, so the first ready feature doesn't wait on a later one
+            PendingHook ready = onThisThread.stream()
+                    .filter(pending -> pending.dependencies().isDone())
+                    .findFirst()
+                    .orElse(null);
+            if (ready == null) {
+                CompletableFuture.anyOf(onThisThread.stream().map(PendingHook::dependencies).toArray(CompletableFuture[]::new))
+                        .exceptionally(ignored -> null)
+                        .join();
+                continue;
+            }
+            onThisThread.remove(ready);
+            if (ready.dependencies().isCompletedExceptionally()) {
+                ready.dependencies().whenComplete((ignored, throwable) -> ready.hooked().completeExceptionally(throwable));
+                continue;
+            }
+            instructHook(ready.feature(), registry, timings).whenComplete((ignored, throwable) -> {
+                if (throwable != null) {
+                    ready.hooked().completeExceptionally(throwable);
+                } else {
+                    ready.hooked().complete(null);
+                }
+            });
+        }
+
         try {
-            Loading.start("" + feature.namespaceId());
-            Feature.HookContext context = new HookContextImpl(this, registry, Loading.updater());
-            feature.hook(context);
-        } catch (Exception e) {
-            Logger.error(e, "Failed to load feature: %s%n", feature.namespaceId());
-            throw new RuntimeException(e);
+            CompletableFuture.allOf(class2hooked.values().toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            throw new RuntimeException(e.getCause());
         } finally {
-            Loading.finish();
+            if (executor != null) executor.shutdown();
         }
+        Loading.finish();
+
+        Logger.info("Feature hook timings:%n%s", timings.report());
+    }
+
+    private CompletableFuture<Void> instructHook(Feature feature, VanillaRegistry registry, FeatureTimings timings) {
+        long started = System.nanoTime();
+        // the loading task stays open until the feature is hooked, so its asynchronous work is nested under it
+        CompletableFuture<Void> hooked = Loading.async("" + feature.namespaceId(), () -> {
+            Feature.HookContext context = new HookContextImpl(this, registry, Loading.updater());
+            return feature.hookAsync(context);
+        });
+
+        return hooked.whenComplete((ignored, throwable) -> {
+            if (throwable != null) {
+                Logger.error(throwable, "Failed to load feature: %s%n", feature.namespaceId());
+                return;
+            }
+            //noinspection unchecked
+            class2Feature.put((Class<Feature>) feature.getClass(), feature);
+            timings.record(feature, started, System.nanoTime());
+        });
+    }
+
+    /**
+     * A feature that is hooked on the thread hooking all features, once its dependencies are hooked.
+     */
+    private record PendingHook(Feature feature, CompletableFuture<Void> dependencies, CompletableFuture<Void> hooked) {
     }
 
     private record HookContextImpl(VanillaReimplementation vri,
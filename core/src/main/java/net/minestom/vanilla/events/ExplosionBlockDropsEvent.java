@@ -0,0 +1,17 @@
+package net.minestom.vanilla.events;
+
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.event.Event;
+import net.minestom.server.event.trait.InstanceEvent;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+
+import java.util.Map;
+
+/**
+ * Called once per explosion with all blocks it destroys, before they are destroyed. Which of them drop their loot is
+ * decided by their loot tables, with the strength as the explosion radius, unless the explosion drops everything.
+ */
+public record ExplosionBlockDropsEvent(Instance getInstance, Point getCenter, float getStrength,
+                                       boolean isDroppingEverything, Map<Point, Block> getBlocks) implements Event, InstanceEvent {
+}
@@ -1,45 +1,84 @@
 package net.minestom.vanilla.files;
 
-import net.minestom.server.utils.MathUtils;
+import okio.BufferedSource;
+import okio.Okio;
+import org.jetbrains.annotations.NotNull;
 
-import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
 
+/**
+ * An immutable sequence of bytes.
+ * <p>
+ * The bytes are held by a read-only {@link ByteBuffer}, which may be a heap buffer, or a slice of a direct or
+ * memory-mapped buffer. Reading the bytes through {@link #toStream()}, {@link #toSource()} or {@link #buffer()} never
+ * copies them.
+ * </p>
+ */
 public class ByteArray {
 
-    private final byte[] bytes;
+    private final ByteBuffer buffer;
 
-    private ByteArray(byte[] b, boolean copy) {
-        this.bytes = copy ? deepCopy(b) : b;
+    private ByteArray(ByteBuffer buffer) {
+        this.buffer = buffer;
     }
 
     public static ByteArray wrap(byte[] bytes) {
-        return new ByteArray(bytes, false);
+        return new ByteArray(ByteBuffer.wrap(bytes).asReadOnlyBuffer());
     }
 
     public static ByteArray copyOf(byte[] bytes) {
-        return new ByteArray(bytes, true);
+        return wrap(bytes.clone());
     }
 
+    /**
+     * Creates a view of the remaining bytes of the given buffer, without copying them.
+     * The buffer's content must not be modified afterwards.
+     *
+     * @param buffer the buffer, its position and limit are not changed
+     * @return the view
+     */
+    public static ByteArray view(@NotNull ByteBuffer buffer) {
+        return new ByteArray(buffer.slice().asReadOnlyBuffer());
+    }
+
+    /**
+     * @return a copy of the bytes
+     */
     public byte[] array() {
-        return deepCopy(bytes);
+        byte[] copy = new byte[size()];
+        buffer.get(0, copy);
+        return copy;
+    }
+
+    /**
+     * @return a read-only view of the bytes, positioned at the first byte
+     */
+    public ByteBuffer buffer() {
+        return buffer.duplicate();
     }
 
     public int size() {
-        return bytes.length;
+        return buffer.limit();
     }
 
     public byte index(int i) {
-        if (!MathUtils.isBetween(i, 0, size()))
-            throw new ArrayIndexOutOfBoundsException();
-        return bytes[i];
+        if (i < 0 || i >= size())
+            throw new ArrayIndexOutOfBoundsException(i);
+        return buffer.get(i);
     }
 
     public InputStream toStream() {
-        return new ByteArrayInputStream(bytes);
+        return new ByteBufferInputStream(buffer.duplicate());
+    }
+
+    /**
+     * @return a source reading the bytes, e.g. to be read by moshi
+     */
+    public BufferedSource toSource() {
+        return Okio.buffer(Okio.source(toStream()));
     }
 
     public String toCharacterString() {
@@ -47,13 +86,7 @@ public class ByteArray {
     }
 
     public String toCharacterString(Charset charset) {
-        return new String(bytes, charset);
-    }
-
-    private byte[] deepCopy(byte[] source) {
-        byte[] copy = new byte[source.length];
-        System.arraycopy(source, 0, copy, 0, source.length);
-        return copy;
+        return charset.decode(buffer.duplicate()).toString();
     }
 
     @Override
@@ -61,11 +94,45 @@ public class ByteArray {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         ByteArray byteArray = (ByteArray) o;
-        return Arrays.equals(bytes, byteArray.bytes);
+        return buffer.equals(byteArray.buffer);
     }
 
     @Override
     public int hashCode() {
-        return Arrays.hashCode(bytes);
+        return buffer.hashCode();
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte @NotNull [] bytes, int offset, int length) {
+            if (length == 0) return 0;
+            if (!buffer.hasRemaining()) return -1;
+            int read = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, read);
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+
+        @Override
+        public long skip(long n) {
+            int skipped = (int) Math.min(Math.max(n, 0), buffer.remaining());
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,11 @@
 package net.minestom.vanilla.files;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -20,6 +24,45 @@ class CacheFileSystem<F> implements FileSystemImpl<F> {
                         name -> original.folder(name).cache()));
     }
 
+    private CacheFileSystem(Map<String, F> files, Map<String, FileSystem<F>> folders) {
+        this.files = Map.copyOf(files);
+        this.folders = Map.copyOf(folders);
+    }
+
+    /**
+     * Caches the given file system, reading every file and folder as a separate task on the given pool.
+     */
+    static <F> FileSystem<F> parallel(FileSystem<F> original, ForkJoinPool pool) {
+        ParallelCache<F> task = new ParallelCache<>(original);
+        return ForkJoinTask.inForkJoinPool() ? task.invoke() : pool.invoke(task);
+    }
+
+    private static class ParallelCache<F> extends RecursiveTask<FileSystem<F>> {
+        private final FileSystem<F> original;
+
+        ParallelCache(FileSystem<F> original) {
+            this.original = original;
+        }
+
+        @Override
+        protected FileSystem<F> compute() {
+            Map<String, ForkJoinTask<F>> fileTasks = new HashMap<>();
+            for (String file : original.files()) {
+                fileTasks.put(file, ForkJoinTask.adapt(() -> original.file(file)).fork());
+            }
+            Map<String, ForkJoinTask<FileSystem<F>>> folderTasks = new HashMap<>();
+            for (String folder : original.folders()) {
+                folderTasks.put(folder, new ParallelCache<>(original.folder(folder)).fork());
+            }
+
+            Map<String, F> files = new HashMap<>();
+            fileTasks.forEach((name, task) -> files.put(name, task.join()));
+            Map<String, FileSystem<F>> folders = new HashMap<>();
+            folderTasks.forEach((name, task) -> folders.put(name, task.join()));
+            return new CacheFileSystem<>(files, folders);
+        }
+    }
+
     @Override
     public Set<String> folders() {
         return folders.keySet();
@@ -49,4 +92,9 @@ class CacheFileSystem<F> implements FileSystemImpl<F> {
     public FileSystem<F> cache() {
         return this;
     }
-}
\ No newline at end of file
+
+    @Override
+    public FileSystem<F> cache(ForkJoinPool pool) {
+        return this;
+    }
+}
@@ -0,0 +1,14 @@
+package net.minestom.vanilla.files;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * A file system backed by a resource that has to be closed once the file system is no longer used, e.g. an open zip
+ * file. Its files can't be read anymore once it is closed, including through the file systems of its folders.
+ */
+public interface CloseableFileSystem<F> extends FileSystem<F>, Closeable {
+
+    @Override
+    void close() throws IOException;
+}
@@ -3,7 +3,10 @@ package net.minestom.vanilla.files;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.File;
+import java.nio.file.Path;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -43,10 +46,29 @@ public interface FileSystem<F> extends FileSystemMappers {
 
     <T> FileSystem<T> map(Function<F, T> mapper);
 
+    /**
+     * Maps the files of this file system.
+     * <p>
+     * The mapper receives the path of each file relative to this file system, i.e. the file system {@code map} was
+     * called on. Files in sub folders are passed with the folders in between, separated by {@code /}: reading
+     * {@code folder("a").folder("b").file("c.json")} of the mapped file system passes {@code a/b/c.json}.
+     * </p>
+     *
+     * @param mapper the mapper, receiving the path of the file relative to this file system and its contents
+     * @return the mapped file system
+     */
     <T> FileSystem<T> map(BiFunction<String, F, T> mapper);
 
     FileSystem<F> cache();
 
+    /**
+     * Caches all the files of this file system, reading (and mapping) them in parallel on the given pool.
+     *
+     * @param pool the pool to read the files on
+     * @return the cached file system
+     */
+    FileSystem<F> cache(ForkJoinPool pool);
+
     FileSystem<F> lazy();
 
     FileSystem<F> inMemory();
@@ -56,10 +78,46 @@ public interface FileSystem<F> extends FileSystemMappers {
         return (FileSystem<T>) CacheFileSystem.EMPTY;
     }
 
+    /**
+     * Creates a file system holding the given files.
+     *
+     * @param files the files, by their path (folders separated by '/')
+     * @return the file system
+     */
+    static <T> FileSystem<T> fromMap(Map<String, T> files) {
+        DynamicFileSystem<T> fs = new DynamicFileSystem<>();
+        files.forEach(fs::addFile);
+        return fs;
+    }
+
     static FileSystem<ByteArray> fromZipFile(File file, Predicate<String> pathFilter) {
         return FileSystemUtil.unzipIntoFileSystem(file, pathFilter);
     }
 
+    /**
+     * Opens a zip file without reading its entries. Entries are only inflated when their file is read, unlike
+     * {@link #fromZipFile(File, Predicate)} which reads all of them into memory up front. The zip file stays open until
+     * the returned file system is closed.
+     *
+     * @param file       the zip file
+     * @param pathFilter which entries to include, by their full path
+     * @return the file system
+     */
+    static CloseableFileSystem<ByteArray> openZipFile(File file, Predicate<String> pathFilter) {
+        return ZipFileSystem.open(file, pathFilter);
+    }
+
+    /**
+     * Creates a file system reading the files of the given directory. Files are read from disk on every access, so the
+     * file system always reflects the directory's current state.
+     *
+     * @param path the directory
+     * @return the file system
+     */
+    static FileSystem<ByteArray> fromPath(Path path) {
+        return new PathFileSystem(path);
+    }
+
     default boolean hasFile(String file) {
         return files().contains(file);
     }
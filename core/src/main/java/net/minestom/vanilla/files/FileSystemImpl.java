@@ -4,6 +4,7 @@ import org.jetbrains.annotations.NotNull;
 
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -38,6 +39,10 @@ interface FileSystemImpl<F> extends FileSystem<F> {
         return new CacheFileSystem<>(this);
     }
 
+    default FileSystem<F> cache(ForkJoinPool pool) {
+        return CacheFileSystem.parallel(this, pool);
+    }
+
     default FileSystem<F> lazy() {
         return new LazyFileSystem<>(this);
     }
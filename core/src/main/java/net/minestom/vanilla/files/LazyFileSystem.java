@@ -4,6 +4,7 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
  * A FileSystem that lazily loads its contents.
@@ -39,13 +40,47 @@ public class LazyFileSystem<F> implements FileSystemImpl<F> {
     private final Map<String, @Nullable FileSystem<F>> folderCache = new ConcurrentHashMap<>();
     @Override
     public FileSystem<F> folder(String path) {
-        return folderCache.computeIfAbsent(path, original::folder);
+        // sub-folders are lazy too, so that nested files are also only loaded once
+        return folderCache.computeIfAbsent(path, name -> original.folder(name).lazy());
     }
 
-    private final Map<String, @Nullable F> fileCache = new ConcurrentHashMap<>();
+    private final Map<String, LazyFile<F>> fileCache = new ConcurrentHashMap<>();
     @Override
     public F file(String path) {
-        return fileCache.computeIfAbsent(path, original::file);
+        // The file is loaded outside the map's computation, so that loading it may look up other files
+        return fileCache.computeIfAbsent(path, name -> new LazyFile<>(() -> original.file(name))).get();
+    }
+
+    /**
+     * A file that is loaded once, on first access, and then published to all threads.
+     */
+    private static final class LazyFile<F> {
+        private final Supplier<F> loader;
+        private volatile boolean loaded = false;
+        private boolean loading = false;
+        private @Nullable F value;
+
+        LazyFile(Supplier<F> loader) {
+            this.loader = loader;
+        }
+
+        F get() {
+            if (loaded) return value;
+            synchronized (this) {
+                if (loaded) return value;
+                if (loading) {
+                    throw new IllegalStateException("File depends on itself while loading");
+                }
+                loading = true;
+                try {
+                    value = loader.get();
+                    loaded = true;
+                } finally {
+                    loading = false;
+                }
+                return value;
+            }
+        }
     }
 
     @Override
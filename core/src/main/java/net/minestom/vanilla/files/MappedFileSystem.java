@@ -3,6 +3,9 @@ package net.minestom.vanilla.files;
 import java.util.Set;
 import java.util.function.BiFunction;
 
+/**
+ * Maps the files of another file system, see {@link FileSystem#map(BiFunction)} for the paths passed to the mapper.
+ */
 class MappedFileSystem<F, T> implements FileSystemImpl<T> {
 
     private final FileSystem<F> original;
@@ -25,7 +28,8 @@ class MappedFileSystem<F, T> implements FileSystemImpl<T> {
 
     @Override
     public FileSystemImpl<T> folder(String path) {
-        return new MappedFileSystem<>(original.folder(path), mapper);
+        // keep passing the file paths relative to the root of the mapping
+        return new MappedFileSystem<>(original.folder(path), (file, contents) -> mapper.apply(path + "/" + file, contents));
     }
 
     @Override
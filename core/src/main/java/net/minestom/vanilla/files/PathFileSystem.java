@@ -17,7 +17,8 @@ class PathFileSystem implements FileSystemImpl<ByteArray> {
     @Override
     public Set<String> folders() {
         // Return all folders in the path directory (Only this directory, not subdirectories)
-        try (Stream<Path> paths = Files.walk(this.path, 0)) {
+        if (!Files.isDirectory(this.path)) return Set.of();
+        try (Stream<Path> paths = Files.list(this.path)) {
             return paths
                     .filter(Files::isDirectory)
                     .map(path -> path.getFileName().toString())
@@ -30,7 +31,8 @@ class PathFileSystem implements FileSystemImpl<ByteArray> {
     @Override
     public Set<String> files() {
         // Return all files in the path directory (Only this directory, not subdirectories)
-        try (Stream<Path> paths = Files.walk(this.path, 0)) {
+        if (!Files.isDirectory(this.path)) return Set.of();
+        try (Stream<Path> paths = Files.list(this.path)) {
             return paths
                     .filter(Files::isRegularFile)
                     .map(path -> path.getFileName().toString())
@@ -47,6 +49,7 @@ class PathFileSystem implements FileSystemImpl<ByteArray> {
 
     @Override
     public ByteArray file(String path) {
+        if (!Files.isRegularFile(this.path.resolve(path))) return null;
         try {
             return ByteArray.wrap(Files.readAllBytes(this.path.resolve(path)));
         } catch (IOException e) {
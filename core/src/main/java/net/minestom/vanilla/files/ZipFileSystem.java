@@ -0,0 +1,101 @@
+package net.minestom.vanilla.files;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * A read-only FileSystem over a zip file.
+ * <p>
+ * Only the zip's central directory is read up front. Entries are inflated when they are read, so files that are never
+ * read never take up heap. The zip file stays open until the file system, or any of its folders, is closed.
+ * </p>
+ */
+class ZipFileSystem implements FileSystemImpl<ByteArray>, CloseableFileSystem<ByteArray> {
+
+    private final ZipFile zip;
+    private final Folder folder;
+
+    private ZipFileSystem(ZipFile zip, Folder folder) {
+        this.zip = zip;
+        this.folder = folder;
+    }
+
+    static ZipFileSystem open(@NotNull File file, @NotNull Predicate<String> filter) {
+        ZipFile zip;
+        try {
+            zip = new ZipFile(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Folder root = new Folder();
+        Enumeration<? extends ZipEntry> entries = zip.entries();
+        while (entries.hasMoreElements()) {
+            ZipEntry entry = entries.nextElement();
+            String name = entry.getName();
+            if (!filter.test(name)) continue;
+
+            String[] parts = name.split("/");
+            Folder folder = root;
+            int folderParts = entry.isDirectory() ? parts.length : parts.length - 1;
+            for (int i = 0; i < folderParts; i++) {
+                if (parts[i].isEmpty()) continue;
+                folder = folder.folders.computeIfAbsent(parts[i], ignored -> new Folder());
+            }
+            if (!entry.isDirectory()) {
+                folder.files.put(parts[parts.length - 1], entry);
+            }
+        }
+        return new ZipFileSystem(zip, root);
+    }
+
+    @Override
+    public Set<String> folders() {
+        return Collections.unmodifiableSet(folder.folders.keySet());
+    }
+
+    @Override
+    public Set<String> files() {
+        return Collections.unmodifiableSet(folder.files.keySet());
+    }
+
+    @Override
+    public FileSystem<ByteArray> folder(String path) {
+        Folder child = folder.folders.get(path);
+        return child == null ? FileSystem.empty() : new ZipFileSystem(zip, child);
+    }
+
+    @Override
+    public ByteArray file(String path) {
+        ZipEntry entry = folder.files.get(path);
+        if (entry == null) return null;
+        try (InputStream in = zip.getInputStream(entry)) {
+            return ByteArray.wrap(in.readAllBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        zip.close();
+    }
+
+    @Override
+    public String toString() {
+        return FileSystemImpl.toString(this);
+    }
+
+    private static final class Folder {
+        private final Map<String, Folder> folders = new HashMap<>();
+        private final Map<String, ZipEntry> files = new HashMap<>();
+    }
+}
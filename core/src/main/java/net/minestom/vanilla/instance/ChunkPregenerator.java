@@ -0,0 +1,469 @@
+package net.minestom.vanilla.instance;
+
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.IChunkLoader;
+import net.minestom.server.instance.InstanceContainer;
+import net.minestom.vanilla.logging.Loading;
+import net.minestom.vanilla.logging.Logger;
+import net.minestom.vanilla.logging.StatusUpdater;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.BitSet;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Generates (or loads) a region of chunks, saves them through the instance's chunk loader, and unloads them again.
+ * <p>
+ * Chunks are processed in spiral order starting at the center of the region, with a limited amount of chunks in flight
+ * at once. Progress is written to a checkpoint file, so that an interrupted pre-generation can be resumed.
+ * </p>
+ */
+public final class ChunkPregenerator {
+
+    /**
+     * The amount of completed chunks between checkpoint writes.
+     */
+    private static final int CHECKPOINT_INTERVAL = 256;
+
+    private final ChunkProcess process;
+    private final Region region;
+    private final @Nullable Path checkpoint;
+    private final int maxInFlight;
+
+    private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+    // Progress, guarded by this
+    private final Region.SpiralIterator iterator;
+    private final long startIndex;
+    private final Progress progress;
+    private long done = 0;
+    private int inFlight = 0;
+    private boolean cancelled = false;
+
+    private @Nullable StatusUpdater status;
+    private long startNanos;
+
+    private ChunkPregenerator(@NotNull ChunkProcess process, @NotNull Region region, @Nullable Path checkpoint,
+                              int maxInFlight, long startIndex) {
+        this.process = process;
+        this.region = region;
+        this.checkpoint = checkpoint;
+        this.maxInFlight = maxInFlight;
+        this.startIndex = startIndex;
+        this.progress = new Progress(startIndex);
+        this.iterator = region.spiral();
+        this.iterator.skip(startIndex);
+    }
+
+    /**
+     * Creates a pre-generator for the given region, using all available cores.
+     * If the checkpoint file exists and was written for the same region, the pre-generation resumes from it.
+     *
+     * @param instance   the instance to generate chunks in
+     * @param region     the region to generate
+     * @param checkpoint the checkpoint file, or null to disable checkpoints
+     * @return the pre-generator
+     */
+    public static @NotNull ChunkPregenerator create(@NotNull InstanceContainer instance, @NotNull Region region,
+                                                    @Nullable Path checkpoint) {
+        return create(instance, region, checkpoint, Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    /**
+     * Creates a pre-generator for the given region.
+     * If the checkpoint file exists and was written for the same region, the pre-generation resumes from it.
+     *
+     * @param instance    the instance to generate chunks in
+     * @param region      the region to generate
+     * @param checkpoint  the checkpoint file, or null to disable checkpoints
+     * @param maxInFlight the maximum amount of chunks being generated at once
+     * @return the pre-generator
+     */
+    public static @NotNull ChunkPregenerator create(@NotNull InstanceContainer instance, @NotNull Region region,
+                                                    @Nullable Path checkpoint, int maxInFlight) {
+        return create((chunkX, chunkZ) -> process(instance, chunkX, chunkZ), region, checkpoint, maxInFlight);
+    }
+
+    static @NotNull ChunkPregenerator create(@NotNull ChunkProcess process, @NotNull Region region,
+                                             @Nullable Path checkpoint, int maxInFlight) {
+        if (maxInFlight <= 0) throw new IllegalArgumentException("maxInFlight must be positive");
+        long startIndex = 0;
+        if (checkpoint != null) {
+            Checkpoint saved = readCheckpoint(checkpoint);
+            if (saved != null && saved.region().equals(region)) {
+                startIndex = saved.next();
+            }
+        }
+        return new ChunkPregenerator(process, region, checkpoint, maxInFlight, startIndex);
+    }
+
+    /**
+     * Creates a pre-generator that resumes the pre-generation saved in the given checkpoint file.
+     *
+     * @param instance   the instance to generate chunks in
+     * @param checkpoint the checkpoint file
+     * @return the pre-generator, or null if there is no checkpoint to resume from
+     */
+    public static @Nullable ChunkPregenerator resume(@NotNull InstanceContainer instance, @NotNull Path checkpoint) {
+        Checkpoint saved = readCheckpoint(checkpoint);
+        if (saved == null) return null;
+        return create(instance, saved.region(), checkpoint);
+    }
+
+    /**
+     * Starts the pre-generation.
+     *
+     * @return a future completed once every chunk has been saved, or the pre-generation was cancelled
+     */
+    public @NotNull CompletableFuture<Void> start() {
+        // not Loading#start, since the pre-generation finishes on another thread, while other tasks may be loading
+        return Loading.async("Pre-generating " + region.count() + " chunks", () -> {
+            status = Loading.updater();
+            startNanos = System.nanoTime();
+            submit();
+            return future;
+        });
+    }
+
+    /**
+     * Stops submitting new chunks. Chunks that are already in flight are still saved, and the checkpoint is kept.
+     */
+    public synchronized void cancel() {
+        cancelled = true;
+        finishIfDone();
+    }
+
+    public @NotNull Region region() {
+        return region;
+    }
+
+    /**
+     * @return the amount of chunks that have been saved, including the ones before resuming
+     */
+    public synchronized long completed() {
+        return startIndex + done;
+    }
+
+    private synchronized void submit() {
+        while (!cancelled && inFlight < maxInFlight && iterator.hasNext()) {
+            long index = iterator.index();
+            long chunkIndex = iterator.nextLong();
+            inFlight++;
+            CompletableFuture<Void> chunk;
+            try {
+                chunk = process.process(Region.chunkX(chunkIndex), Region.chunkZ(chunkIndex));
+            } catch (RuntimeException e) {
+                inFlight--;
+                fail(e);
+                return;
+            }
+            chunk
+                    // async, so that chunks which complete immediately don't recurse into submit()
+                    .whenCompleteAsync((ignored, throwable) -> {
+                        if (throwable == null) {
+                            complete(index);
+                            return;
+                        }
+                        try {
+                            Logger.warn(throwable, "Failed to pre-generate chunk %s%n",
+                                    Region.chunkX(chunkIndex) + ", " + Region.chunkZ(chunkIndex));
+                        } finally {
+                            // the chunk is not recorded as complete, so resuming starts at it again
+                            failed(throwable);
+                        }
+                    });
+        }
+        finishIfDone();
+    }
+
+    private static CompletableFuture<Void> process(InstanceContainer instance, int chunkX, int chunkZ) {
+        boolean wasLoaded = instance.getChunk(chunkX, chunkZ) != null;
+        IChunkLoader loader = instance.getChunkLoader();
+        return instance.loadChunk(chunkX, chunkZ).thenCompose(chunk -> loader.saveChunk(chunk)
+                .thenRun(() -> unload(instance, chunk, wasLoaded)));
+    }
+
+    private static void unload(InstanceContainer instance, Chunk chunk, boolean wasLoaded) {
+        // Only unload chunks that nobody else was using
+        if (wasLoaded || !chunk.getViewers().isEmpty()) return;
+        instance.unloadChunk(chunk);
+    }
+
+    private void complete(long index) {
+        synchronized (this) {
+            inFlight--;
+            progress.complete(index);
+            done++;
+            if (done % CHECKPOINT_INTERVAL == 0) {
+                writeCheckpoint();
+            }
+            reportProgress();
+        }
+        submit();
+    }
+
+    private void reportProgress() {
+        if (status == null) return;
+        long remaining = region.count() - startIndex - done;
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        double chunksPerSecond = seconds == 0 ? 0 : done / seconds;
+        long eta = chunksPerSecond == 0 ? 0 : (long) (remaining / chunksPerSecond);
+        status.progress((double) (startIndex + done) / region.count());
+        status.message(String.format("%d/%d chunks, %.1f chunks/s, ETA %dm%02ds",
+                startIndex + done, region.count(), chunksPerSecond, eta / 60, eta % 60));
+    }
+
+    private void finishIfDone() {
+        if (inFlight > 0 || future.isDone()) return;
+        if (!cancelled && iterator.hasNext()) return;
+
+        if (cancelled) {
+            writeCheckpoint();
+        } else if (checkpoint != null) {
+            try {
+                Files.deleteIfExists(checkpoint);
+            } catch (IOException e) {
+                Logger.warn(e, "Failed to delete pre-generation checkpoint %s%n", checkpoint);
+            }
+        }
+        if (status != null) {
+            status.progress(1);
+        }
+        future.complete(null);
+    }
+
+    private synchronized void failed(Throwable throwable) {
+        inFlight--;
+        fail(throwable);
+    }
+
+    // stops the pre-generation after a chunk failed, keeping the checkpoint to resume from
+    private synchronized void fail(Throwable throwable) {
+        cancelled = true;
+        if (future.isDone()) return;
+        writeCheckpoint();
+        future.completeExceptionally(throwable);
+    }
+
+    private void writeCheckpoint() {
+        if (checkpoint == null) return;
+        writeCheckpoint(checkpoint, region, progress.contiguous());
+    }
+
+    static void writeCheckpoint(@NotNull Path checkpoint, @NotNull Region region, long next) {
+        Properties properties = new Properties();
+        properties.setProperty("minChunkX", Integer.toString(region.minChunkX()));
+        properties.setProperty("minChunkZ", Integer.toString(region.minChunkZ()));
+        properties.setProperty("maxChunkX", Integer.toString(region.maxChunkX()));
+        properties.setProperty("maxChunkZ", Integer.toString(region.maxChunkZ()));
+        properties.setProperty("next", Long.toString(next));
+        try {
+            Path temp = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temp)) {
+                properties.store(writer, "vri chunk pre-generation checkpoint");
+            }
+            Files.move(temp, checkpoint, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Logger.warn(e, "Failed to write pre-generation checkpoint %s%n", checkpoint);
+        }
+    }
+
+    static @Nullable Checkpoint readCheckpoint(@NotNull Path checkpoint) {
+        if (!Files.exists(checkpoint)) return null;
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(checkpoint)) {
+            properties.load(reader);
+            Region region = new Region(
+                    Integer.parseInt(properties.getProperty("minChunkX")),
+                    Integer.parseInt(properties.getProperty("minChunkZ")),
+                    Integer.parseInt(properties.getProperty("maxChunkX")),
+                    Integer.parseInt(properties.getProperty("maxChunkZ")));
+            return new Checkpoint(region, Long.parseLong(properties.getProperty("next")));
+        } catch (IOException | RuntimeException e) {
+            Logger.warn(e, "Ignoring unreadable pre-generation checkpoint %s%n", checkpoint);
+            return null;
+        }
+    }
+
+    record Checkpoint(Region region, long next) {
+    }
+
+    /**
+     * Generates (or loads) a single chunk and saves it.
+     */
+    @FunctionalInterface
+    interface ChunkProcess {
+        CompletableFuture<Void> process(int chunkX, int chunkZ);
+    }
+
+    /**
+     * Tracks which chunks have completed, possibly out of order, to find the first chunk (in spiral order) that a
+     * resumed pre-generation has to start at.
+     */
+    static final class Progress {
+        private final long startIndex;
+        private final BitSet completed = new BitSet();
+        private long contiguous;
+
+        Progress(long startIndex) {
+            this.startIndex = startIndex;
+            this.contiguous = startIndex;
+        }
+
+        void complete(long index) {
+            completed.set(Math.toIntExact(index - startIndex));
+            while (completed.get(Math.toIntExact(contiguous - startIndex))) {
+                contiguous++;
+            }
+        }
+
+        /**
+         * @return the index of the first chunk that has not completed, all chunks before it have
+         */
+        long contiguous() {
+            return contiguous;
+        }
+    }
+
+    /**
+     * A rectangle of chunks, inclusive on all sides.
+     */
+    public record Region(int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ) {
+
+        public Region {
+            if (minChunkX > maxChunkX || minChunkZ > maxChunkZ) {
+                throw new IllegalArgumentException("Region minimum must not be greater than its maximum");
+            }
+        }
+
+        /**
+         * Creates a square region of chunks around the given center chunk.
+         */
+        public static @NotNull Region radius(int centerChunkX, int centerChunkZ, int radius) {
+            return new Region(centerChunkX - radius, centerChunkZ - radius, centerChunkX + radius, centerChunkZ + radius);
+        }
+
+        /**
+         * Creates the region spanning the two given chunks.
+         */
+        public static @NotNull Region rectangle(int chunkX1, int chunkZ1, int chunkX2, int chunkZ2) {
+            return new Region(Math.min(chunkX1, chunkX2), Math.min(chunkZ1, chunkZ2),
+                    Math.max(chunkX1, chunkX2), Math.max(chunkZ1, chunkZ2));
+        }
+
+        public long count() {
+            return (long) (maxChunkX - minChunkX + 1) * (maxChunkZ - minChunkZ + 1);
+        }
+
+        public boolean contains(int chunkX, int chunkZ) {
+            return chunkX >= minChunkX && chunkX <= maxChunkX && chunkZ >= minChunkZ && chunkZ <= maxChunkZ;
+        }
+
+        /**
+         * @return an iterator over the chunks of this region in spiral order, starting at the center
+         */
+        @NotNull SpiralIterator spiral() {
+            return new SpiralIterator(this);
+        }
+
+        static int chunkX(long packed) {
+            return (int) (packed >> 32);
+        }
+
+        static int chunkZ(long packed) {
+            return (int) packed;
+        }
+
+        /**
+         * Walks square rings around the center of the region, skipping chunks outside the region.
+         * Chunks are returned packed as (x << 32 | z).
+         */
+        static final class SpiralIterator {
+            private final Region region;
+            private final int centerX;
+            private final int centerZ;
+            private final int maxRing;
+
+            private int ring = 0;
+            private int step = 0;
+            private long index = 0;
+            private long next;
+            private boolean hasNext;
+
+            private SpiralIterator(Region region) {
+                this.region = region;
+                this.centerX = Math.floorDiv(region.minChunkX() + region.maxChunkX(), 2);
+                this.centerZ = Math.floorDiv(region.minChunkZ() + region.maxChunkZ(), 2);
+                this.maxRing = Math.max(
+                        Math.max(centerX - region.minChunkX(), region.maxChunkX() - centerX),
+                        Math.max(centerZ - region.minChunkZ(), region.maxChunkZ() - centerZ));
+                advance();
+            }
+
+            boolean hasNext() {
+                return hasNext;
+            }
+
+            /**
+             * @return the index (in spiral order) of the chunk returned by the next {@link #nextLong()} call
+             */
+            long index() {
+                return index;
+            }
+
+            long nextLong() {
+                long result = next;
+                index++;
+                advance();
+                return result;
+            }
+
+            void skip(long count) {
+                for (long i = 0; i < count && hasNext; i++) {
+                    nextLong();
+                }
+            }
+
+            private void advance() {
+                while (ring <= maxRing) {
+                    int x;
+                    int z;
+                    if (ring == 0) {
+                        x = centerX;
+                        z = centerZ;
+                        ring++;
+                    } else {
+                        int side = ring * 2;
+                        int edge = step / side;
+                        int offset = step % side;
+                        switch (edge) {
+                            case 0 -> { x = centerX - ring + offset; z = centerZ - ring; }
+                            case 1 -> { x = centerX + ring; z = centerZ - ring + offset; }
+                            case 2 -> { x = centerX + ring - offset; z = centerZ + ring; }
+                            default -> { x = centerX - ring; z = centerZ + ring - offset; }
+                        }
+                        step++;
+                        if (step == side * 4) {
+                            step = 0;
+                            ring++;
+                        }
+                    }
+                    if (region.contains(x, z)) {
+                        next = ((long) x << 32) | (z & 0xFFFFFFFFL);
+                        hasNext = true;
+                        return;
+                    }
+                }
+                hasNext = false;
+            }
+        }
+    }
+}
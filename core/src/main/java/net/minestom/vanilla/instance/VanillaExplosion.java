@@ -17,6 +17,7 @@ import net.minestom.server.instance.Instance;
 import net.minestom.server.instance.batch.AbsoluteBlockBatch;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.utils.time.TimeUnit;
+import net.minestom.vanilla.events.ExplosionBlockDropsEvent;
 
 import java.util.*;
 
@@ -97,6 +98,7 @@ public class VanillaExplosion extends Explosion {
         }
 
         if (blockDamage) {
+            Map<Point, Block> drops = new HashMap<>();
             for (Point position : positions) {
                 Block block = instance.getBlock(position);
 
@@ -115,28 +117,15 @@ public class VanillaExplosion extends Explosion {
 //                    }
 //                }
 
-                double p = explosionRNG.nextDouble();
-                boolean shouldDropItem = p <= 1 / getStrength();
-
-                if (dropsEverything || shouldDropItem) {
-//                    LootTableManager lootTableManager = MinecraftServer.getLootTableManager();
-//                    try {
-//                        LootTable table = null;
-//                        if (customBlock != null) {
-//                            table = customBlock.getLootTable(lootTableManager);
-//                        }
-//                        if (table == null) {
-//                            table = lootTableManager.load(NamespaceID.from("blocks/" + block.name().toLowerCase()));
-//                        }
-//                        List<ItemStack> output = table.generate(lootTableArguments);
-//                        for (ItemStack out : output) {
-//                            ItemEntity itemEntity = new ItemEntity(out, new Position(position.getX() + explosionRNG.nextFloat(), position.getY() + explosionRNG.nextFloat(), position.getZ() + explosionRNG.nextFloat()));
-//                            itemEntity.setPickupDelay(500L, TimeUnit.MILLISECOND);
-//                            itemEntity.setInstance(instance);
-//                        }
-//                    } catch (FileNotFoundException e) {
-//                        // loot table does not exist, ignore
-//                    }
+                // whether the block drops is up to its loot table, e.g. through survives_explosion
+                drops.put(position, block);
+            }
+
+            // the loot of all blocks is generated at once, see VanillaBlockLoot
+            if (!drops.isEmpty()) {
+                var events = MinecraftServer.getGlobalEventHandler();
+                if (events.hasListener(ExplosionBlockDropsEvent.class)) {
+                    events.call(new ExplosionBlockDropsEvent(instance, center, getStrength(), dropsEverything, Map.copyOf(drops)));
                 }
             }
         }
@@ -1,17 +1,52 @@
 package net.minestom.vanilla.logging;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
 public interface Loading {
 
     static void start(String name) {
-        LoadingImpl.CURRENT.waitTask(name);
+        LoadingImpl.current().waitTask(name);
     }
     static StatusUpdater updater() {
-        return LoadingImpl.CURRENT.getUpdater();
+        return LoadingImpl.current().getUpdater();
     }
     static void finish() {
-        LoadingImpl.CURRENT.finishTask();
+        LoadingImpl.current().finishTask();
     }
     static void level(Level level) {
-        LoadingImpl.CURRENT.level = level;
+        LoadingImpl.current().level = level;
+    }
+
+    /**
+     * Wraps the given task so that the loading tasks it starts are nested under the current loading task, even when
+     * it runs on another thread. Tasks started concurrently this way each keep their own nesting.
+     *
+     * @param task the task
+     * @return the wrapped task
+     */
+    static <T> Supplier<T> inherit(Supplier<T> task) {
+        LoadingImpl parent = LoadingImpl.current();
+        return () -> LoadingImpl.runWithin(parent, task);
+    }
+
+    /**
+     * Runs the given asynchronous task as a loading task nested under the current loading task. The loading task is
+     * finished once the returned future completes, rather than when the given task returns, and doesn't change the
+     * current loading task of the calling thread. If the task throws, the returned future completes exceptionally.
+     *
+     * @param name the name of the loading task
+     * @param task the task, which starts its asynchronous work and returns its future
+     * @return the future of the task
+     */
+    static <T> CompletableFuture<T> async(String name, Supplier<CompletableFuture<T>> task) {
+        LoadingImpl loading = LoadingImpl.current().subTask(name);
+        CompletableFuture<T> future;
+        try {
+            future = LoadingImpl.runWithin(loading, task);
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        return future.whenComplete((result, throwable) -> loading.complete());
     }
 }
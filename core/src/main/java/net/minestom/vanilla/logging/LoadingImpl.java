@@ -3,8 +3,12 @@ package net.minestom.vanilla.logging;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.function.Supplier;
+
 class LoadingImpl implements Loading {
-    public static @NotNull LoadingImpl CURRENT = new LoadingImpl(null, null, Level.INFO);
+    private static volatile @NotNull LoadingImpl CURRENT = new LoadingImpl(null, null, Level.INFO);
+    // Threads running inherited tasks keep their own current task, see Loading#inherit
+    private static final ThreadLocal<LoadingImpl> BOUND = new ThreadLocal<>();
 
     private final @Nullable LoadingImpl parent;
     private final @Nullable LoadingBar loadingBar;
@@ -17,25 +21,59 @@ class LoadingImpl implements Loading {
         this.level = level;
     }
 
+    static @NotNull LoadingImpl current() {
+        LoadingImpl bound = BOUND.get();
+        return bound != null ? bound : CURRENT;
+    }
+
+    private static void setCurrent(LoadingImpl loading) {
+        if (BOUND.get() != null) {
+            BOUND.set(loading);
+        } else {
+            CURRENT = loading;
+        }
+    }
+
+    static <T> T runWithin(@NotNull LoadingImpl parent, Supplier<T> task) {
+        LoadingImpl previous = BOUND.get();
+        BOUND.set(parent);
+        try {
+            return task.get();
+        } finally {
+            if (previous == null) {
+                BOUND.remove();
+            } else {
+                BOUND.set(previous);
+            }
+        }
+    }
+
     public synchronized void waitTask(String name) {
-        LoadingImpl loading;
+        setCurrent(subTask(name));
+    }
+
+    public synchronized void finishTask() {
+        complete();
+        setCurrent(this.parent);
+    }
+
+    // Starts a child task without making it the current task
+    synchronized @NotNull LoadingImpl subTask(String name) {
         Logger.logger().level(level).nextLine();
         if (loadingBar == null) {
-            loading = new LoadingImpl(this, LoadingBar.logger(name, Logger.logger().level(level)), level);
-        } else {
-            loading = new LoadingImpl(this, loadingBar.subTask(name), level);
+            return new LoadingImpl(this, LoadingBar.logger(name, Logger.logger().level(level)), level);
         }
-        CURRENT = loading;
+        return new LoadingImpl(this, loadingBar.subTask(name), level);
     }
 
-    public synchronized void finishTask() {
+    // Completes this task without changing the current task
+    synchronized void complete() {
         if (loadingBar == null) {
             throw new IllegalStateException("Cannot finish root task");
         }
         loadingBar.updater().progress(1);
         assert parent != null;
         Logger.logger().level(parent.level).printf("took %dms%n", System.currentTimeMillis() - started);
-        CURRENT = this.parent;
     }
 
     public synchronized StatusUpdater getUpdater() {
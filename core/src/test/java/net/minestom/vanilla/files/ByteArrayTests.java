@@ -0,0 +1,117 @@
+package net.minestom.vanilla.files;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ByteArrayTests {
+
+    private static final byte[] HELLO = "Hello, world!".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void testWrapAndCopy() {
+        byte[] bytes = HELLO.clone();
+        ByteArray wrapped = ByteArray.wrap(bytes);
+        ByteArray copied = ByteArray.copyOf(bytes);
+
+        assertEquals(HELLO.length, wrapped.size());
+        assertEquals('H', wrapped.index(0));
+        assertEquals('!', wrapped.index(HELLO.length - 1));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> wrapped.index(HELLO.length));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> wrapped.index(-1));
+
+        // array() returns a copy, so modifying it doesn't change the byte array
+        byte[] array = wrapped.array();
+        array[0] = 'J';
+        assertEquals('H', wrapped.index(0));
+
+        // copyOf doesn't see changes to its source, wrap does
+        bytes[0] = 'J';
+        assertEquals('J', wrapped.index(0));
+        assertEquals('H', copied.index(0));
+    }
+
+    @Test
+    public void testView() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(32);
+        buffer.put(new byte[4]);
+        buffer.put(HELLO);
+        buffer.position(4).limit(4 + HELLO.length);
+
+        ByteArray view = ByteArray.view(buffer);
+
+        // the buffer's position and limit are not changed
+        assertEquals(4, buffer.position());
+        assertEquals(4 + HELLO.length, buffer.limit());
+
+        // the view starts at the buffer's position
+        assertEquals(HELLO.length, view.size());
+        assertArrayEquals(HELLO, view.array());
+        assertEquals("Hello, world!", view.toCharacterString());
+        assertEquals(ByteArray.wrap(HELLO), view);
+        assertEquals(ByteArray.wrap(HELLO).hashCode(), view.hashCode());
+
+        ByteBuffer viewBuffer = view.buffer();
+        assertTrue(viewBuffer.isReadOnly());
+        assertEquals(0, viewBuffer.position());
+        assertEquals(HELLO.length, viewBuffer.remaining());
+
+        // consuming the returned buffer doesn't consume the view
+        viewBuffer.get(new byte[5]);
+        assertEquals(HELLO.length, view.buffer().remaining());
+    }
+
+    @Test
+    public void testViewOfSlice() {
+        ByteArray whole = ByteArray.wrap(HELLO);
+        ByteBuffer buffer = whole.buffer();
+        buffer.position(7).limit(12);
+
+        ByteArray slice = ByteArray.view(buffer);
+
+        assertEquals(5, slice.size());
+        assertEquals('w', slice.index(0));
+        assertEquals("world", slice.toCharacterString());
+        assertArrayEquals("world".getBytes(StandardCharsets.UTF_8), slice.array());
+    }
+
+    @Test
+    public void testStreamRoundTrip() throws IOException {
+        ByteArray bytes = ByteArray.wrap(HELLO);
+
+        try (InputStream stream = bytes.toStream()) {
+            assertEquals(HELLO.length, stream.available());
+            assertEquals('H', stream.read());
+            assertEquals(5, stream.skip(5));
+            assertEquals(' ', stream.read());
+
+            byte[] rest = new byte[32];
+            int read = stream.read(rest, 0, rest.length);
+            assertEquals("world!", new String(rest, 0, read, StandardCharsets.UTF_8));
+            assertEquals(0, stream.available());
+            assertEquals(-1, stream.read());
+            assertEquals(-1, stream.read(rest, 0, rest.length));
+            assertEquals(0, stream.skip(1));
+        }
+
+        // every stream starts at the first byte
+        try (InputStream stream = bytes.toStream()) {
+            assertArrayEquals(HELLO, stream.readAllBytes());
+        }
+        assertEquals(bytes, ByteArray.wrap(bytes.toStream().readAllBytes()));
+    }
+
+    @Test
+    public void testSourceRoundTrip() throws IOException {
+        ByteArray bytes = ByteArray.wrap(HELLO);
+
+        assertEquals("Hello, world!", bytes.toSource().readUtf8());
+        assertArrayEquals(HELLO, bytes.toSource().readByteArray());
+        assertEquals(bytes, ByteArray.wrap(bytes.toSource().readByteArray()));
+    }
+}
@@ -2,6 +2,16 @@ package net.minestom.vanilla.files;
 
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -33,4 +43,79 @@ public class FileSystemTests {
         assertEquals(1, fs.folder("testDir").files().size());
         assertEquals("Hello, world!", fs.folder("testDir").file("test4.txt"));
     }
+
+    @Test
+    public void testMapPassesRelativePaths() {
+        DynamicFileSystem<String> fs = new DynamicFileSystem<>();
+        fs.addFile("root.txt", "root");
+        fs.addFile("a/file.txt", "a");
+        fs.addFile("a/b/file.txt", "b");
+
+        FileSystem<String> mapped = fs.map((path, contents) -> path + "=" + contents);
+
+        assertEquals("root.txt=root", mapped.file("root.txt"));
+        assertEquals("a/file.txt=a", mapped.folder("a").file("file.txt"));
+        assertEquals("a/b/file.txt=b", mapped.folder("a").folder("b").file("file.txt"));
+        assertEquals("a/b/file.txt=b", mapped.folder("a", "b").file("file.txt"));
+    }
+
+    @Test
+    public void testMapSubFolderPassesPathsRelativeToIt() {
+        DynamicFileSystem<String> fs = new DynamicFileSystem<>();
+        fs.addFile("a/b/file.txt", "b");
+
+        FileSystem<String> mapped = fs.folder("a").map((path, contents) -> path + "=" + contents);
+
+        assertEquals("b/file.txt=b", mapped.folder("b").file("file.txt"));
+    }
+
+    @Test
+    public void testMapIsEquivalentWhenCached() {
+        DynamicFileSystem<String> fs = new DynamicFileSystem<>();
+        fs.addFile("a/b/file.txt", "b");
+
+        FileSystem<String> cached = fs.map((path, contents) -> path + "=" + contents).cache();
+
+        assertEquals("a/b/file.txt=b", cached.folder("a").folder("b").file("file.txt"));
+    }
+
+    @Test
+    public void testZipListing(@TempDir Path directory) throws IOException {
+        File file = directory.resolve("test.zip").toFile();
+        try (ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(file))) {
+            zip.putNextEntry(new ZipEntry("data/"));
+            zip.putNextEntry(new ZipEntry("data/a.json"));
+            zip.write("{\"a\": 1}".getBytes(StandardCharsets.UTF_8));
+            zip.putNextEntry(new ZipEntry("data/sub/b.json"));
+            zip.write("{\"b\": 2}".getBytes(StandardCharsets.UTF_8));
+            zip.putNextEntry(new ZipEntry("data/empty/"));
+            zip.putNextEntry(new ZipEntry("other.txt"));
+            zip.write("filtered".getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+
+        try (CloseableFileSystem<ByteArray> fs = FileSystem.openZipFile(file, path -> path.startsWith("data/"))) {
+            assertEquals(Set.of("data"), fs.folders());
+            assertTrue(fs.files().isEmpty());
+
+            FileSystem<ByteArray> data = fs.folder("data");
+            assertEquals(Set.of("sub", "empty"), data.folders());
+            assertEquals(Set.of("a.json"), data.files());
+            assertEquals("{\"a\": 1}", data.file("a.json").toCharacterString());
+            assertNull(data.file("missing.json"));
+
+            assertEquals(Set.of("b.json"), data.folder("sub").files());
+            assertEquals("{\"b\": 2}", data.folder("sub").file("b.json").toCharacterString());
+            assertEquals("{\"b\": 2}", fs.folder("data", "sub").file("b.json").toCharacterString());
+
+            assertTrue(data.folder("empty").files().isEmpty());
+            assertTrue(data.folder("missing").files().isEmpty());
+            assertTrue(data.folder("missing").folders().isEmpty());
+
+            // reading files lazily gives the same contents as reading the whole zip up front
+            FileSystem<ByteArray> eager = FileSystem.fromZipFile(file, path -> path.startsWith("data/"));
+            assertEquals(eager.folder("data").file("a.json"), data.file("a.json"));
+            assertEquals(eager.folder("data").folder("sub").file("b.json"), data.folder("sub").file("b.json"));
+        }
+    }
 }
@@ -0,0 +1,139 @@
+package net.minestom.vanilla.instance;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChunkPregeneratorTests {
+
+    @Test
+    public void testSpiralOrder() {
+        ChunkPregenerator.Region region = ChunkPregenerator.Region.radius(0, 0, 1);
+
+        List<String> order = new ArrayList<>();
+        ChunkPregenerator.Region.SpiralIterator iterator = region.spiral();
+        while (iterator.hasNext()) {
+            long chunk = iterator.nextLong();
+            order.add(ChunkPregenerator.Region.chunkX(chunk) + "," + ChunkPregenerator.Region.chunkZ(chunk));
+        }
+
+        assertEquals(List.of("0,0", "-1,-1", "0,-1", "1,-1", "1,0", "1,1", "0,1", "-1,1", "-1,0"), order);
+    }
+
+    @Test
+    public void testSpiralVisitsRectangleOnce() {
+        ChunkPregenerator.Region region = ChunkPregenerator.Region.rectangle(-3, 5, 4, 7);
+
+        Set<Long> visited = new HashSet<>();
+        ChunkPregenerator.Region.SpiralIterator iterator = region.spiral();
+        while (iterator.hasNext()) {
+            assertEquals(visited.size(), iterator.index());
+            long chunk = iterator.nextLong();
+            assertTrue(region.contains(ChunkPregenerator.Region.chunkX(chunk), ChunkPregenerator.Region.chunkZ(chunk)));
+            assertTrue(visited.add(chunk));
+        }
+
+        assertEquals(region.count(), visited.size());
+    }
+
+    @Test
+    public void testProgressOutOfOrder() {
+        ChunkPregenerator.Progress progress = new ChunkPregenerator.Progress(10);
+        assertEquals(10, progress.contiguous());
+
+        progress.complete(11);
+        progress.complete(13);
+        assertEquals(10, progress.contiguous());
+
+        progress.complete(10);
+        assertEquals(12, progress.contiguous());
+
+        progress.complete(12);
+        assertEquals(14, progress.contiguous());
+    }
+
+    @Test
+    public void testCheckpointResume(@TempDir Path directory) {
+        Path checkpoint = directory.resolve("pregen.properties");
+        ChunkPregenerator.Region region = ChunkPregenerator.Region.radius(2, -2, 3);
+
+        assertNull(ChunkPregenerator.readCheckpoint(checkpoint));
+
+        ChunkPregenerator.Progress progress = new ChunkPregenerator.Progress(0);
+        for (long index : new long[]{0, 1, 2, 4, 5}) {
+            progress.complete(index);
+        }
+        ChunkPregenerator.writeCheckpoint(checkpoint, region, progress.contiguous());
+
+        ChunkPregenerator.Checkpoint saved = ChunkPregenerator.readCheckpoint(checkpoint);
+        assertNotNull(saved);
+        assertEquals(region, saved.region());
+        assertEquals(3, saved.next());
+
+        // resuming skips exactly the contiguous chunks, and continues with the first chunk that was not saved
+        ChunkPregenerator.Region.SpiralIterator expected = region.spiral();
+        expected.skip(3);
+        ChunkPregenerator.Region.SpiralIterator resumed = saved.region().spiral();
+        resumed.skip(saved.next());
+        assertEquals(expected.index(), resumed.index());
+        assertEquals(expected.nextLong(), resumed.nextLong());
+    }
+
+    @Test
+    public void testUnreadableCheckpoint(@TempDir Path directory) throws Exception {
+        Path checkpoint = directory.resolve("pregen.properties");
+        Files.writeString(checkpoint, "minChunkX=not a number");
+
+        assertNull(ChunkPregenerator.readCheckpoint(checkpoint));
+    }
+
+    @Test
+    public void testPregeneration(@TempDir Path directory) throws Exception {
+        Path checkpoint = directory.resolve("pregen.properties");
+        ChunkPregenerator.Region region = ChunkPregenerator.Region.radius(0, 0, 2);
+        Set<String> processed = Collections.synchronizedSet(new HashSet<>());
+
+        ChunkPregenerator pregenerator = ChunkPregenerator.create((chunkX, chunkZ) -> {
+            assertTrue(processed.add(chunkX + "," + chunkZ));
+            return CompletableFuture.completedFuture(null);
+        }, region, checkpoint, 4);
+        pregenerator.start().get(10, TimeUnit.SECONDS);
+
+        assertEquals(region.count(), processed.size());
+        assertEquals(region.count(), pregenerator.completed());
+        // a finished pre-generation has nothing to resume
+        assertFalse(Files.exists(checkpoint));
+    }
+
+    @Test
+    public void testFailedChunkIsNotSkipped(@TempDir Path directory) {
+        Path checkpoint = directory.resolve("pregen.properties");
+        ChunkPregenerator.Region region = ChunkPregenerator.Region.radius(0, 0, 1);
+        RuntimeException failure = new RuntimeException("failed to save chunk");
+
+        // the fourth chunk in spiral order fails
+        ChunkPregenerator pregenerator = ChunkPregenerator.create((chunkX, chunkZ) -> {
+            if (chunkX == 1 && chunkZ == -1) return CompletableFuture.failedFuture(failure);
+            return CompletableFuture.completedFuture(null);
+        }, region, checkpoint, 1);
+
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> pregenerator.start().get(10, TimeUnit.SECONDS));
+        assertSame(failure, exception.getCause());
+        assertEquals(3, pregenerator.completed());
+
+        // resuming starts at the failed chunk
+        ChunkPregenerator.Checkpoint saved = ChunkPregenerator.readCheckpoint(checkpoint);
+        assertNotNull(saved);
+        assertEquals(region, saved.region());
+        assertEquals(3, saved.next());
+    }
+}
@@ -13,7 +13,10 @@ import net.minestom.vanilla.datapack.recipe.Recipe;
 import net.minestom.vanilla.files.FileSystem;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -24,42 +27,59 @@ public class CraftingFeature implements VanillaReimplementation.Feature {
         DatapackLoadingFeature datapackData = context.vri().feature(DatapackLoadingFeature.class);
         Datapack datapack = datapackData.current();
 
-        VriRecipeToMinestomRecipe recipeConverter = new VriRecipeToMinestomRecipe(datapack);
-        datapack.namespacedData().forEach((namespace, data) -> {
-            FileSystem<Recipe> recipeFileSystem = data.recipes();
-            recipeFileSystem.files().stream().collect(Collectors.toMap(Function.identity(), recipeFileSystem::file)).forEach((id, recipe) -> {
-                var recipeManager = context.vri().process().recipe();
-
-                net.minestom.server.recipe.Recipe minestomRecipe = recipeConverter.convert(id, recipe, player -> true);
-                if (minestomRecipe == null) {
-                    return;
-                }
-                recipeManager.addRecipe(minestomRecipe);
-            });
+        // the recipe book recipes, and the indexes the inventories look recipes up in, are rebuilt on reload
+        AtomicReference<List<net.minestom.server.recipe.Recipe>> minestomRecipes =
+                new AtomicReference<>(registerRecipes(context.vri(), datapack, List.of()));
+        AtomicReference<CraftingRecipeIndex> craftingRecipes = new AtomicReference<>(CraftingRecipeIndex.build(datapack));
+        datapackData.onReload(reloaded -> {
+            minestomRecipes.set(registerRecipes(context.vri(), reloaded, minestomRecipes.get()));
+            craftingRecipes.set(CraftingRecipeIndex.build(reloaded));
         });
 
-        EventNode<Event> survival = new SurvivalInventoryRecipes(datapack, context.vri()).init();
+        EventNode<Event> survival = new SurvivalInventoryRecipes(craftingRecipes::get, context.vri()).init();
         context.vri().process().eventHandler().addChild(survival);
 
-        EventNode<Event> crafting = new CraftingInventoryRecipes(datapack, context.vri()).init();
+        EventNode<Event> crafting = new CraftingInventoryRecipes(craftingRecipes::get, context.vri()).init();
         context.vri().process().eventHandler().addChild(crafting);
 
-        EventNode<Event> smelting = new SmeltingInventoryRecipes(datapack, context.vri()).init();
+        EventNode<Event> smelting = new SmeltingInventoryRecipes(datapackData, context.vri()).init();
         context.vri().process().eventHandler().addChild(smelting);
 
-        EventNode<Event> smoking = new SmokingInventoryRecipes(datapack, context.vri()).init();
+        EventNode<Event> smoking = new SmokingInventoryRecipes(datapackData, context.vri()).init();
         context.vri().process().eventHandler().addChild(smoking);
 
-        EventNode<Event> blasting = new BlastingInventoryRecipes(datapack, context.vri()).init();
+        EventNode<Event> blasting = new BlastingInventoryRecipes(datapackData, context.vri()).init();
         context.vri().process().eventHandler().addChild(blasting);
 
-        EventNode<Event> stonecutting = new StonecuttingInventoryRecipes(datapack, context.vri()).init();
+        EventNode<Event> stonecutting = new StonecuttingInventoryRecipes(datapackData, context.vri()).init();
         context.vri().process().eventHandler().addChild(stonecutting);
 
-        EventNode<Event> smithing = new SmithingInventoryRecipes(datapack, context.vri()).init();
+        EventNode<Event> smithing = new SmithingInventoryRecipes(datapackData, context.vri()).init();
         context.vri().process().eventHandler().addChild(smithing);
     }
 
+    // replaces the previously registered recipes with the recipes of the given datapack
+    private static List<net.minestom.server.recipe.Recipe> registerRecipes(VanillaReimplementation vri, Datapack datapack,
+                                                                          List<net.minestom.server.recipe.Recipe> previous) {
+        var recipeManager = vri.process().recipe();
+        previous.forEach(recipeManager::removeRecipe);
+
+        List<net.minestom.server.recipe.Recipe> registered = new ArrayList<>();
+        VriRecipeToMinestomRecipe recipeConverter = new VriRecipeToMinestomRecipe(datapack);
+        datapack.namespacedData().forEach((namespace, data) -> {
+            FileSystem<Recipe> recipeFileSystem = data.recipes();
+            recipeFileSystem.files().stream().collect(Collectors.toMap(Function.identity(), recipeFileSystem::file)).forEach((id, recipe) -> {
+                net.minestom.server.recipe.Recipe minestomRecipe = recipeConverter.convert(id, recipe, player -> true);
+                if (minestomRecipe == null) {
+                    return;
+                }
+                recipeManager.addRecipe(minestomRecipe);
+                registered.add(minestomRecipe);
+            });
+        });
+        return List.copyOf(registered);
+    }
+
     @Override
     public @NotNull NamespaceID namespaceId() {
         return NamespaceID.from("vri:crafting");
@@ -10,13 +10,11 @@ import net.minestom.server.inventory.InventoryType;
 import net.minestom.server.item.ItemStack;
 import net.minestom.server.item.Material;
 import net.minestom.vanilla.VanillaReimplementation;
-import net.minestom.vanilla.datapack.Datapack;
-import net.minestom.vanilla.datapack.recipe.Recipe;
-import org.jetbrains.annotations.Nullable;
 
-import java.util.*;
+import java.util.Objects;
+import java.util.function.Supplier;
 
-public record CraftingInventoryRecipes(Datapack datapack, VanillaReimplementation vri) {
+public record CraftingInventoryRecipes(Supplier<CraftingRecipeIndex> recipes, VanillaReimplementation vri) {
 
     public EventNode<Event> init() {
         EventNode<Event> node = EventNode.all("vri:crafting-inventory-recipes");
@@ -39,19 +37,12 @@ public record CraftingInventoryRecipes(Datapack datapack, VanillaReimplementatio
                 }
             }
 
-            Material topLeft = input.get(inv, 0).material();
-            Material topMid = input.get(inv, 1).material();
-            Material topRight = input.get(inv, 2).material();
-            Material midLeft = input.get(inv, 3).material();
-            Material midMid = input.get(inv, 4).material();
-            Material midRight = input.get(inv, 5).material();
-            Material bottomLeft = input.get(inv, 6).material();
-            Material bottomMid = input.get(inv, 7).material();
-            Material bottomRight = input.get(inv, 8).material();
+            Material[] grid = new Material[input.size()];
+            for (int i = 0; i < grid.length; i++) {
+                grid[i] = input.get(inv, i).material();
+            }
 
-            ItemStack result = tryRecipe(topLeft, topMid, topRight,
-                    midLeft, midMid, midRight,
-                    bottomLeft, bottomMid, bottomRight);
+            ItemStack result = recipes.get().find(grid, 3);
 
             output.set(inv, Objects.requireNonNullElse(result, ItemStack.AIR));
         });
@@ -60,45 +51,4 @@ public record CraftingInventoryRecipes(Datapack datapack, VanillaReimplementatio
 
         return node;
     }
-
-    private @Nullable ItemStack tryRecipe(
-            Material topLeft, Material topMid, Material topRight,
-            Material midLeft, Material midMid, Material midRight,
-            Material bottomLeft, Material bottomMid, Material bottomRight) {
-        CraftingUtils utils = new CraftingUtils(datapack);
-
-        Map<Slot, Material> materials = Map.of(
-                Slot.TOP_LEFT, topLeft,
-                Slot.TOP_MID, topMid,
-                Slot.TOP_RIGHT, topRight,
-                Slot.MID_LEFT, midLeft,
-                Slot.MID_MID, midMid,
-                Slot.MID_RIGHT, midRight,
-                Slot.BOTTOM_LEFT, bottomLeft,
-                Slot.BOTTOM_MID, bottomMid,
-                Slot.BOTTOM_RIGHT, bottomRight
-        );
-        Collection<Material> materialValues = Collections.unmodifiableCollection(materials.values());
-
-        for (var entry : datapack.namespacedData().entrySet()) {
-            Datapack.NamespacedData data = entry.getValue();
-
-            for (String file : data.recipes().files()) {
-                Recipe recipe = data.recipes().file(file);
-
-                if (recipe instanceof Recipe.Shapeless shapeless) {
-                    if (utils.recipeMatchesShapeless(shapeless, materialValues)) {
-                        return ItemStack.of(shapeless.result().item(), shapeless.result().count() == null ? 1 : shapeless.result().count());
-                    }
-                }
-
-                if (recipe instanceof Recipe.Shaped shaped) {
-                    if (utils.recipeMatchesShapedNxN(shaped, materials, 3)) {
-                        return ItemStack.of(shaped.result().item(), shaped.result().count() == null ? 1 : shaped.result().count());
-                    }
-                }
-            }
-        }
-        return null;
-    }
 }
@@ -0,0 +1,257 @@
+package net.minestom.vanilla.crafting;
+
+import net.minestom.server.item.ItemStack;
+import net.minestom.server.item.Material;
+import net.minestom.vanilla.datapack.Datapack;
+import net.minestom.vanilla.datapack.recipe.Recipe;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * An index of the crafting recipes of a datapack, built once when the recipes are loaded.
+ * <p>
+ * Shaped recipes are indexed by their trimmed shape and the material in their first cell, both as written and
+ * mirrored. Shapeless recipes made of single items are indexed by their sorted materials, the others by their number
+ * of ingredients. Every ingredient is resolved into a {@link MaterialSet}. Finding the recipe for a crafting grid
+ * is then one hash lookup, followed by verifying the few candidates it returns.
+ * </p>
+ */
+public final class CraftingRecipeIndex {
+
+    private final Map<ShapeKey, List<ShapedCandidate>> shaped;
+    private final Map<MaterialMultiset, ItemStack> exactShapeless;
+    private final List<List<ShapelessCandidate>> shapelessByCount;
+
+    private CraftingRecipeIndex(Map<ShapeKey, List<ShapedCandidate>> shaped,
+                                Map<MaterialMultiset, ItemStack> exactShapeless,
+                                List<List<ShapelessCandidate>> shapelessByCount) {
+        this.shaped = shaped;
+        this.exactShapeless = exactShapeless;
+        this.shapelessByCount = shapelessByCount;
+    }
+
+    /**
+     * Indexes all shaped and shapeless crafting recipes of the given datapack.
+     *
+     * @param datapack the datapack
+     * @return the index
+     */
+    public static @NotNull CraftingRecipeIndex build(@NotNull Datapack datapack) {
+        CraftingUtils utils = new CraftingUtils(datapack);
+        Map<ShapeKey, List<ShapedCandidate>> shaped = new HashMap<>();
+        Map<MaterialMultiset, ItemStack> exactShapeless = new HashMap<>();
+        List<List<ShapelessCandidate>> shapelessByCount = new ArrayList<>();
+
+        // in order of their ids, so recipes accepting the same grid always resolve the same way
+        for (String namespace : new TreeSet<>(datapack.namespacedData().keySet())) {
+            Datapack.NamespacedData data = datapack.namespacedData().get(namespace);
+            for (String file : new TreeSet<>(data.recipes().files())) {
+                Recipe recipe = data.recipes().file(file);
+                if (recipe instanceof Recipe.Shaped shapedRecipe) {
+                    indexShaped(utils, shapedRecipe, shaped);
+                } else if (recipe instanceof Recipe.Shapeless shapelessRecipe) {
+                    indexShapeless(utils, shapelessRecipe, exactShapeless, shapelessByCount);
+                }
+            }
+        }
+        return new CraftingRecipeIndex(shaped, exactShapeless, shapelessByCount);
+    }
+
+    private static void indexShaped(CraftingUtils utils, Recipe.Shaped recipe, Map<ShapeKey, List<ShapedCandidate>> index) {
+        List<String> pattern = recipe.pattern();
+        int rows = pattern.size();
+        int cols = pattern.stream().mapToInt(String::length).max().orElse(0);
+
+        // the ingredients of each cell, null for empty cells
+        MaterialSet[][] grid = new MaterialSet[rows][cols];
+        int minRow = rows, maxRow = -1, minCol = cols, maxCol = -1;
+        for (int row = 0; row < rows; row++) {
+            String rowStr = pattern.get(row);
+            for (int col = 0; col < rowStr.length(); col++) {
+                Recipe.Ingredient ingredient = recipe.key().get(rowStr.charAt(col));
+                if (ingredient == null || ingredient instanceof Recipe.Ingredient.None) continue;
+                grid[row][col] = utils.ingredientToMaterialSet(ingredient);
+                minRow = Math.min(minRow, row);
+                maxRow = Math.max(maxRow, row);
+                minCol = Math.min(minCol, col);
+                maxCol = Math.max(maxCol, col);
+            }
+        }
+        if (maxRow < 0) return;
+
+        int width = maxCol - minCol + 1;
+        int height = maxRow - minRow + 1;
+        MaterialSet[] cells = new MaterialSet[width * height];
+        MaterialSet[] mirrored = new MaterialSet[width * height];
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                MaterialSet cell = grid[row + minRow][col + minCol];
+                cells[row * width + col] = cell;
+                mirrored[row * width + (width - 1 - col)] = cell;
+            }
+        }
+
+        ItemStack result = result(recipe.result());
+        index(index, new ShapedCandidate(width, height, cells, result));
+        if (!Arrays.equals(cells, mirrored)) {
+            index(index, new ShapedCandidate(width, height, mirrored, result));
+        }
+    }
+
+    private static void index(Map<ShapeKey, List<ShapedCandidate>> index, ShapedCandidate candidate) {
+        int mask = 0;
+        MaterialSet first = null;
+        for (int i = 0; i < candidate.cells().length; i++) {
+            if (candidate.cells()[i] == null) continue;
+            mask |= 1 << i;
+            if (first == null) first = candidate.cells()[i];
+        }
+        Objects.requireNonNull(first);
+        for (Material material : first.materials()) {
+            if (material == Material.AIR) continue;
+            ShapeKey key = new ShapeKey(candidate.width(), candidate.height(), mask, material.id());
+            index.computeIfAbsent(key, ignored -> new ArrayList<>()).add(candidate);
+        }
+    }
+
+    private static void indexShapeless(CraftingUtils utils, Recipe.Shapeless recipe,
+                                       Map<MaterialMultiset, ItemStack> exactShapeless,
+                                       List<List<ShapelessCandidate>> shapelessByCount) {
+        List<Recipe.Ingredient> ingredients = recipe.ingredients().list();
+        MaterialSet[] materials = new MaterialSet[ingredients.size()];
+        boolean exact = true;
+        for (int i = 0; i < materials.length; i++) {
+            materials[i] = utils.ingredientToMaterialSet(ingredients.get(i));
+            exact &= materials[i].size() == 1;
+        }
+
+        ItemStack result = result(recipe.result());
+        if (exact) {
+            int[] ids = Arrays.stream(materials).mapToInt(set -> set.materials().iterator().next().id()).toArray();
+            exactShapeless.putIfAbsent(MaterialMultiset.of(ids), result);
+            return;
+        }
+        while (shapelessByCount.size() <= materials.length) {
+            shapelessByCount.add(new ArrayList<>());
+        }
+        shapelessByCount.get(materials.length).add(new ShapelessCandidate(materials, result));
+    }
+
+    /**
+     * Finds the result of the recipe matching the given crafting grid.
+     *
+     * @param grid the materials of the grid, row by row
+     * @param n    the width and height of the grid
+     * @return the result, or null if no recipe matches
+     */
+    public @Nullable ItemStack find(@NotNull Material[] grid, int n) {
+        int minRow = n, maxRow = -1, minCol = n, maxCol = -1;
+        int count = 0;
+        for (int row = 0; row < n; row++) {
+            for (int col = 0; col < n; col++) {
+                if (grid[row * n + col] == Material.AIR) continue;
+                count++;
+                minRow = Math.min(minRow, row);
+                maxRow = Math.max(maxRow, row);
+                minCol = Math.min(minCol, col);
+                maxCol = Math.max(maxCol, col);
+            }
+        }
+        if (count == 0) return null;
+
+        // the trimmed grid
+        int width = maxCol - minCol + 1;
+        int height = maxRow - minRow + 1;
+        Material[] trimmed = new Material[width * height];
+        Material[] items = new Material[count];
+        int mask = 0;
+        int item = 0;
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                Material material = grid[(row + minRow) * n + col + minCol];
+                trimmed[row * width + col] = material;
+                if (material == Material.AIR) continue;
+                mask |= 1 << (row * width + col);
+                items[item++] = material;
+            }
+        }
+
+        List<ShapedCandidate> shapedCandidates = shaped.get(new ShapeKey(width, height, mask, items[0].id()));
+        if (shapedCandidates != null) {
+            for (ShapedCandidate candidate : shapedCandidates) {
+                if (candidate.matches(trimmed)) return candidate.result();
+            }
+        }
+
+        int[] ids = new int[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = items[i].id();
+        }
+        ItemStack exact = exactShapeless.get(MaterialMultiset.of(ids));
+        if (exact != null) return exact;
+
+        if (count < shapelessByCount.size()) {
+            for (ShapelessCandidate candidate : shapelessByCount.get(count)) {
+                if (candidate.matches(items)) return candidate.result();
+            }
+        }
+        return null;
+    }
+
+    private static ItemStack result(Recipe.Result result) {
+        return ItemStack.of(result.item(), result.count() == null ? 1 : result.count());
+    }
+
+    private record ShapeKey(int width, int height, int mask, int firstMaterial) {
+    }
+
+    private record MaterialMultiset(int[] sortedIds) {
+
+        static MaterialMultiset of(int[] ids) {
+            Arrays.sort(ids);
+            return new MaterialMultiset(ids);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof MaterialMultiset other && Arrays.equals(sortedIds, other.sortedIds);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(sortedIds);
+        }
+    }
+
+    private record ShapedCandidate(int width, int height, MaterialSet[] cells, ItemStack result) {
+
+        // the grid has the same shape, so only the non-empty cells are checked
+        boolean matches(Material[] trimmed) {
+            for (int i = 0; i < cells.length; i++) {
+                if (cells[i] != null && !cells[i].contains(trimmed[i])) return false;
+            }
+            return true;
+        }
+    }
+
+    private record ShapelessCandidate(MaterialSet[] ingredients, ItemStack result) {
+
+        boolean matches(Material[] items) {
+            return assign(items, 0, new boolean[ingredients.length]);
+        }
+
+        // assigns every item to a distinct ingredient, backtracking when an item has no ingredient left
+        private boolean assign(Material[] items, int item, boolean[] used) {
+            if (item == items.length) return true;
+            for (int i = 0; i < ingredients.length; i++) {
+                if (used[i] || !ingredients[i].contains(items[item])) continue;
+                used[i] = true;
+                if (assign(items, item + 1, used)) return true;
+                used[i] = false;
+            }
+            return false;
+        }
+    }
+}
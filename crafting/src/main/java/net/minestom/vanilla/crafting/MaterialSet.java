@@ -0,0 +1,63 @@
+package net.minestom.vanilla.crafting;
+
+import net.minestom.server.item.Material;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * An immutable set of materials, stored as a bitset over the material ids so checking a material is a single bit test.
+ */
+public final class MaterialSet {
+
+    public static final MaterialSet EMPTY = new MaterialSet(new long[0], Set.of());
+
+    private final long[] words;
+    private final Set<Material> materials;
+
+    private MaterialSet(long[] words, Set<Material> materials) {
+        this.words = words;
+        this.materials = materials;
+    }
+
+    public static @NotNull MaterialSet of(@NotNull Collection<Material> materials) {
+        if (materials.isEmpty()) return EMPTY;
+        int maxId = materials.stream().mapToInt(Material::id).max().orElseThrow();
+        long[] words = new long[(maxId >>> 6) + 1];
+        for (Material material : materials) {
+            words[material.id() >>> 6] |= 1L << material.id();
+        }
+        return new MaterialSet(words, Set.copyOf(materials));
+    }
+
+    public boolean contains(@NotNull Material material) {
+        int word = material.id() >>> 6;
+        return word < words.length && (words[word] & (1L << material.id())) != 0;
+    }
+
+    public int size() {
+        return materials.size();
+    }
+
+    public boolean isEmpty() {
+        return materials.isEmpty();
+    }
+
+    /**
+     * @return the materials of this set, for iteration
+     */
+    public @NotNull Set<Material> materials() {
+        return materials;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof MaterialSet other && materials.equals(other.materials);
+    }
+
+    @Override
+    public int hashCode() {
+        return materials.hashCode();
+    }
+}
@@ -16,6 +16,7 @@ import net.minestom.server.tag.Tag;
 import net.minestom.server.utils.NamespaceID;
 import net.minestom.vanilla.VanillaReimplementation;
 import net.minestom.vanilla.datapack.Datapack;
+import net.minestom.vanilla.datapack.DatapackLoadingFeature;
 import net.minestom.vanilla.datapack.recipe.Recipe;
 import net.minestom.vanilla.logging.Logger;
 import org.jetbrains.annotations.NotNull;
@@ -23,9 +24,10 @@ import org.jetbrains.annotations.Nullable;
 import org.jglrxavpok.hephaistos.nbt.NBT;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
-public record SmithingInventoryRecipes(Datapack datapack, VanillaReimplementation vri) {
+public record SmithingInventoryRecipes(DatapackLoadingFeature datapacks, VanillaReimplementation vri) {
 
     static Tag<NBT> trimTag = Tag.NBT("Trim");
 
@@ -38,6 +40,9 @@ public record SmithingInventoryRecipes(Datapack datapack, VanillaReimplementatio
 
         // TODO: shift-click mass crafting and take out.
 
+        AtomicReference<List<SmithingCandidate>> recipes = new AtomicReference<>(getRecipes(datapacks.current()));
+        datapacks.onReload(datapack -> recipes.set(getRecipes(datapack)));
+
         CraftingUtils.addOutputSlotEventHandler(node, Smithing.OUTPUT, InventoryType.SMITHING);
 
         node.addListener(InventoryClickEvent.class, event -> {
@@ -53,7 +58,7 @@ public record SmithingInventoryRecipes(Datapack datapack, VanillaReimplementatio
                 }
             }
 
-            Recipe.Smithing recipe = getRecipe(
+            Recipe.Smithing recipe = getRecipe(recipes.get(),
                     Smithing.TEMPLATE.get(inv).material(),
                     Smithing.BASE.get(inv).material(),
                     Smithing.ADDITION.get(inv).material());
@@ -105,29 +110,42 @@ public record SmithingInventoryRecipes(Datapack datapack, VanillaReimplementatio
         return trimPattern.name();
     }
 
-    private @Nullable Recipe.Smithing getRecipe(Material template, Material base, Material addition) {
+    private record SmithingCandidate(MaterialSet template, MaterialSet base, MaterialSet addition, Recipe.Smithing recipe) {
+    }
+
+    // resolves the ingredients of every smithing recipe once
+    private static @NotNull List<SmithingCandidate> getRecipes(Datapack datapack) {
         CraftingUtils utils = new CraftingUtils(datapack);
+        List<SmithingCandidate> recipes = new ArrayList<>();
 
         for (var entry : datapack.namespacedData().entrySet()) {
             Datapack.NamespacedData data = entry.getValue();
 
-
             for (String file : data.recipes().files()) {
                 Recipe recipe = data.recipes().file(file);
 
-
                 if (recipe instanceof Recipe.Smithing smithing) {
-                    if (
-                            utils.ingredientToMaterials(smithing.template()).contains(template) &&
-                            utils.ingredientToMaterials(smithing.base()).contains(base) &&
-                            utils.ingredientToMaterials(smithing.addition()).contains(addition)
-                    ) {
-                        return smithing;
-                    }
+                    recipes.add(new SmithingCandidate(
+                            utils.ingredientToMaterialSet(smithing.template()),
+                            utils.ingredientToMaterialSet(smithing.base()),
+                            utils.ingredientToMaterialSet(smithing.addition()),
+                            smithing
+                    ));
                 }
             }
         }
 
+        return List.copyOf(recipes);
+    }
+
+    private @Nullable Recipe.Smithing getRecipe(List<SmithingCandidate> recipes, Material template, Material base, Material addition) {
+        for (SmithingCandidate candidate : recipes) {
+            if (candidate.template().contains(template) &&
+                    candidate.base().contains(base) &&
+                    candidate.addition().contains(addition)) {
+                return candidate.recipe();
+            }
+        }
         return null;
     }
 
@@ -135,7 +153,7 @@ public record SmithingInventoryRecipes(Datapack datapack, VanillaReimplementatio
         List<TrimMaterial> trimMaterials = new ArrayList<>();
         List<TrimPattern> trimPatterns = new ArrayList<>();
 
-        for (var entry : datapack.namespacedData().entrySet()) {
+        for (var entry : datapacks.current().namespacedData().entrySet()) {
             Datapack.NamespacedData data = entry.getValue();
             for (String file : data.trim_material().files()) {
                 var trimMaterial = data.trim_material().file(file);
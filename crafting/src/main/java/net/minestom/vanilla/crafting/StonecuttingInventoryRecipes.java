@@ -14,16 +14,16 @@ import net.minestom.server.item.Material;
 import net.minestom.server.network.packet.client.play.ClientClickWindowButtonPacket;
 import net.minestom.vanilla.VanillaReimplementation;
 import net.minestom.vanilla.datapack.Datapack;
+import net.minestom.vanilla.datapack.DatapackLoadingFeature;
 import net.minestom.vanilla.datapack.recipe.Recipe;
 import net.minestom.vanilla.logging.Logger;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 
-public record StonecuttingInventoryRecipes(Datapack datapack, VanillaReimplementation vri) {
+public record StonecuttingInventoryRecipes(DatapackLoadingFeature datapacks, VanillaReimplementation vri) {
 
     static final Views.Stonecutter stonecutter = Views.stonecutter();
     static final InventoryView.Singular input = stonecutter.input();
@@ -33,6 +33,9 @@ public record StonecuttingInventoryRecipes(Datapack datapack, VanillaReimplement
 
         // TODO: shift-click mass crafting and take out.
 
+        AtomicReference<Map<Material, List<Recipe.Stonecutting>>> recipes = new AtomicReference<>(getRecipes(datapacks.current()));
+        datapacks.onReload(datapack -> recipes.set(getRecipes(datapack)));
+
         node.addListener(InventoryClickEvent.class, event -> {
             int slot = event.getSlot();
             if (event.getInventory() == null) return;
@@ -47,7 +50,7 @@ public record StonecuttingInventoryRecipes(Datapack datapack, VanillaReimplement
             }
 
             if (output.isValidExternal(slot)) {
-                Recipe.Stonecutting recipe = getRecipe(input.get(inv).material(), event.getClickedItem().material(), event.getClickedItem().amount());
+                Recipe.Stonecutting recipe = getRecipe(recipes.get(), input.get(inv).material(), event.getClickedItem().material(), event.getClickedItem().amount());
                 if (recipe == null) {
                     Logger.warn("Didn't find the recipe! what's going on? this is undefined behaviour");
                     return;
@@ -71,9 +74,9 @@ public record StonecuttingInventoryRecipes(Datapack datapack, VanillaReimplement
             if (inv.getInventoryType() != InventoryType.STONE_CUTTER) return;
             int index = packet.buttonId();
 
-            var recipes = getRecipes(input.get(inv).material());
-            if (index < 0 || index >= recipes.size()) return;
-            Recipe.Stonecutting recipe = recipes.get(packet.buttonId());
+            var inputRecipes = recipes.get().getOrDefault(input.get(inv).material(), List.of());
+            if (index < 0 || index >= inputRecipes.size()) return;
+            Recipe.Stonecutting recipe = inputRecipes.get(packet.buttonId());
 
             output.set(inv, ItemStack.of(recipe.result(), recipe.count()));
         });
@@ -82,9 +85,10 @@ public record StonecuttingInventoryRecipes(Datapack datapack, VanillaReimplement
 
         return node;
     }
-    private @NotNull List<Recipe.Stonecutting> getRecipes(Material material) {
+    // resolves the ingredients of every stonecutting recipe once, into the sorted recipes of each input material
+    private static @NotNull Map<Material, List<Recipe.Stonecutting>> getRecipes(Datapack datapack) {
         CraftingUtils utils = new CraftingUtils(datapack);
-        List<Recipe.Stonecutting> recipes = new ArrayList<>();
+        Map<Material, List<Recipe.Stonecutting>> recipes = new HashMap<>();
 
         for (var entry : datapack.namespacedData().entrySet()) {
             Datapack.NamespacedData data = entry.getValue();
@@ -93,23 +97,27 @@ public record StonecuttingInventoryRecipes(Datapack datapack, VanillaReimplement
                 Recipe recipe = data.recipes().file(file);
 
                 if (recipe instanceof Recipe.Stonecutting stonecutting) {
-                    var ingredientMatches = stonecutting.ingredient().list().stream()
-                            .flatMap(ingredient -> utils.ingredientToMaterials(ingredient).stream())
-                            .anyMatch(material::equals);
-                    if (ingredientMatches) {
-                        recipes.add(stonecutting);
+                    Set<Material> inputs = new HashSet<>();
+                    for (Recipe.Ingredient ingredient : stonecutting.ingredient().list()) {
+                        inputs.addAll(utils.ingredientToMaterialSet(ingredient).materials());
+                    }
+                    for (Material input : inputs) {
+                        recipes.computeIfAbsent(input, ignored -> new ArrayList<>()).add(stonecutting);
                     }
                 }
             }
         }
 
-        recipes.sort(Comparator.comparing(o -> o.result().name()));
-
-        return List.copyOf(recipes);
+        Map<Material, List<Recipe.Stonecutting>> sorted = new HashMap<>();
+        recipes.forEach((input, inputRecipes) -> {
+            inputRecipes.sort(Comparator.comparing(o -> o.result().name()));
+            sorted.put(input, List.copyOf(inputRecipes));
+        });
+        return Map.copyOf(sorted);
     }
 
-    private @Nullable Recipe.Stonecutting getRecipe(Material input, Material output, int count) {
-        for (Recipe.Stonecutting recipe : getRecipes(input)) {
+    private @Nullable Recipe.Stonecutting getRecipe(Map<Material, List<Recipe.Stonecutting>> recipes, Material input, Material output, int count) {
+        for (Recipe.Stonecutting recipe : recipes.getOrDefault(input, List.of())) {
             if (output.equals(recipe.result()) && recipe.count() == count) {
                 return recipe;
             }
@@ -9,17 +9,12 @@ import net.minestom.server.event.inventory.InventoryClickEvent;
 import net.minestom.server.inventory.PlayerInventory;
 import net.minestom.server.item.ItemStack;
 import net.minestom.server.item.Material;
-import net.minestom.server.utils.NamespaceID;
 import net.minestom.vanilla.VanillaReimplementation;
-import net.minestom.vanilla.datapack.Datapack;
-import net.minestom.vanilla.datapack.recipe.Recipe;
-import org.jetbrains.annotations.Nullable;
 
-import java.util.List;
-import java.util.Map;
 import java.util.Objects;
+import java.util.function.Supplier;
 
-public record SurvivalInventoryRecipes(Datapack datapack, VanillaReimplementation vri) {
+public record SurvivalInventoryRecipes(Supplier<CraftingRecipeIndex> recipes, VanillaReimplementation vri) {
 
     public EventNode<Event> init() {
         EventNode<Event> node = EventNode.all("vri:survival-inventory-recipes");
@@ -42,12 +37,12 @@ public record SurvivalInventoryRecipes(Datapack datapack, VanillaReimplementatio
                 }
             }
 
-            Material topLeft = input.get(inv, 0).material();
-            Material topRight = input.get(inv, 1).material();
-            Material bottomLeft = input.get(inv, 2).material();
-            Material bottomRight = input.get(inv, 3).material();
+            Material[] grid = new Material[input.size()];
+            for (int i = 0; i < grid.length; i++) {
+                grid[i] = input.get(inv, i).material();
+            }
 
-            ItemStack result = tryRecipe(topLeft, topRight, bottomLeft, bottomRight);
+            ItemStack result = recipes.get().find(grid, 2);
 
             output.set(inv, Objects.requireNonNullElse(result, ItemStack.AIR));
         });
@@ -56,39 +51,4 @@ public record SurvivalInventoryRecipes(Datapack datapack, VanillaReimplementatio
 
         return node;
     }
-
-    private @Nullable ItemStack tryRecipe(Material topLeft, Material topRight, Material bottomLeft, Material bottomRight) {
-        CraftingUtils utils = new CraftingUtils(datapack);
-
-        for (var entry : datapack.namespacedData().entrySet()) {
-            Datapack.NamespacedData data = entry.getValue();
-
-            for (String file : data.recipes().files()) {
-                Recipe recipe = data.recipes().file(file);
-
-                if (recipe.type().equals(NamespaceID.from("minecraft:crafting_shapeless"))) {
-                    Recipe.Shapeless shapeless = (Recipe.Shapeless) recipe;
-                    if (utils.recipeMatchesShapeless(shapeless, List.of(topLeft, topRight, bottomLeft, bottomRight))) {
-                        return ItemStack.of(shapeless.result().item(), shapeless.result().count() == null ? 1 : shapeless.result().count());
-                    }
-                }
-
-                if (recipe.type().equals(NamespaceID.from("minecraft:crafting_shaped"))) {
-                    Recipe.Shaped shaped = (Recipe.Shaped) recipe;
-
-                    // collect materials for pattern matching
-                    Map<Slot, Material> materials = Map.of(
-                            Slot.TOP_LEFT, topLeft,
-                            Slot.TOP_MID, topRight,
-                            Slot.MID_LEFT, bottomLeft,
-                            Slot.MID_MID, bottomRight
-                    );
-                    if (utils.recipeMatchesShapedNxN(shaped, materials, 2)) {
-                        return ItemStack.of(shaped.result().item(), shaped.result().count() == null ? 1 : shaped.result().count());
-                    }
-                }
-            }
-        }
-        return null;
-    }
 }
@@ -6,7 +6,6 @@ import net.minestom.server.item.Material;
 import net.minestom.server.network.packet.server.play.DeclareRecipesPacket;
 import net.minestom.server.recipe.*;
 import net.minestom.vanilla.datapack.Datapack;
-import net.minestom.vanilla.datapack.DatapackUtils;
 import net.minestom.vanilla.datapack.recipe.Recipe;
 import net.minestom.vanilla.logging.Logger;
 import org.jetbrains.annotations.NotNull;
@@ -191,9 +190,7 @@ record VriRecipeToMinestomRecipe(Datapack datapack) {
         if (ingredient instanceof Recipe.Ingredient.Item item) {
             return List.of(toItemstack(item.item()));
         } else if (ingredient instanceof Recipe.Ingredient.Tag tag) {
-            return DatapackUtils.findTags(datapack, "items", tag.tag()).stream()
-                    .map(Material::fromNamespaceId)
-                    .filter(Objects::nonNull)
+            return datapack.resolvedTags().items(tag.tag()).values().stream()
                     .map(ItemStack::of)
                     .toList();
         } else if (ingredient instanceof Recipe.Ingredient.Multi multi) {
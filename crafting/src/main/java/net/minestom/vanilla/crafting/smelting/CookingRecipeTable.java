@@ -0,0 +1,81 @@
+package net.minestom.vanilla.crafting.smelting;
+
+import net.minestom.server.item.Material;
+import net.minestom.vanilla.crafting.CraftingUtils;
+import net.minestom.vanilla.datapack.Datapack;
+import net.minestom.vanilla.datapack.recipe.Recipe;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * The cooking recipes of a single recipe type, e.g. smelting, resolved once into a table indexed by the id of their
+ * input material.
+ */
+public final class CookingRecipeTable {
+
+    // the default cooking time of recipes that don't specify one
+    private static final int DEFAULT_COOKING_TIME = 100;
+
+    private final Cooking[] material2cooking;
+
+    private CookingRecipeTable(Cooking[] material2cooking) {
+        this.material2cooking = material2cooking;
+    }
+
+    /**
+     * The outcome of cooking an input material.
+     *
+     * @param result      the cooked material
+     * @param cookingTime the cooking time in ticks
+     * @param experience  the experience awarded
+     */
+    public record Cooking(@NotNull Material result, int cookingTime, double experience) {
+    }
+
+    /**
+     * Resolves the ingredients of every cooking recipe of the given type. When multiple recipes accept the same
+     * input, the one with the lowest id is used, so the result doesn't depend on the order the files were loaded in.
+     *
+     * @param datapack the datapack
+     * @param type     the recipe type, e.g. {@link Recipe.Smelting}
+     * @return the table
+     */
+    public static @NotNull CookingRecipeTable build(@NotNull Datapack datapack, @NotNull Class<? extends Recipe.CookingRecipe> type) {
+        CraftingUtils utils = new CraftingUtils(datapack);
+        int maxId = Material.values().stream().mapToInt(Material::id).max().orElse(-1);
+        Cooking[] material2cooking = new Cooking[maxId + 1];
+
+        for (String namespace : new TreeSet<>(datapack.namespacedData().keySet())) {
+            Datapack.NamespacedData data = datapack.namespacedData().get(namespace);
+            for (String file : new TreeSet<>(data.recipes().files())) {
+                Recipe recipe = data.recipes().file(file);
+                if (!type.isInstance(recipe)) continue;
+
+                Recipe.CookingRecipe cookingRecipe = type.cast(recipe);
+                Cooking cooking = new Cooking(cookingRecipe.result(),
+                        Objects.requireNonNullElse(cookingRecipe.cookingTime(), DEFAULT_COOKING_TIME),
+                        cookingRecipe.experience());
+                for (Recipe.Ingredient ingredient : cookingRecipe.ingredient()) {
+                    for (Material input : utils.ingredientToMaterialSet(ingredient).materials()) {
+                        if (material2cooking[input.id()] == null) material2cooking[input.id()] = cooking;
+                    }
+                }
+            }
+        }
+        return new CookingRecipeTable(material2cooking);
+    }
+
+    /**
+     * Finds the cooking recipe of the given input material.
+     *
+     * @param input the input material
+     * @return the cooking recipe, or null if the input can't be cooked
+     */
+    public @Nullable Cooking find(@NotNull Material input) {
+        int id = input.id();
+        return id < material2cooking.length ? material2cooking[id] : null;
+    }
+}
@@ -9,27 +9,42 @@ import net.minestom.server.network.packet.server.play.WindowPropertyPacket;
 import net.minestom.server.tag.Tag;
 import net.minestom.server.utils.NamespaceID;
 import net.minestom.server.utils.PacketUtils;
-import net.minestom.vanilla.crafting.CraftingUtils;
 import net.minestom.vanilla.datapack.Datapack;
-import net.minestom.vanilla.datapack.DatapackUtils;
 import net.minestom.vanilla.datapack.recipe.Recipe;
 import net.minestom.vanilla.tag.Tags;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
-public record SmeltingHandler(Datapack datapack, int speed, Map<Material, Integer> mat2Fuel,
+public record SmeltingHandler(Datapack datapack, int speed, CookingRecipeTable recipes, int[] fuelBurnTicks,
                               Tag<Integer> cookingTicksTag, Tag<Material> lastCookedItemTag, Tag<Integer> cookingProgressTag,
                               InventoryView.Singular inputSlot, InventoryView.Singular outputSlot, InventoryView.Singular fuelSlot
 ) {
-    public SmeltingHandler(Datapack datapack, int speed,
+    /**
+     * Creates a handler for the given cooking recipe type, resolving its recipes and the fuels of the given datapack.
+     */
+    public SmeltingHandler(Datapack datapack, Class<? extends Recipe.CookingRecipe> recipeType, int speed,
                            Tag<Integer> cookingTicksTag, Tag<Material> lastCookedItemTag, Tag<Integer> cookingProgressTag,
                            InventoryView.Singular inputSlot, InventoryView.Singular outputSlot, InventoryView.Singular fuelSlot) {
-        this(datapack, speed, getFuel(datapack), cookingTicksTag, lastCookedItemTag, cookingProgressTag, inputSlot, outputSlot, fuelSlot);
+        this(datapack, speed, CookingRecipeTable.build(datapack, recipeType), getFuel(datapack),
+                cookingTicksTag, lastCookedItemTag, cookingProgressTag, inputSlot, outputSlot, fuelSlot);
     }
 
-    public @Nullable Block handle(Inventory inventory, Block block, @Nullable Material recipeResult, @Nullable Integer recipeCookingTime) {
+    // Furnace window properties:
+    // 0: Fire icon (fuel left) 	counting from fuel burn time down to 0 (in-game ticks)
+    // 1: Maximum fuel burn time 	fuel burn time or 0 (in-game ticks)
+    // 2: Progress arrow 	counting from 0 to maximum progress (in-game ticks)
+    // 3: Maximum progress 	always 200 on the notchian server
+    private static final int FUEL_BURN_TIME = 0;
+    private static final int MAXIMUM_FUEL_BURN_TIME = 1;
+    private static final int PROGRESS = 2;
+    private static final int MAXIMUM_PROGRESS = 3;
+
+    // The window properties last sent to the viewers of an inventory, dropped while it has no viewers
+    private static final Tag<int @Nullable []> SENT_PROPERTIES = Tag.Transient("vri:smelting_sent_properties");
+
+    public @Nullable Block handle(Inventory inventory, Block block, @Nullable CookingRecipeTable.Cooking recipe) {
+        Material recipeResult = recipe == null ? null : recipe.result();
         ItemStack input = inputSlot.get(inventory);
         ItemStack fuel = fuelSlot.get(inventory);
         ItemStack output = outputSlot.get(inventory);
@@ -37,13 +52,13 @@ public record SmeltingHandler(Datapack datapack, int speed, Map<Material, Intege
         int cookingTicks = block.getTag(cookingTicksTag);
         Material lastCookedItem = block.getTag(lastCookedItemTag);
         int cookingProgress = block.getTag(cookingProgressTag);
-        int fuelBurnTicks = mat2Fuel.getOrDefault(fuel.material(), -1);
+        int fuelBurnTicks = burnTicks(fuel.material());
+        int[] sent = sentProperties(inventory);
 
         if (cookingTicks == 0) {
             if (!Material.AIR.equals(lastCookedItem)) {
                 // this means that the furnace was cooking, but ran out of fuel
-                WindowPropertyPacket clearProgress = new WindowPropertyPacket(inventory.getWindowId(), (short) 0, (short) 0);
-                PacketUtils.sendGroupedPacket(inventory.getViewers(), clearProgress);
+                sendProperty(inventory, sent, FUEL_BURN_TIME, 0);
                 return block.withTag(Tags.Blocks.Smelting.LAST_COOKED_ITEM, Material.AIR);
             }
 
@@ -51,9 +66,8 @@ public record SmeltingHandler(Datapack datapack, int speed, Map<Material, Intege
             if (input.isAir() || fuel.isAir() || fuelBurnTicks == -1 || recipeResult == null) {
                 // we've stopped cooking, but we can't start cooking again
                 // reset the current progress
-                WindowPropertyPacket clearProgress = new WindowPropertyPacket(inventory.getWindowId(), (short) 2, (short) 0);
-                PacketUtils.sendGroupedPacket(inventory.getViewers(), clearProgress);
-                return block.withTag(Tags.Blocks.Smelting.COOKING_PROGRESS, 0);
+                sendProperty(inventory, sent, PROGRESS, 0);
+                return cookingProgress == 0 ? null : block.withTag(Tags.Blocks.Smelting.COOKING_PROGRESS, 0);
             }
 
             // start cooking
@@ -61,25 +75,22 @@ public record SmeltingHandler(Datapack datapack, int speed, Map<Material, Intege
             lastCookedItem = fuel.material();
 
             fuelSlot.set(inventory, fuel.withAmount(fuel.amount() - 1));
-            inventory.update();
+            if (sent != null) inventory.update();
         } else {
             cookingTicks -= speed;
         }
 
-        Integer lastCookedItemBurnTicks = mat2Fuel.get(lastCookedItem);
+        int lastCookedItemBurnTicks = burnTicks(lastCookedItem);
 
         if (recipeResult == null) {
             // if there was no recipe found, and the cooking progress is not 0, reset the cooking progress
             Block newBlock = block.withTag(Tags.Blocks.Smelting.COOKING_TICKS, cookingTicks);
             if (cookingProgress != 0) {
-                WindowPropertyPacket clearProgress = new WindowPropertyPacket(inventory.getWindowId(), (short) 2, (short) 0);
-                PacketUtils.sendGroupedPacket(inventory.getViewers(), clearProgress);
                 newBlock = newBlock.withTag(Tags.Blocks.Smelting.COOKING_PROGRESS, 0);
             }
-            WindowPropertyPacket maximumFuelBurnTime = new WindowPropertyPacket(inventory.getWindowId(), (short) 1, lastCookedItemBurnTicks == null ? (short) 0 : lastCookedItemBurnTicks.shortValue());
-            WindowPropertyPacket fuelBurnTime = new WindowPropertyPacket(inventory.getWindowId(), (short) 0, (short) cookingTicks);
-            PacketUtils.sendGroupedPacket(inventory.getViewers(), maximumFuelBurnTime);
-            PacketUtils.sendGroupedPacket(inventory.getViewers(), fuelBurnTime);
+            sendProperty(inventory, sent, PROGRESS, 0);
+            sendProperty(inventory, sent, MAXIMUM_FUEL_BURN_TIME, lastCookedItemBurnTicks == -1 ? 0 : lastCookedItemBurnTicks);
+            sendProperty(inventory, sent, FUEL_BURN_TIME, cookingTicks);
             return newBlock;
         }
 
@@ -88,31 +99,14 @@ public record SmeltingHandler(Datapack datapack, int speed, Map<Material, Intege
             return null;
         }
 
-        if (lastCookedItemBurnTicks == null) {
+        if (lastCookedItemBurnTicks == -1) {
             throw new IllegalStateException("Last cooked item " + lastCookedItem + " has no burn time");
         }
 
-        int recipeCompleteTicks = Objects.requireNonNullElse(recipeCookingTime, 100);
+        int recipeCompleteTicks = recipe.cookingTime();
 
         cookingProgress += speed;
 
-        // send furnace progress to viewers
-        // 0: Fire icon (fuel left) 	counting from fuel burn time down to 0 (in-game ticks)
-        // 1: Maximum fuel burn time 	fuel burn time or 0 (in-game ticks)
-        // 2: Progress arrow 	counting from 0 to maximum progress (in-game ticks)
-        // 3: Maximum progress 	always 200 on the notchian server
-        WindowPropertyPacket maximumFuelBurnTime = new WindowPropertyPacket(inventory.getWindowId(), (short) 1, lastCookedItemBurnTicks.shortValue());
-        WindowPropertyPacket fuelBurnTime = new WindowPropertyPacket(inventory.getWindowId(), (short) 0, (short) cookingTicks);
-        WindowPropertyPacket maximumProgress = new WindowPropertyPacket(inventory.getWindowId(), (short) 3, (short) recipeCompleteTicks);
-        WindowPropertyPacket progress = new WindowPropertyPacket(inventory.getWindowId(), (short) 2, (short) cookingProgress);
-
-        // TODO: Bundle these packets together
-
-        PacketUtils.sendGroupedPacket(inventory.getViewers(), maximumFuelBurnTime);
-        PacketUtils.sendGroupedPacket(inventory.getViewers(), fuelBurnTime);
-        PacketUtils.sendGroupedPacket(inventory.getViewers(), maximumProgress);
-        PacketUtils.sendGroupedPacket(inventory.getViewers(), progress);
-
         if (cookingProgress >= recipeCompleteTicks) {
             // recipe complete
             cookingProgress = 0;
@@ -122,19 +116,60 @@ public record SmeltingHandler(Datapack datapack, int speed, Map<Material, Intege
                 outputSlot.set(inventory, output.withAmount(output.amount() + 1));
             }
             inputSlot.set(inventory, input.withAmount(input.amount() - 1));
-            inventory.update();
-
-            // clear cooking progress
-            WindowPropertyPacket clearProgress = new WindowPropertyPacket(inventory.getWindowId(), (short) 2, (short) 0);
-            PacketUtils.sendGroupedPacket(inventory.getViewers(), clearProgress);
+            if (sent != null) inventory.update();
         }
 
+        // send furnace progress to viewers
+        sendProperty(inventory, sent, MAXIMUM_FUEL_BURN_TIME, lastCookedItemBurnTicks);
+        sendProperty(inventory, sent, FUEL_BURN_TIME, cookingTicks);
+        sendProperty(inventory, sent, MAXIMUM_PROGRESS, recipeCompleteTicks);
+        sendProperty(inventory, sent, PROGRESS, cookingProgress);
+
         return block.withTag(Tags.Blocks.Smelting.COOKING_PROGRESS, cookingProgress)
                 .withTag(Tags.Blocks.Smelting.COOKING_TICKS, cookingTicks)
                 .withTag(Tags.Blocks.Smelting.LAST_COOKED_ITEM, lastCookedItem);
     }
 
-    private static Map<Material, Integer> getFuel(Datapack datapack) {
+    /**
+     * Forgets the window properties sent to the viewers of the given inventory, so all of them are sent again on the
+     * next tick. This must be called when a player opens the inventory.
+     *
+     * @param inventory the inventory
+     */
+    public static void resendProperties(Inventory inventory) {
+        inventory.removeTag(SENT_PROPERTIES);
+    }
+
+    // the window properties last sent to the viewers of the given inventory, or null if it has no viewers
+    private static int @Nullable [] sentProperties(Inventory inventory) {
+        int[] sent = inventory.getTag(SENT_PROPERTIES);
+        if (inventory.getViewers().isEmpty()) {
+            if (sent != null) inventory.removeTag(SENT_PROPERTIES);
+            return null;
+        }
+        if (sent == null) {
+            sent = new int[4];
+            Arrays.fill(sent, Integer.MIN_VALUE);
+            inventory.setTag(SENT_PROPERTIES, sent);
+        }
+        return sent;
+    }
+
+    private static void sendProperty(Inventory inventory, int @Nullable [] sent, int property, int value) {
+        short shortValue = (short) value;
+        if (sent == null || sent[property] == shortValue) return;
+        sent[property] = shortValue;
+        WindowPropertyPacket packet = new WindowPropertyPacket(inventory.getWindowId(), (short) property, shortValue);
+        PacketUtils.sendGroupedPacket(inventory.getViewers(), packet);
+    }
+
+    // the burn time of the given fuel, or -1 if it is not a fuel
+    private int burnTicks(Material material) {
+        int id = material.id();
+        return id < fuelBurnTicks.length ? fuelBurnTicks[id] : -1;
+    }
+
+    private static int[] getFuel(Datapack datapack) {
         Map<Material, Integer> material2burnTicks = new HashMap<>();
 
         material2burnTicks.put(Material.LAVA_BUCKET, 20000);
@@ -199,36 +234,16 @@ public record SmeltingHandler(Datapack datapack, int speed, Map<Material, Intege
         addItemTags(datapack, material2burnTicks, "saplings", 100);
         addItemTags(datapack, material2burnTicks, "wool_carpets", 67);
 
-        return Map.copyOf(material2burnTicks);
+        int maxId = Material.values().stream().mapToInt(Material::id).max().orElse(-1);
+        int[] fuelBurnTicks = new int[maxId + 1];
+        Arrays.fill(fuelBurnTicks, -1);
+        material2burnTicks.forEach((material, burnTicks) -> fuelBurnTicks[material.id()] = burnTicks);
+        return fuelBurnTicks;
     }
 
     private static void addItemTags(Datapack datapack, Map<Material, Integer> material2burnTicks, String tagName, int burnTime) {
-        for (NamespaceID item : DatapackUtils.findTags(datapack, "items", NamespaceID.from(tagName))) {
-            Material mat = Material.fromNamespaceId(item);
+        for (Material mat : datapack.resolvedTags().items(NamespaceID.from(tagName)).values()) {
             material2burnTicks.put(mat, burnTime);
         }
     }
-
-    public @Nullable <T extends Recipe.CookingRecipe> T findRecipe(Class<T> clazz, Material inputMat) {
-        CraftingUtils utils = new CraftingUtils(datapack);
-        for (var entry : datapack.namespacedData().entrySet()) {
-            var data = entry.getValue();
-
-            for (String file : data.recipes().files()) {
-                Recipe recipe = data.recipes().file(file);
-                if (clazz.isInstance(recipe)) {
-                    T cooking = clazz.cast(recipe);
-                    Set<Material> inputMats = cooking.ingredient().stream()
-                            .map(utils::ingredientToMaterials)
-                            .flatMap(Collection::stream)
-                            .collect(Collectors.toUnmodifiableSet());
-
-                    if (!inputMats.contains(inputMat)) continue;
-
-                    return cooking;
-                }
-            }
-        }
-        return null;
-    }
 }
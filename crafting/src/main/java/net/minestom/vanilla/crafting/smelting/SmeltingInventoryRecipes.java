@@ -3,6 +3,7 @@ package net.minestom.vanilla.crafting.smelting;
 import dev.goldenstack.window.v1_19.Views;
 import net.minestom.server.event.Event;
 import net.minestom.server.event.EventNode;
+import net.minestom.server.event.inventory.InventoryOpenEvent;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.inventory.Inventory;
 import net.minestom.server.inventory.InventoryType;
@@ -10,22 +11,29 @@ import net.minestom.server.item.ItemStack;
 import net.minestom.vanilla.VanillaReimplementation;
 import net.minestom.vanilla.crafting.CraftingUtils;
 import net.minestom.vanilla.datapack.Datapack;
+import net.minestom.vanilla.datapack.DatapackLoadingFeature;
 import net.minestom.vanilla.datapack.recipe.Recipe;
 import net.minestom.vanilla.events.FurnaceTickEvent;
 import net.minestom.vanilla.tag.Tags;
 
-public record SmeltingInventoryRecipes(Datapack datapack, VanillaReimplementation vri) {
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+public record SmeltingInventoryRecipes(DatapackLoadingFeature datapacks, VanillaReimplementation vri) {
 
     public EventNode<Event> init() {
         EventNode<Event> node = EventNode.all("vri:smelting-inventory-recipes");
 
-        SmeltingHandler smeltingHandler = new SmeltingHandler(datapack, 1,
+        Function<Datapack, SmeltingHandler> createHandler = datapack -> new SmeltingHandler(datapack, Recipe.Smelting.class, 1,
             Tags.Blocks.Smelting.COOKING_TICKS,
             Tags.Blocks.Smelting.LAST_COOKED_ITEM,
             Tags.Blocks.Smelting.COOKING_PROGRESS,
             Views.furnace().input(),
             Views.furnace().output(),
             Views.furnace().fuel());
+        // rebuilt with the recipes and fuels of the new datapack on reload
+        AtomicReference<SmeltingHandler> smeltingHandler = new AtomicReference<>(createHandler.apply(datapacks.current()));
+        datapacks.onReload(datapack -> smeltingHandler.set(createHandler.apply(datapack)));
 
         node.addListener(FurnaceTickEvent.class, event -> {
             Block block = event.getBlock();
@@ -33,17 +41,22 @@ public record SmeltingInventoryRecipes(Datapack datapack, VanillaReimplementatio
             Views.Furnace furnace = Views.furnace();
 
             ItemStack input = furnace.input().get(inventory, 0);
-            Recipe.Smelting recipe = smeltingHandler.findRecipe(Recipe.Smelting.class, input.material());
+            SmeltingHandler handler = smeltingHandler.get();
+            CookingRecipeTable.Cooking recipe = handler.recipes().find(input.material());
 
-            Block newBlock = recipe == null ?
-                    smeltingHandler.handle(inventory, block, null, null) :
-                    smeltingHandler.handle(inventory, block, recipe.result(), recipe.cookingTime());
+            Block newBlock = handler.handle(inventory, block, recipe);
 
             if (newBlock != null) {
                 event.getInstance().setBlock(event.getBlockPosition(), newBlock);
             }
         });
 
+        // a new viewer needs all window properties, not only the ones that change
+        node.addListener(InventoryOpenEvent.class, event -> {
+            if (event.getInventory().getInventoryType() != InventoryType.FURNACE) return;
+            SmeltingHandler.resendProperties(event.getInventory());
+        });
+
         CraftingUtils.addOutputSlotEventHandler(node, Views.furnace().output(), InventoryType.FURNACE);
 
         return node;
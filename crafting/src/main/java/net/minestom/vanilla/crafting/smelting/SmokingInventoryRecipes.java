@@ -3,6 +3,7 @@ package net.minestom.vanilla.crafting.smelting;
 import dev.goldenstack.window.v1_19.Views;
 import net.minestom.server.event.Event;
 import net.minestom.server.event.EventNode;
+import net.minestom.server.event.inventory.InventoryOpenEvent;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.inventory.Inventory;
 import net.minestom.server.inventory.InventoryType;
@@ -10,39 +11,51 @@ import net.minestom.server.item.ItemStack;
 import net.minestom.vanilla.VanillaReimplementation;
 import net.minestom.vanilla.crafting.CraftingUtils;
 import net.minestom.vanilla.datapack.Datapack;
+import net.minestom.vanilla.datapack.DatapackLoadingFeature;
 import net.minestom.vanilla.datapack.recipe.Recipe;
 import net.minestom.vanilla.events.SmokerTickEvent;
 import net.minestom.vanilla.tag.Tags;
 
-public record SmokingInventoryRecipes(Datapack datapack, VanillaReimplementation vri) {
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+public record SmokingInventoryRecipes(DatapackLoadingFeature datapacks, VanillaReimplementation vri) {
 
     public EventNode<Event> init() {
         EventNode<Event> node = EventNode.all("vri:smoking-inventory-recipes");
 
-        SmeltingHandler smeltingHandler = new SmeltingHandler(datapack, 2,
+        Function<Datapack, SmeltingHandler> createHandler = datapack -> new SmeltingHandler(datapack, Recipe.Smoking.class, 2,
             Tags.Blocks.Smelting.COOKING_TICKS,
             Tags.Blocks.Smelting.LAST_COOKED_ITEM,
             Tags.Blocks.Smelting.COOKING_PROGRESS,
             Views.smoker().input(),
             Views.smoker().output(),
             Views.smoker().fuel());
+        // rebuilt with the recipes and fuels of the new datapack on reload
+        AtomicReference<SmeltingHandler> smeltingHandler = new AtomicReference<>(createHandler.apply(datapacks.current()));
+        datapacks.onReload(datapack -> smeltingHandler.set(createHandler.apply(datapack)));
 
         node.addListener(SmokerTickEvent.class, event -> {
             Block block = event.getBlock();
             Inventory inventory = event.getInventory();
 
             ItemStack input = Views.smoker().input().get(inventory, 0);
-            Recipe.Smoking recipe = smeltingHandler.findRecipe(Recipe.Smoking.class, input.material());
+            SmeltingHandler handler = smeltingHandler.get();
+            CookingRecipeTable.Cooking recipe = handler.recipes().find(input.material());
 
-            Block newBlock = recipe == null ?
-                    smeltingHandler.handle(inventory, block, null, null) :
-                    smeltingHandler.handle(inventory, block, recipe.result(), recipe.cookingTime());
+            Block newBlock = handler.handle(inventory, block, recipe);
 
             if (newBlock != null) {
                 event.getInstance().setBlock(event.getBlockPosition(), newBlock);
             }
         });
 
+        // a new viewer needs all window properties, not only the ones that change
+        node.addListener(InventoryOpenEvent.class, event -> {
+            if (event.getInventory().getInventoryType() != InventoryType.SMOKER) return;
+            SmeltingHandler.resendProperties(event.getInventory());
+        });
+
         CraftingUtils.addOutputSlotEventHandler(node, Views.smoker().output(), InventoryType.SMOKER);
 
         return node;
@@ -0,0 +1,182 @@
+package net.minestom.vanilla.crafting;
+
+import net.minestom.server.item.ItemStack;
+import net.minestom.server.item.Material;
+import net.minestom.vanilla.datapack.Datapack;
+import net.minestom.vanilla.files.FileSystem;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CraftingRecipeIndexTests {
+
+    private static final Material AIR = Material.AIR;
+    private static final Material STONE = Material.STONE;
+    private static final Material DIRT = Material.DIRT;
+    private static final Material GRAVEL = Material.GRAVEL;
+    private static final Material COAL = Material.COAL;
+    private static final Material OAK = Material.OAK_PLANKS;
+    private static final Material BIRCH = Material.BIRCH_PLANKS;
+
+    private static CraftingRecipeIndex index;
+
+    @BeforeAll
+    public static void buildIndex() {
+        Map<String, String> files = new HashMap<>();
+        files.put("test/tags/items/planks.json", """
+                {"values": ["minecraft:oak_planks", "minecraft:birch_planks"]}
+                """);
+        // stone left of dirt, or mirrored
+        files.put("test/recipes/shaped.json", """
+                {"type": "minecraft:crafting_shaped", "group": "", "pattern": ["SD"],
+                 "key": {"S": {"item": "minecraft:stone"}, "D": {"item": "minecraft:dirt"}},
+                 "result": {"item": "minecraft:diamond"}}
+                """);
+        files.put("test/recipes/shaped_tag.json", """
+                {"type": "minecraft:crafting_shaped", "group": "", "pattern": ["P", "P"],
+                 "key": {"P": {"tag": "test:planks"}},
+                 "result": {"item": "minecraft:stick", "count": 4}}
+                """);
+        files.put("test/recipes/shapeless.json", """
+                {"type": "minecraft:crafting_shapeless", "group": "",
+                 "ingredients": [{"item": "minecraft:stone"}, {"item": "minecraft:stone"}, {"item": "minecraft:gravel"}],
+                 "result": {"item": "minecraft:emerald", "count": 2}}
+                """);
+        files.put("test/recipes/shapeless_tag.json", """
+                {"type": "minecraft:crafting_shapeless", "group": "",
+                 "ingredients": [{"tag": "test:planks"}, {"item": "minecraft:coal"}],
+                 "result": {"item": "minecraft:torch"}}
+                """);
+
+        Map<String, byte[]> bytes = new HashMap<>();
+        files.forEach((path, json) -> bytes.put(path, json.getBytes(StandardCharsets.UTF_8)));
+        index = CraftingRecipeIndex.build(Datapack.loadPrimitiveByteArray(FileSystem.fromMap(bytes)));
+    }
+
+    @Test
+    public void testShaped() {
+        assertResult(Material.DIAMOND, 1, index.find(new Material[]{
+                STONE, DIRT, AIR,
+                AIR, AIR, AIR,
+                AIR, AIR, AIR
+        }, 3));
+        // anywhere in the grid
+        assertResult(Material.DIAMOND, 1, index.find(new Material[]{
+                AIR, AIR, AIR,
+                AIR, AIR, AIR,
+                AIR, STONE, DIRT
+        }, 3));
+        // and in the survival inventory
+        assertResult(Material.DIAMOND, 1, index.find(new Material[]{
+                AIR, AIR,
+                STONE, DIRT
+        }, 2));
+
+        // a different shape doesn't match
+        assertNull(index.find(new Material[]{
+                STONE, AIR, AIR,
+                DIRT, AIR, AIR,
+                AIR, AIR, AIR
+        }, 3));
+        assertNull(index.find(new Material[]{
+                STONE, AIR, DIRT,
+                AIR, AIR, AIR,
+                AIR, AIR, AIR
+        }, 3));
+        assertNull(index.find(new Material[]{
+                STONE, DIRT, DIRT,
+                AIR, AIR, AIR,
+                AIR, AIR, AIR
+        }, 3));
+    }
+
+    @Test
+    public void testShapedMirrored() {
+        assertResult(Material.DIAMOND, 1, index.find(new Material[]{
+                AIR, DIRT, STONE,
+                AIR, AIR, AIR,
+                AIR, AIR, AIR
+        }, 3));
+    }
+
+    @Test
+    public void testShapedTag() {
+        assertResult(Material.STICK, 4, index.find(new Material[]{
+                AIR, OAK, AIR,
+                AIR, BIRCH, AIR,
+                AIR, AIR, AIR
+        }, 3));
+        assertResult(Material.STICK, 4, index.find(new Material[]{
+                AIR, AIR, AIR,
+                AIR, AIR, BIRCH,
+                AIR, AIR, BIRCH
+        }, 3));
+        assertNull(index.find(new Material[]{
+                AIR, OAK, AIR,
+                AIR, STONE, AIR,
+                AIR, AIR, AIR
+        }, 3));
+    }
+
+    @Test
+    public void testShapeless() {
+        // in any order and position
+        assertResult(Material.EMERALD, 2, index.find(new Material[]{
+                STONE, AIR, AIR,
+                AIR, GRAVEL, AIR,
+                AIR, AIR, STONE
+        }, 3));
+        assertResult(Material.EMERALD, 2, index.find(new Material[]{
+                GRAVEL, STONE,
+                STONE, AIR
+        }, 2));
+
+        // every ingredient is needed exactly once
+        assertNull(index.find(new Material[]{
+                STONE, GRAVEL, GRAVEL,
+                AIR, AIR, AIR,
+                AIR, AIR, AIR
+        }, 3));
+        assertNull(index.find(new Material[]{
+                STONE, STONE, GRAVEL,
+                STONE, AIR, AIR,
+                AIR, AIR, AIR
+        }, 3));
+    }
+
+    @Test
+    public void testShapelessTag() {
+        assertResult(Material.TORCH, 1, index.find(new Material[]{
+                COAL, AIR, AIR,
+                AIR, AIR, AIR,
+                AIR, AIR, BIRCH
+        }, 3));
+        assertResult(Material.TORCH, 1, index.find(new Material[]{
+                OAK, COAL,
+                AIR, AIR
+        }, 2));
+        assertNull(index.find(new Material[]{
+                COAL, STONE,
+                AIR, AIR
+        }, 2));
+    }
+
+    @Test
+    public void testEmptyGrid() {
+        assertNull(index.find(new Material[]{
+                AIR, AIR,
+                AIR, AIR
+        }, 2));
+    }
+
+    private static void assertResult(Material material, int amount, ItemStack result) {
+        assertNotNull(result);
+        assertEquals(material, result.material());
+        assertEquals(amount, result.amount());
+    }
+}
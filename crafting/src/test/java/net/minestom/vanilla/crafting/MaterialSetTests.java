@@ -0,0 +1,67 @@
+package net.minestom.vanilla.crafting;
+
+import net.minestom.server.item.Material;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MaterialSetTests {
+
+    private static Material material(int id) {
+        return Objects.requireNonNull(Material.fromId(id), "No material with id " + id);
+    }
+
+    @Test
+    public void testWordBoundary() {
+        // ids 63 and 64 are the last bit of the first word and the first bit of the second word
+        MaterialSet set = MaterialSet.of(List.of(material(63), material(64)));
+
+        assertEquals(2, set.size());
+        assertEquals(Set.of(material(63), material(64)), set.materials());
+        assertTrue(set.contains(material(63)));
+        assertTrue(set.contains(material(64)));
+        assertFalse(set.contains(material(0)));
+        assertFalse(set.contains(material(62)));
+        assertFalse(set.contains(material(65)));
+        assertFalse(set.contains(material(127)));
+        assertFalse(set.contains(material(128)));
+    }
+
+    @Test
+    public void testBitsDontWrapAround() {
+        // 1L << 64 is 1L << 0, so the words must be told apart by their index
+        MaterialSet first = MaterialSet.of(List.of(material(0), material(127)));
+        assertTrue(first.contains(material(0)));
+        assertTrue(first.contains(material(127)));
+        assertFalse(first.contains(material(63)));
+        assertFalse(first.contains(material(64)));
+
+        MaterialSet second = MaterialSet.of(List.of(material(64)));
+        assertTrue(second.contains(material(64)));
+        assertFalse(second.contains(material(0)));
+        assertFalse(second.contains(material(128)));
+    }
+
+    @Test
+    public void testEmpty() {
+        MaterialSet empty = MaterialSet.of(List.of());
+
+        assertSame(MaterialSet.EMPTY, empty);
+        assertTrue(empty.isEmpty());
+        assertFalse(empty.contains(material(0)));
+        assertFalse(empty.contains(material(64)));
+    }
+
+    @Test
+    public void testEquality() {
+        MaterialSet set = MaterialSet.of(List.of(material(63), material(64)));
+
+        assertEquals(set, MaterialSet.of(List.of(material(64), material(63))));
+        assertEquals(set.hashCode(), MaterialSet.of(List.of(material(64), material(63))).hashCode());
+        assertNotEquals(set, MaterialSet.of(List.of(material(64))));
+    }
+}
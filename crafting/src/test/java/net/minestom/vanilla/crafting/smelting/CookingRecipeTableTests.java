@@ -0,0 +1,48 @@
+package net.minestom.vanilla.crafting.smelting;
+
+import net.minestom.server.item.Material;
+import net.minestom.vanilla.datapack.Datapack;
+import net.minestom.vanilla.datapack.recipe.Recipe;
+import net.minestom.vanilla.files.FileSystem;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CookingRecipeTableTests {
+
+    private static String smelting(String input, String result, int cookingTime) {
+        return """
+                {"type": "minecraft:smelting", "group": "", "ingredient": {"item": "%s"},
+                 "result": "%s", "experience": 0.1, "cookingtime": %d}
+                """.formatted(input, result, cookingTime);
+    }
+
+    @Test
+    public void testLowestIdWins() {
+        Map<String, byte[]> files = new LinkedHashMap<>();
+        files.put("test/recipes/b_stone.json", smelting("minecraft:cobblestone", "minecraft:diamond", 50).getBytes(StandardCharsets.UTF_8));
+        files.put("test/recipes/a_stone.json", smelting("minecraft:cobblestone", "minecraft:stone", 200).getBytes(StandardCharsets.UTF_8));
+        files.put("another/recipes/a_stone.json", smelting("minecraft:cobblestone", "minecraft:emerald", 10).getBytes(StandardCharsets.UTF_8));
+        files.put("test/recipes/sand.json", smelting("minecraft:sand", "minecraft:glass", 100).getBytes(StandardCharsets.UTF_8));
+        Datapack datapack = Datapack.loadPrimitiveByteArray(FileSystem.fromMap(files));
+
+        CookingRecipeTable table = CookingRecipeTable.build(datapack, Recipe.Smelting.class);
+
+        CookingRecipeTable.Cooking cobblestone = table.find(Material.COBBLESTONE);
+        assertNotNull(cobblestone);
+        assertEquals(Material.EMERALD, cobblestone.result());
+        assertEquals(10, cobblestone.cookingTime());
+
+        CookingRecipeTable.Cooking sand = table.find(Material.SAND);
+        assertNotNull(sand);
+        assertEquals(Material.GLASS, sand.result());
+
+        assertNull(table.find(Material.DIRT));
+        // other cooking recipe types are not included
+        assertNull(CookingRecipeTable.build(datapack, Recipe.Smoking.class).find(Material.COBBLESTONE));
+    }
+}
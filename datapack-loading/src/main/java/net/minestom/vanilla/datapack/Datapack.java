@@ -21,11 +21,24 @@ import org.jetbrains.annotations.Nullable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
 
 public interface Datapack {
 
     Map<String, NamespacedData> namespacedData();
 
+    /**
+     * @return the index of all files of this datapack by id, see {@link DatapackUtils} for common lookups
+     */
+    DatapackIndex index();
+
+    /**
+     * @return the tags of this datapack, with all tag references resolved
+     */
+    DatapackTags resolvedTags();
+
     static Datapack loadPrimitiveByteArray(FileSystem<byte[]> source) {
         return loadByteArray(source.map(ByteArray::wrap));
     }
@@ -44,6 +57,44 @@ public interface Datapack {
         return new DatapackLoader().load(source.cache());
     }
 
+    /**
+     * Loads a datapack whose files are only parsed on first access. Categories that are known to be needed can be
+     * parsed ahead of time with {@link #warmUp}.
+     */
+    static Datapack loadByteArrayLazy(FileSystem<ByteArray> source) {
+        return new DatapackLoader().load(source.cache(), true);
+    }
+
+    /**
+     * Loads a new version of the given datapack lazily, only re-parsing the categories with changed files.
+     *
+     * @param previous the previous version of the datapack
+     * @param source   the datapack files
+     * @param changed  the paths of all files that were added, changed or removed since the previous version
+     * @see DatapackLoader#reload
+     */
+    static Datapack reloadByteArrayLazy(Datapack previous, FileSystem<ByteArray> source, Set<String> changed) {
+        return new DatapackLoader().reload(previous, source.cache(), changed);
+    }
+
+    /**
+     * Parses all files of the given categories in every namespace, in parallel.
+     * This only has an effect on lazily loaded datapacks, see {@link #loadByteArrayLazy}.
+     *
+     * @param categories the categories, e.g. {@code data -> data.world_gen().density_function()}
+     */
+    default void warmUp(Collection<Function<NamespacedData, FileSystem<?>>> categories) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        for (NamespacedData data : namespacedData().values()) {
+            for (Function<NamespacedData, FileSystem<?>> category : categories) {
+                FileSystem<?> files = category.apply(data);
+                tasks.add(pool.submit(() -> files.cache(pool)));
+            }
+        }
+        tasks.forEach(ForkJoinTask::join);
+    }
+
     record McMeta(Pack pack, Filter filter) {
 
         public McMeta() { // Default
@@ -66,6 +117,7 @@ public interface Datapack {
                           FileSystem<Predicate> predicates,
                           FileSystem<Recipe> recipes,
                           FileSystem<Structure> structures,
+                          FileSystem<StructureTemplate> structure_templates,
                           FileSystem<ChatType> chat_type,
                           FileSystem<DamageType> damage_type,
                           FileSystem<Tag> tags,
@@ -76,26 +128,80 @@ public interface Datapack {
                           WorldGen world_gen) {
 
         /**
-         * Performs a deep cache on all of the data.
+         * Performs a deep cache on all of the data, parsing the files in parallel on the given pool.
          * This helps us load all density functions while in the loading context.
          */
-        NamespacedData cache() {
+        NamespacedData cache(ForkJoinPool pool) {
             return new NamespacedData(
-                    advancements.cache(),
-                    functions.cache(),
-                    item_modifiers.cache(),
-                    loot_tables.cache(),
-                    predicates.cache(),
-                    recipes.cache(),
+                    advancements.cache(pool),
+                    functions.cache(pool),
+                    item_modifiers.cache(pool),
+                    loot_tables.cache(pool),
+                    predicates.cache(pool),
+                    recipes.cache(pool),
                     structures.lazy(), // structures may be large, so we don't want to cache them immediately
-                    chat_type.cache(),
-                    damage_type.cache(),
-                    tags.cache(),
-                    dimensions.cache(),
-                    dimension_type.cache(),
-                    trim_pattern.cache(),
-                    trim_material.cache(),
-                    world_gen.cache()
+                    structure_templates.lazy(), // templates are compiled on first use
+                    chat_type.cache(pool),
+                    damage_type.cache(pool),
+                    tags.cache(pool),
+                    dimensions.cache(pool),
+                    dimension_type.cache(pool),
+                    trim_pattern.cache(pool),
+                    trim_material.cache(pool),
+                    world_gen.cache(pool)
+            );
+        }
+
+        /**
+         * Takes over the categories of the previous version of this data that didn't change.
+         *
+         * @param previous the previous version
+         * @param changed  whether the category with the given folder name (e.g. {@code loot_tables}) changed
+         */
+        NamespacedData reuse(NamespacedData previous, java.util.function.Predicate<String> changed) {
+            // structure templates are compiled from the structures, so they change together
+            boolean structuresChanged = changed.test("structures");
+            return new NamespacedData(
+                    changed.test("advancements") ? advancements : previous.advancements,
+                    changed.test("functions") ? functions : previous.functions,
+                    changed.test("item_modifiers") ? item_modifiers : previous.item_modifiers,
+                    changed.test("loot_tables") ? loot_tables : previous.loot_tables,
+                    changed.test("predicates") ? predicates : previous.predicates,
+                    changed.test("recipes") ? recipes : previous.recipes,
+                    structuresChanged ? structures : previous.structures,
+                    structuresChanged ? structure_templates : previous.structure_templates,
+                    changed.test("chat_type") ? chat_type : previous.chat_type,
+                    changed.test("damage_type") ? damage_type : previous.damage_type,
+                    changed.test("tags") ? tags : previous.tags,
+                    changed.test("dimension") ? dimensions : previous.dimensions,
+                    changed.test("dimension_type") ? dimension_type : previous.dimension_type,
+                    changed.test("trim_pattern") ? trim_pattern : previous.trim_pattern,
+                    changed.test("trim_material") ? trim_material : previous.trim_material,
+                    changed.test("worldgen") ? world_gen : previous.world_gen
+            );
+        }
+
+        /**
+         * Wraps all of the data so that each file is only parsed on first access.
+         */
+        NamespacedData lazy() {
+            return new NamespacedData(
+                    advancements.lazy(),
+                    functions.lazy(),
+                    item_modifiers.lazy(),
+                    loot_tables.lazy(),
+                    predicates.lazy(),
+                    recipes.lazy(),
+                    structures.lazy(),
+                    structure_templates.lazy(),
+                    chat_type.lazy(),
+                    damage_type.lazy(),
+                    tags.lazy(),
+                    dimensions.lazy(),
+                    dimension_type.lazy(),
+                    trim_pattern.lazy(),
+                    trim_material.lazy(),
+                    world_gen.lazy()
             );
         }
     }
@@ -167,16 +273,16 @@ public interface Datapack {
             FileSystem<ByteArray> template_pool,
             FileSystem<ByteArray> world_preset
             ) {
-        public static WorldGen from(FileSystem<ByteArray> worldgen) {
+        static WorldGen from(DatapackLoader.LoadingScope scope, FileSystem<ByteArray> worldgen) {
             return new WorldGen(
-                    DatapackLoader.parseJsonFolder(worldgen, "biome", DatapackLoader.adaptor(Biome.class)),
-                    DatapackLoader.parseJsonFolder(worldgen, "configured_carver", DatapackLoader.adaptor(Carver.class)),
+                    DatapackLoader.parseJsonFolder(scope, worldgen, "biome", DatapackLoader.bytesAdaptor(Biome.class)),
+                    DatapackLoader.parseJsonFolder(scope, worldgen, "configured_carver", DatapackLoader.bytesAdaptor(Carver.class)),
                     worldgen.folder("configured_feature"),
-                    DatapackLoader.parseJsonFolder(worldgen, "density_function", DatapackLoader.adaptor(DensityFunction.class)),
+                    DatapackLoader.parseJsonFolder(scope, worldgen, "density_function", DatapackLoader.bytesAdaptor(DensityFunction.class)),
                     worldgen.folder("flat_level_generator_preset"),
                     worldgen.folder("multi_noise_biome_source_parameter_list"),
-                    DatapackLoader.parseJsonFolder(worldgen, "noise", DatapackLoader.adaptor(Noise.class)),
-                    DatapackLoader.parseJsonFolder(worldgen, "noise_settings", DatapackLoader.adaptor(NoiseSettings.class)),
+                    DatapackLoader.parseJsonFolder(scope, worldgen, "noise", DatapackLoader.bytesAdaptor(Noise.class)),
+                    DatapackLoader.parseJsonFolder(scope, worldgen, "noise_settings", DatapackLoader.bytesAdaptor(NoiseSettings.class)),
                     worldgen.folder("placed_feature"),
                     worldgen.folder("processor_list"),
                     worldgen.folder("structure"),
@@ -186,22 +292,41 @@ public interface Datapack {
             );
         }
 
-        public WorldGen cache() {
+        public WorldGen cache(ForkJoinPool pool) {
+            return new WorldGen(
+                    biome.cache(pool),
+                    configured_carver.cache(pool),
+                    configured_feature.cache(pool),
+                    density_function.cache(pool),
+                    flat_level_generator_preset.cache(pool),
+                    multi_noise_biome_source_parameter_list.cache(pool),
+                    noise.cache(pool),
+                    noise_settings.cache(pool),
+                    placed_feature.cache(pool),
+                    processor_list.cache(pool),
+                    structure.cache(pool),
+                    structure_set.cache(pool),
+                    template_pool.cache(pool),
+                    world_preset.cache(pool)
+            );
+        }
+
+        public WorldGen lazy() {
             return new WorldGen(
-                    biome.cache(),
-                    configured_carver.cache(),
-                    configured_feature.cache(),
-                    density_function.cache(),
-                    flat_level_generator_preset.cache(),
-                    multi_noise_biome_source_parameter_list.cache(),
-                    noise.cache(),
-                    noise_settings.cache(),
-                    placed_feature.cache(),
-                    processor_list.cache(),
-                    structure.cache(),
-                    structure_set.cache(),
-                    template_pool.cache(),
-                    world_preset.cache()
+                    biome.lazy(),
+                    configured_carver.lazy(),
+                    configured_feature.lazy(),
+                    density_function.lazy(),
+                    flat_level_generator_preset.lazy(),
+                    multi_noise_biome_source_parameter_list.lazy(),
+                    noise.lazy(),
+                    noise_settings.lazy(),
+                    placed_feature.lazy(),
+                    processor_list.lazy(),
+                    structure.lazy(),
+                    structure_set.lazy(),
+                    template_pool.lazy(),
+                    world_preset.lazy()
             );
         }
     }
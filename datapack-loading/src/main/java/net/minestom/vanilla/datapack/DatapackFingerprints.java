@@ -0,0 +1,70 @@
+package net.minestom.vanilla.datapack;
+
+import net.minestom.vanilla.files.ByteArray;
+import net.minestom.vanilla.files.FileSystem;
+import org.jetbrains.annotations.NotNull;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The content hashes of all files of a datapack, used to find the files that changed between two versions of it.
+ */
+final class DatapackFingerprints {
+
+    private final Map<String, ByteArray> path2hash;
+
+    private DatapackFingerprints(Map<String, ByteArray> path2hash) {
+        this.path2hash = path2hash;
+    }
+
+    /**
+     * Hashes every file of the given datapack.
+     *
+     * @param source the datapack files
+     * @return the fingerprints
+     */
+    static @NotNull DatapackFingerprints of(@NotNull FileSystem<ByteArray> source) {
+        Map<String, ByteArray> path2hash = new HashMap<>();
+        MessageDigest digest = sha1();
+        collect(source, "", digest, path2hash);
+        return new DatapackFingerprints(Map.copyOf(path2hash));
+    }
+
+    private static void collect(FileSystem<ByteArray> folder, String prefix, MessageDigest digest, Map<String, ByteArray> path2hash) {
+        for (String file : folder.files()) {
+            digest.update(folder.file(file).buffer());
+            path2hash.put(prefix + file, ByteArray.wrap(digest.digest()));
+        }
+        for (String child : folder.folders()) {
+            collect(folder.folder(child), prefix + child + "/", digest, path2hash);
+        }
+    }
+
+    /**
+     * @param previous the fingerprints of the previous version
+     * @return the paths of all files that were added, changed or removed since the previous version
+     */
+    @NotNull Set<String> changedSince(@NotNull DatapackFingerprints previous) {
+        Set<String> changed = new HashSet<>();
+        path2hash.forEach((path, hash) -> {
+            if (!hash.equals(previous.path2hash.get(path))) changed.add(path);
+        });
+        for (String path : previous.path2hash.keySet()) {
+            if (!path2hash.containsKey(path)) changed.add(path);
+        }
+        return Set.copyOf(changed);
+    }
+
+    private static MessageDigest sha1() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package net.minestom.vanilla.datapack;
+
+import net.minestom.server.utils.NamespaceID;
+import net.minestom.vanilla.datapack.loot.LootTable;
+import net.minestom.vanilla.datapack.loot.function.LootFunction;
+import net.minestom.vanilla.datapack.loot.function.Predicate;
+import net.minestom.vanilla.datapack.recipe.Recipe;
+import net.minestom.vanilla.datapack.worldgen.*;
+import net.minestom.vanilla.datapack.worldgen.noise.Noise;
+import net.minestom.vanilla.files.FileSystem;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * An index of every file of a datapack by its id, per category.
+ * <p>
+ * The index is built once, right after the datapack is loaded, by walking the file names of every namespace. It only
+ * points at the files, so building it doesn't parse anything, and files of lazily loaded datapacks are still parsed on
+ * first access.
+ * </p>
+ */
+public final class DatapackIndex {
+
+    private final Map<Category<?>, Map<NamespaceID, Entry<?>>> categories;
+
+    private DatapackIndex(Map<Category<?>, Map<NamespaceID, Entry<?>>> categories) {
+        this.categories = categories;
+    }
+
+    static @NotNull DatapackIndex build(@NotNull Map<String, Datapack.NamespacedData> namespacedData) {
+        Map<Category<?>, Map<NamespaceID, Entry<?>>> categories = new IdentityHashMap<>();
+        for (Category<?> category : Category.VALUES) {
+            Map<NamespaceID, Entry<?>> entries = new HashMap<>();
+            namespacedData.forEach((namespace, data) -> index(namespace, "", category, category.folder.apply(data), entries));
+            categories.put(category, Map.copyOf(entries));
+        }
+        return new DatapackIndex(categories);
+    }
+
+    private static <T> void index(String namespace, String prefix, Category<?> category, FileSystem<T> folder,
+                                  Map<NamespaceID, Entry<?>> entries) {
+        for (String file : folder.files()) {
+            if (!file.endsWith(category.extension)) continue;
+            String id = prefix + file.substring(0, file.length() - category.extension.length());
+            entries.put(NamespaceID.from(namespace, id), new Entry<>(folder, file));
+        }
+        for (String child : folder.folders()) {
+            index(namespace, prefix + child + "/", category, folder.folder(child), entries);
+        }
+    }
+
+    /**
+     * Finds the file with the given id.
+     *
+     * @param category the category of the file
+     * @param id       the id of the file, e.g. {@code minecraft:overworld/continents}
+     * @return the file, or null if there is none
+     */
+    @SuppressWarnings("unchecked")
+    public <T> @Nullable T find(@NotNull Category<T> category, @NotNull NamespaceID id) {
+        Entry<?> entry = categories.get(category).get(id);
+        return entry == null ? null : (T) entry.get();
+    }
+
+    /**
+     * @param category the category
+     * @return the ids of every file of the given category
+     */
+    public @NotNull Set<NamespaceID> ids(@NotNull Category<?> category) {
+        return categories.get(category).keySet();
+    }
+
+    private record Entry<T>(FileSystem<T> folder, String file) {
+        T get() {
+            return folder.file(file);
+        }
+    }
+
+    /**
+     * A category of datapack files that can be looked up by id.
+     *
+     * @param name      the name of the category, for debugging
+     * @param folder    the folder holding the category's files in a namespace
+     * @param extension the extension of the category's files
+     */
+    public record Category<T>(String name, Function<Datapack.NamespacedData, FileSystem<T>> folder, String extension) {
+
+        public static final Category<LootTable> LOOT_TABLE = new Category<>("loot_tables", Datapack.NamespacedData::loot_tables, ".json");
+        public static final Category<Predicate> PREDICATE = new Category<>("predicates", Datapack.NamespacedData::predicates, ".json");
+        public static final Category<LootFunction> ITEM_MODIFIER = new Category<>("item_modifiers", Datapack.NamespacedData::item_modifiers, ".json");
+        public static final Category<Recipe> RECIPE = new Category<>("recipes", Datapack.NamespacedData::recipes, ".json");
+        public static final Category<Structure> STRUCTURE = new Category<>("structures", Datapack.NamespacedData::structures, ".nbt");
+        public static final Category<StructureTemplate> STRUCTURE_TEMPLATE = new Category<>("structure_templates", Datapack.NamespacedData::structure_templates, ".nbt");
+        public static final Category<Biome> BIOME = new Category<>("worldgen/biome", data -> data.world_gen().biome(), ".json");
+        public static final Category<Carver> CONFIGURED_CARVER = new Category<>("worldgen/configured_carver", data -> data.world_gen().configured_carver(), ".json");
+        public static final Category<DensityFunction> DENSITY_FUNCTION = new Category<>("worldgen/density_function", data -> data.world_gen().density_function(), ".json");
+        public static final Category<Noise> NOISE = new Category<>("worldgen/noise", data -> data.world_gen().noise(), ".json");
+        public static final Category<NoiseSettings> NOISE_SETTINGS = new Category<>("worldgen/noise_settings", data -> data.world_gen().noise_settings(), ".json");
+
+        static final List<Category<?>> VALUES = List.of(LOOT_TABLE, PREDICATE, ITEM_MODIFIER, RECIPE, STRUCTURE,
+                STRUCTURE_TEMPLATE, BIOME, CONFIGURED_CARVER, DENSITY_FUNCTION, NOISE, NOISE_SETTINGS);
+
+        // Categories are compared by identity, as their folder functions are
+        @Override
+        public boolean equals(Object o) {
+            return this == o;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+    }
+}
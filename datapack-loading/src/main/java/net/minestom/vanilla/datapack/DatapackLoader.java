@@ -14,6 +14,7 @@ import net.minestom.vanilla.datapack.worldgen.noise.Noise;
 import net.minestom.vanilla.datapack.worldgen.random.WorldgenRandom;
 import net.minestom.vanilla.files.ByteArray;
 import net.minestom.vanilla.files.FileSystem;
+import okio.BufferedSource;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.gson.GsonComponentSerializer;
 import net.minestom.server.entity.EntityType;
@@ -40,8 +41,10 @@ import java.io.IOException;
 import java.io.StringReader;
 import java.lang.reflect.Type;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -135,8 +138,9 @@ public class DatapackLoader {
         return builder.build();
     }
 
-    static <T> FileSystem<T> parseJsonFolder(FileSystem<ByteArray> source, String path, Function<String, T> converter) {
-        return source.folder(path).map(FileSystem.BYTES_TO_STRING).map(converter);
+    static <T> FileSystem<T> parseJsonFolder(LoadingScope scope, FileSystem<ByteArray> source, String path, Function<ByteArray, T> converter) {
+        LoadingScope folderScope = scope.resolve(path);
+        return source.folder(path).map((file, bytes) -> folderScope.parse(file, () -> converter.apply(bytes)));
     }
 
     public static <T> Function<String, T> adaptor(Class<T> clazz) {
@@ -149,6 +153,20 @@ public class DatapackLoader {
         };
     }
 
+    /**
+     * Creates a parser that reads the json straight from the bytes, without decoding them into a string first.
+     */
+    public static <T> Function<ByteArray, T> bytesAdaptor(Class<T> clazz) {
+        JsonAdapter<T> adapter = moshi.adapter(clazz);
+        return bytes -> {
+            try (BufferedSource source = bytes.toSource()) {
+                return adapter.fromJson(source);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        };
+    }
+
     private static final ThreadLocal<LoadingContext> contextPool = new ThreadLocal<>();
 
     public static LoadingContext loading() {
@@ -169,6 +187,127 @@ public class DatapackLoader {
         }
     }
 
+    /**
+     * Runs the given parser with the given context bound to the current thread, so that the parser (e.g. moshi adaptors)
+     * can reach it through {@link #loading()}. The previously bound context is restored afterwards.
+     */
+    public static <T> T withContext(LoadingContext context, Supplier<T> parser) {
+        LoadingContext previous = contextPool.get();
+        contextPool.set(context);
+        try {
+            return parser.get();
+        } finally {
+            if (previous == null) {
+                contextPool.remove();
+            } else {
+                contextPool.set(previous);
+            }
+        }
+    }
+
+    /**
+     * The state shared by all files of a single datapack.
+     * <p>
+     * Finishers registered while the datapack is being loaded run once it has loaded. Files parsed afterwards (i.e. in
+     * lazy mode) run their finishers right after they have been parsed.
+     * </p>
+     */
+    static final class LoadState {
+        // guarded by this, so a finisher is either queued before the datapack is published, or runs late
+        private final List<Consumer<DatapackFinisher>> finishers = new ArrayList<>();
+        private volatile @Nullable Datapack datapack = null;
+
+        /**
+         * Queues the given finisher until the datapack has loaded.
+         *
+         * @return false if the datapack has already loaded, in which case the finisher was not queued
+         */
+        synchronized boolean defer(Consumer<DatapackFinisher> finisher) {
+            if (datapack != null) return false;
+            finishers.add(finisher);
+            return true;
+        }
+
+        void finish(Datapack datapack) {
+            List<Consumer<DatapackFinisher>> queued;
+            synchronized (this) {
+                this.datapack = datapack;
+                queued = List.copyOf(finishers);
+                finishers.clear();
+            }
+            for (Consumer<DatapackFinisher> finisher : queued) {
+                finisher.accept(() -> datapack);
+            }
+        }
+    }
+
+    /**
+     * A folder of the datapack being loaded.
+     * <p>
+     * Every file parsed within a scope gets its own loading context, whose random is seeded from the file's id. This
+     * keeps parsing deterministic no matter which thread parses which file, or in which order.
+     * </p>
+     *
+     * @param state the state of the datapack being loaded
+     * @param id    the id prefix of the files in this folder, e.g. {@code minecraft:worldgen/}
+     */
+    record LoadingScope(LoadState state, String id) {
+
+        static LoadingScope namespace(LoadState state, String namespace) {
+            return new LoadingScope(state, namespace + ":");
+        }
+
+        LoadingScope resolve(String path) {
+            return new LoadingScope(state, id + path + "/");
+        }
+
+        <T> T parse(String file, Supplier<T> parser) {
+            FileLoadingContext context = new FileLoadingContext(state, id + file);
+            T result = withContext(context, parser);
+            context.finishLate();
+            return result;
+        }
+    }
+
+    private static final WorldgenRandom.Positional FILE_RANDOMS = WorldgenRandom.xoroshiro(0).forkPositional();
+
+    private static final class FileLoadingContext implements LoadingContext {
+        private final LoadState state;
+        private final String id;
+        private @Nullable WorldgenRandom random = null;
+        private @Nullable List<Consumer<DatapackFinisher>> lateFinishers = null;
+
+        private FileLoadingContext(LoadState state, String id) {
+            this.state = state;
+            this.id = id;
+        }
+
+        @Override
+        public WorldgenRandom random() {
+            // A file is always parsed on a single thread, so its random is consumed in a fixed order
+            if (random == null) {
+                random = FILE_RANDOMS.fromHashOf(id);
+            }
+            return random;
+        }
+
+        @Override
+        public void whenFinished(Consumer<DatapackFinisher> finishAction) {
+            if (state.defer(finishAction)) return;
+            // The datapack has already loaded, so this file is parsed lazily
+            if (lateFinishers == null) lateFinishers = new ArrayList<>();
+            lateFinishers.add(finishAction);
+        }
+
+        void finishLate() {
+            Datapack datapack = state.datapack;
+            if (lateFinishers == null || datapack == null) return;
+            for (Consumer<DatapackFinisher> finisher : lateFinishers) {
+                finisher.accept(() -> datapack);
+            }
+        }
+    }
+
     private static final LoadingContext STATIC_CONTEXT = new LoadingContext() {
         @Override
         public WorldgenRandom random() {
@@ -191,68 +330,109 @@ public class DatapackLoader {
     }
 
     public Datapack load(FileSystem<ByteArray> source) {
+        return load(source, false);
+    }
+
+    /**
+     * Loads the given datapack.
+     *
+     * @param source the datapack files
+     * @param lazy   whether to parse files on first access instead of while loading, see {@link Datapack#warmUp}
+     * @return the datapack
+     */
+    public Datapack load(FileSystem<ByteArray> source, boolean lazy) {
+        return load(source, lazy, null, Set.of());
+    }
+
+    /**
+     * Loads a new version of the given datapack, lazily. Categories without changed files are taken over from the
+     * previous datapack as they are, including the files that were already parsed. As world generation files reference
+     * each other across categories and namespaces, world generation is only taken over if none of its files changed.
+     *
+     * @param previous the previous version of the datapack
+     * @param source   the datapack files
+     * @param changed  the paths of all files that were added, changed or removed since the previous version
+     * @return the datapack
+     */
+    public Datapack reload(Datapack previous, FileSystem<ByteArray> source, Set<String> changed) {
+        return load(source, true, previous, changed);
+    }
+
+    private Datapack load(FileSystem<ByteArray> source, boolean lazy, @Nullable Datapack previous, Set<String> changed) {
 
         // Default
         McMeta mcmeta;
-        mcmeta = !source.hasFile("pack.mcmeta") ? new McMeta() : source.map(FileSystem.BYTES_TO_STRING).map(adaptor(McMeta.class)).file("pack.mcmeta");
+        mcmeta = !source.hasFile("pack.mcmeta") ? new McMeta() : bytesAdaptor(McMeta.class).apply(source.file("pack.mcmeta"));
         @Nullable ByteArray pack_png = !source.hasFile("pack.png") ? null : source.file("pack.png");
 //        ImageIO.read(pack_png.toStream());
 
-        // Load this datapack on this thread, so that we can use the thread-local contextPool
-        WorldgenRandom loading = WorldgenRandom.xoroshiro(0);
-        Queue<Consumer<DatapackFinisher>> finishers = new ArrayDeque<>();
-        LoadingContext context = new LoadingContext() {
-            @Override
-            public WorldgenRandom random() {
-                return loading;
-            }
-
-            @Override
-            public void whenFinished(Consumer<DatapackFinisher> finishAction) {
-                finishers.add(finishAction);
-            }
-        };
-        contextPool.set(context);
-
-        Map<String, NamespacedData> namespace2data;
-        {
-            namespace2data = new HashMap<>();
-
-            for (String namespace : source.folders()) {
-                FileSystem<ByteArray> dataFolder = source.folder(namespace).inMemory();
-
-                FileSystem<Advancement> advancements = parseJsonFolder(dataFolder, "advancements", adaptor(Advancement.class));
-                FileSystem<McFunction> functions = parseJsonFolder(dataFolder, "functions", McFunction::fromString);
-                FileSystem<LootFunction> item_modifiers = parseJsonFolder(dataFolder, "item_modifiers", adaptor(LootFunction.class));
-                FileSystem<LootTable> loot_tables = parseJsonFolder(dataFolder, "loot_tables", adaptor(LootTable.class));
-                FileSystem<Predicate> predicates = parseJsonFolder(dataFolder, "predicates", adaptor(Predicate.class));
-                FileSystem<Recipe> recipes = parseJsonFolder(dataFolder, "recipes", adaptor(Recipe.class));
-                FileSystem<Structure> structures = dataFolder.folder("structures").map(Structure::fromInput);
-                FileSystem<ChatType> chat_type = parseJsonFolder(dataFolder, "chat_type", adaptor(ChatType.class));
-                FileSystem<DamageType> damage_type = parseJsonFolder(dataFolder, "damage_type", adaptor(DamageType.class));
-                FileSystem<Tag> tags = parseJsonFolder(dataFolder, "tags", adaptor(Tag.class));
-                FileSystem<Dimension> dimensions = parseJsonFolder(dataFolder, "dimension", adaptor(Dimension.class));
-                FileSystem<DimensionType> dimension_type = parseJsonFolder(dataFolder, "dimension_type", adaptor(DimensionType.class));
-                FileSystem<TrimPattern> trim_pattern = parseJsonFolder(dataFolder, "trim_pattern", adaptor(TrimPattern.class));
-                FileSystem<TrimMaterial> trim_material = parseJsonFolder(dataFolder, "trim_material", adaptor(TrimMaterial.class));
-                Datapack.WorldGen world_gen = Datapack.WorldGen.from(dataFolder.folder("worldgen"));
-
-                NamespacedData data = new NamespacedData(advancements, functions, item_modifiers, loot_tables,
-                        predicates, recipes, structures, chat_type, damage_type, tags, dimensions, dimension_type,
-                        trim_pattern, trim_material, world_gen);
-                namespace2data.put(namespace, data);
+        // Files are parsed in parallel, each with its own loading context
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        LoadState state = new LoadState();
+
+        // Changed paths look like namespace/category/file, see reload
+        Set<String> changedCategories = changed.stream()
+                .map(path -> path.split("/", 3))
+                .filter(parts -> parts.length == 3)
+                .map(parts -> parts[0] + "/" + parts[1])
+                .collect(Collectors.toUnmodifiableSet());
+        boolean worldGenChanged = changedCategories.stream().anyMatch(category -> category.endsWith("/worldgen"));
+
+        Map<String, Supplier<NamespacedData>> namespace2task = new HashMap<>();
+        for (String namespace : source.folders()) {
+            FileSystem<ByteArray> dataFolder = source.folder(namespace).inMemory();
+            LoadingScope scope = LoadingScope.namespace(state, namespace);
+
+            FileSystem<Advancement> advancements = parseJsonFolder(scope, dataFolder, "advancements", bytesAdaptor(Advancement.class));
+            FileSystem<McFunction> functions = parseJsonFolder(scope, dataFolder, "functions", bytes -> McFunction.fromString(bytes.toCharacterString()));
+            FileSystem<LootFunction> item_modifiers = parseJsonFolder(scope, dataFolder, "item_modifiers", bytesAdaptor(LootFunction.class));
+            FileSystem<LootTable> loot_tables = parseJsonFolder(scope, dataFolder, "loot_tables", bytesAdaptor(LootTable.class));
+            FileSystem<Predicate> predicates = parseJsonFolder(scope, dataFolder, "predicates", bytesAdaptor(Predicate.class));
+            FileSystem<Recipe> recipes = parseJsonFolder(scope, dataFolder, "recipes", bytesAdaptor(Recipe.class));
+            FileSystem<Structure> structures = dataFolder.folder("structures").map(Structure::fromInput);
+            FileSystem<StructureTemplate> structure_templates = structures.map(StructureTemplate::compile);
+            FileSystem<ChatType> chat_type = parseJsonFolder(scope, dataFolder, "chat_type", bytesAdaptor(ChatType.class));
+            FileSystem<DamageType> damage_type = parseJsonFolder(scope, dataFolder, "damage_type", bytesAdaptor(DamageType.class));
+            FileSystem<Tag> tags = parseJsonFolder(scope, dataFolder, "tags", bytesAdaptor(Tag.class));
+            FileSystem<Dimension> dimensions = parseJsonFolder(scope, dataFolder, "dimension", bytesAdaptor(Dimension.class));
+            FileSystem<DimensionType> dimension_type = parseJsonFolder(scope, dataFolder, "dimension_type", bytesAdaptor(DimensionType.class));
+            FileSystem<TrimPattern> trim_pattern = parseJsonFolder(scope, dataFolder, "trim_pattern", bytesAdaptor(TrimPattern.class));
+            FileSystem<TrimMaterial> trim_material = parseJsonFolder(scope, dataFolder, "trim_material", bytesAdaptor(TrimMaterial.class));
+            Datapack.WorldGen world_gen = Datapack.WorldGen.from(scope.resolve("worldgen"), dataFolder.folder("worldgen"));
+
+            NamespacedData data = new NamespacedData(advancements, functions, item_modifiers, loot_tables,
+                    predicates, recipes, structures, structure_templates, chat_type, damage_type, tags, dimensions, dimension_type,
+                    trim_pattern, trim_material, world_gen);
+            NamespacedData previousData = previous == null ? null : previous.namespacedData().get(namespace);
+            if (previousData != null) {
+                data = data.reuse(previousData, category -> category.equals("worldgen") ?
+                        worldGenChanged : changedCategories.contains(namespace + "/" + category));
             }
+            NamespacedData finalData = data;
+            namespace2task.put(namespace, lazy ? finalData::lazy : pool.submit(() -> finalData.cache(pool))::join);
         }
 
-        var copy = namespace2data.entrySet().stream()
-                .map(entry -> Map.entry(entry.getKey(), entry.getValue().cache()))
+        var copy = namespace2task.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().get()))
                 .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, Map.Entry::getValue));
+        DatapackIndex index = DatapackIndex.build(copy);
+        DatapackTags tags = DatapackTags.of(copy);
         Datapack datapack = new Datapack() {
             @Override
             public Map<String, NamespacedData> namespacedData() {
                 return copy;
             }
 
+            @Override
+            public DatapackIndex index() {
+                return index;
+            }
+
+            @Override
+            public DatapackTags resolvedTags() {
+                return tags;
+            }
+
             @Override
             public String toString() {
                 return "Datapack{" +
@@ -262,10 +442,7 @@ public class DatapackLoader {
         };
 
         // new we can finish the datapack
-        while (!finishers.isEmpty()) {
-            finishers.poll().accept(() -> datapack);
-        }
-        contextPool.remove();
+        state.finish(datapack);
         return datapack;
     }
 
@@ -10,29 +10,117 @@ import net.minestom.vanilla.logging.Logger;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.UnknownNullability;
 
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 public class DatapackLoadingFeature implements VanillaReimplementation.Feature {
 
-    private @UnknownNullability Datapack datapack;
+    /**
+     * A directory to load the datapack from instead of the vanilla data, holding one folder per namespace.
+     * Useful together with {@code /reload} to iterate on the datapack without restarting the server.
+     */
+    public static final String PATH_PROPERTY = "vri.datapack.path";
+
+    private static final List<Function<Datapack.NamespacedData, FileSystem<?>>> WARM_UP = List.of(
+            data -> data.world_gen().noise_settings(),
+            data -> data.world_gen().density_function(),
+            data -> data.world_gen().noise(),
+            Datapack.NamespacedData::tags,
+            Datapack.NamespacedData::recipes,
+            Datapack.NamespacedData::loot_tables
+    );
+    private static final List<String> WARM_UP_TAGS = List.of("items", "blocks");
+
+    private final List<Consumer<Datapack>> reloadListeners = new CopyOnWriteArrayList<>();
+    private @UnknownNullability Supplier<FileSystem<ByteArray>> source;
+    private volatile @UnknownNullability Datapack datapack;
+    private @UnknownNullability CompletableFuture<DatapackFingerprints> fingerprints;
+    private @UnknownNullability CompletableFuture<Datapack> reloading;
 
     @Override
     public void hook(@NotNull HookContext context) {
 
         @NotNull MojangDataFeature data = context.vri().feature(MojangDataFeature.class);
+        String path = System.getProperty(PATH_PROPERTY);
+        source = path == null ? data::latestAssets : () -> FileSystem.fromPath(Path.of(path));
 
         Loading.start("Parsing vanilla datapack");
-        FileSystem<ByteArray> fs = data.latestAssets();
-        datapack = Datapack.loadByteArray(fs);
+        FileSystem<ByteArray> fs = source.get().cache();
+        // Only needed once the datapack is reloaded, so they are not worth delaying startup for
+        fingerprints = CompletableFuture.supplyAsync(() -> DatapackFingerprints.of(fs));
+        datapack = Datapack.loadByteArrayLazy(fs);
+        // Parse the categories that are needed right away, the rest is parsed on first use
+        datapack.warmUp(WARM_UP);
         Loading.finish();
     }
 
+    /**
+     * @return the current datapack. This changes when the datapack is reloaded, so it should not be kept around.
+     */
     public @NotNull Datapack current() {
         Objects.requireNonNull(datapack, "DatapackLoadingFeature not loaded yet");
         return datapack;
     }
 
+    /**
+     * Reloads the datapack in the background. Only the categories with changed files are parsed again, and the new
+     * datapack replaces the current one once it is ready, so the old datapack stays usable while reloading.
+     * Reloading while a reload is already in progress returns the ongoing reload.
+     *
+     * @return the reloaded datapack, or the current datapack if nothing changed
+     */
+    public synchronized @NotNull CompletableFuture<Datapack> reload() {
+        if (reloading != null && !reloading.isDone()) return reloading;
+        reloading = CompletableFuture.supplyAsync(this::reloadNow);
+        return reloading;
+    }
+
+    private Datapack reloadNow() {
+        long start = System.nanoTime();
+        FileSystem<ByteArray> fs = source.get().cache();
+        DatapackFingerprints newFingerprints = DatapackFingerprints.of(fs);
+        Set<String> changed = newFingerprints.changedSince(fingerprints.join());
+        if (changed.isEmpty()) {
+            Logger.info("Datapack is unchanged, nothing to reload");
+            return datapack;
+        }
+
+        Datapack reloaded = Datapack.reloadByteArrayLazy(datapack, fs, changed);
+        reloaded.warmUp(WARM_UP);
+        reloaded.resolvedTags().warmUp(WARM_UP_TAGS);
+
+        fingerprints = CompletableFuture.completedFuture(newFingerprints);
+        datapack = reloaded;
+        Logger.info("Reloaded datapack (%d changed files) in %dms", changed.size(), (System.nanoTime() - start) / 1_000_000);
+        for (Consumer<Datapack> listener : reloadListeners) {
+            listener.accept(reloaded);
+        }
+        return reloaded;
+    }
+
+    /**
+     * Registers a listener that is called with the new datapack after each reload. Listeners are called on the thread
+     * that reloaded the datapack, not on the tick thread.
+     *
+     * @param listener the listener
+     */
+    public void onReload(@NotNull Consumer<Datapack> listener) {
+        reloadListeners.add(listener);
+    }
+
+    @Override
+    public boolean hooksConcurrently() {
+        // only parses the datapack, nothing is registered with the server
+        return true;
+    }
+
     @Override
     public @NotNull NamespaceID namespaceId() {
         return NamespaceID.from("vri:datapack");
@@ -42,4 +130,4 @@ public class DatapackLoadingFeature implements VanillaReimplementation.Feature {
     public @NotNull Set<Class<? extends VanillaReimplementation.Feature>> dependencies() {
         return Set.of(MojangDataFeature.class);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,252 @@
+package net.minestom.vanilla.datapack;
+
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.item.Material;
+import net.minestom.server.utils.NamespaceID;
+import net.minestom.vanilla.files.FileSystem;
+import net.minestom.vanilla.logging.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * The tags of a datapack, flattened so that tag references are resolved into the tagged values.
+ * <p>
+ * All tags of a type (e.g. {@code items}) are resolved together on the first lookup of that type, and never change
+ * afterward, as a reloaded datapack comes with its own tags. Item and block tags also keep the registry ids of their
+ * values in a bitset, so that checking whether a material or a block is tagged is a single bit lookup.
+ * </p>
+ */
+public final class DatapackTags {
+
+    private static final Registry<Material> ITEMS = new Registry<>(Material::fromNamespaceId, Material::id);
+    private static final Registry<Block> BLOCKS = new Registry<>(Block::fromNamespaceId, Block::id);
+    private static final Registry<NamespaceID> IDS = new Registry<>(Function.identity(), null);
+
+    private final Map<String, FileSystem<Datapack.Tag>> namespace2tags;
+    private final Map<String, Map<NamespaceID, ResolvedTag<?>>> types = new ConcurrentHashMap<>();
+
+    private DatapackTags(Map<String, FileSystem<Datapack.Tag>> namespace2tags) {
+        this.namespace2tags = namespace2tags;
+    }
+
+    static @NotNull DatapackTags of(@NotNull Map<String, Datapack.NamespacedData> namespacedData) {
+        Map<String, FileSystem<Datapack.Tag>> namespace2tags = new HashMap<>();
+        namespacedData.forEach((namespace, data) -> namespace2tags.put(namespace, data.tags()));
+        return new DatapackTags(Map.copyOf(namespace2tags));
+    }
+
+    /**
+     * @param tag the id of an item tag, e.g. {@code minecraft:logs}
+     * @return the resolved tag, empty if there is no such tag
+     */
+    public @NotNull ResolvedTag<Material> items(@NotNull NamespaceID tag) {
+        return find("items", tag, ITEMS);
+    }
+
+    /**
+     * @param tag the id of a block tag, e.g. {@code minecraft:logs}
+     * @return the resolved tag, empty if there is no such tag
+     */
+    public @NotNull ResolvedTag<Block> blocks(@NotNull NamespaceID tag) {
+        return find("blocks", tag, BLOCKS);
+    }
+
+    /**
+     * @param type the type of the tag, i.e. its folder in {@code tags}, e.g. {@code worldgen/biome}
+     * @param tag  the id of the tag
+     * @return the ids of the tagged values, empty if there is no such tag
+     */
+    public @NotNull Set<NamespaceID> ids(@NotNull String type, @NotNull NamespaceID tag) {
+        return find(type, tag, registry(type)).ids();
+    }
+
+    /**
+     * Resolves all tags of the given types ahead of their first lookup.
+     *
+     * @param tagTypes the types, e.g. {@code items}
+     */
+    public void warmUp(@NotNull Collection<String> tagTypes) {
+        for (String type : tagTypes) {
+            types.computeIfAbsent(type, ignored -> resolve(type, registry(type)));
+        }
+    }
+
+    private static Registry<?> registry(String type) {
+        return switch (type) {
+            case "items" -> ITEMS;
+            case "blocks" -> BLOCKS;
+            default -> IDS;
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> ResolvedTag<T> find(String type, NamespaceID tag, Registry<T> registry) {
+        Map<NamespaceID, ResolvedTag<?>> tags = types.computeIfAbsent(type, ignored -> resolve(type, registry));
+        return (ResolvedTag<T>) tags.getOrDefault(tag, registry.empty);
+    }
+
+    private <T> Map<NamespaceID, ResolvedTag<?>> resolve(String type, Registry<T> registry) {
+        Map<NamespaceID, Datapack.Tag> files = new HashMap<>();
+        namespace2tags.forEach((namespace, tags) -> collect(namespace, "", folder(tags, type), files));
+
+        Map<NamespaceID, Set<NamespaceID>> flattened = new HashMap<>();
+        for (NamespaceID id : files.keySet()) {
+            try {
+                flatten(id, files, flattened, new HashSet<>());
+            } catch (UnsupportedOperationException e) {
+                Logger.warn("Unable to resolve %s tag %s: %s%n", type, id, e.getMessage());
+            }
+        }
+
+        Map<NamespaceID, ResolvedTag<?>> resolved = new HashMap<>();
+        flattened.forEach((id, values) -> resolved.put(id, registry.resolve(values)));
+        return Map.copyOf(resolved);
+    }
+
+    private static FileSystem<Datapack.Tag> folder(FileSystem<Datapack.Tag> tags, String type) {
+        for (String folder : type.split("/")) {
+            tags = tags.folder(folder);
+        }
+        return tags;
+    }
+
+    private static void collect(String namespace, String prefix, FileSystem<Datapack.Tag> folder, Map<NamespaceID, Datapack.Tag> files) {
+        for (String file : folder.files()) {
+            if (!file.endsWith(".json")) continue;
+            String id = prefix + file.substring(0, file.length() - ".json".length());
+            files.put(NamespaceID.from(namespace, id), folder.file(file));
+        }
+        for (String child : folder.folders()) {
+            collect(namespace, prefix + child + "/", folder.folder(child), files);
+        }
+    }
+
+    private static @Nullable Set<NamespaceID> flatten(NamespaceID id, Map<NamespaceID, Datapack.Tag> files,
+                                                      Map<NamespaceID, Set<NamespaceID>> flattened, Set<NamespaceID> resolving) {
+        Set<NamespaceID> done = flattened.get(id);
+        if (done != null) return done;
+
+        Datapack.Tag tag = files.get(id);
+        if (tag == null) return null;
+        if (!resolving.add(id)) {
+            throw new UnsupportedOperationException("Tag " + id + " references itself");
+        }
+
+        Set<NamespaceID> values = new LinkedHashSet<>();
+        try {
+            for (Datapack.Tag.TagValue value : tag.values()) {
+                flattenValue(value, files, flattened, resolving, values::add);
+            }
+        } finally {
+            resolving.remove(id);
+        }
+
+        Set<NamespaceID> result = Collections.unmodifiableSet(values);
+        flattened.put(id, result);
+        return result;
+    }
+
+    private static void flattenValue(Datapack.Tag.TagValue value, Map<NamespaceID, Datapack.Tag> files,
+                                     Map<NamespaceID, Set<NamespaceID>> flattened, Set<NamespaceID> resolving,
+                                     Consumer<NamespaceID> out) {
+        if (value instanceof Datapack.Tag.TagValue.ObjectOrTagReference objectOrTagReference) {
+            NamespaceID id = objectOrTagReference.tag();
+            if (id.domain().startsWith("#")) {
+                // starting with a hashtag means this is a reference to another tag
+                NamespaceID reference = NamespaceID.from(id.domain().substring(1), id.path());
+                Set<NamespaceID> values = flatten(reference, files, flattened, resolving);
+                if (values == null) {
+                    throw new UnsupportedOperationException("Unable to resolve where tag " + id + " is pointing to");
+                }
+                values.forEach(out);
+                return;
+            }
+
+            // found the value
+            out.accept(id);
+            return;
+        }
+        if (value instanceof Datapack.Tag.TagValue.TagEntry tagEntry) {
+            try {
+                flattenValue(tagEntry.id(), files, flattened, resolving, out);
+            } catch (UnsupportedOperationException e) {
+                if (tagEntry.required() == null || tagEntry.required()) {
+                    throw e;
+                }
+            }
+            return;
+        }
+        throw new UnsupportedOperationException("Unknown tag value type " + value.getClass().getName());
+    }
+
+    private static final class Registry<T> {
+        private final Function<NamespaceID, @Nullable T> fromId;
+        private final @Nullable ToIntFunction<T> toId;
+        private final ResolvedTag<T> empty;
+
+        Registry(Function<NamespaceID, @Nullable T> fromId, @Nullable ToIntFunction<T> toId) {
+            this.fromId = fromId;
+            this.toId = toId;
+            this.empty = new ResolvedTag<>(Set.of(), Set.of(), new BitSet(), toId);
+        }
+
+        ResolvedTag<T> resolve(Set<NamespaceID> ids) {
+            Set<T> values = new LinkedHashSet<>();
+            BitSet bits = new BitSet();
+            for (NamespaceID id : ids) {
+                T value = fromId.apply(id);
+                if (value == null) continue;
+                values.add(value);
+                if (toId != null) bits.set(toId.applyAsInt(value));
+            }
+            return new ResolvedTag<>(ids, Collections.unmodifiableSet(values), bits, toId);
+        }
+    }
+
+    /**
+     * A tag, with all of its tag references resolved.
+     *
+     * @param <T> the type of the tagged values
+     */
+    public static final class ResolvedTag<T> {
+        private final Set<NamespaceID> ids;
+        private final Set<T> values;
+        private final BitSet bits;
+        private final @Nullable ToIntFunction<T> toId;
+
+        private ResolvedTag(Set<NamespaceID> ids, Set<T> values, BitSet bits, @Nullable ToIntFunction<T> toId) {
+            this.ids = ids;
+            this.values = values;
+            this.bits = bits;
+            this.toId = toId;
+        }
+
+        /**
+         * @return the ids of all tagged values, including those that are not known to the server
+         */
+        public @NotNull Set<NamespaceID> ids() {
+            return ids;
+        }
+
+        /**
+         * @return all tagged values that are known to the server, in the order they are tagged in
+         */
+        public @NotNull Set<T> values() {
+            return values;
+        }
+
+        public boolean contains(@NotNull T value) {
+            return toId == null ? values.contains(value) : bits.get(toId.applyAsInt(value));
+        }
+
+        public boolean isEmpty() {
+            return ids.isEmpty();
+        }
+    }
+}
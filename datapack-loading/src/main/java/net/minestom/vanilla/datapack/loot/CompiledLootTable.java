@@ -0,0 +1,574 @@
+package net.minestom.vanilla.datapack.loot;
+
+import net.minestom.server.item.ItemStack;
+import net.minestom.server.utils.NamespaceID;
+import net.minestom.vanilla.datapack.Datapack;
+import net.minestom.vanilla.datapack.DatapackIndex;
+import net.minestom.vanilla.datapack.loot.context.LootContext;
+import net.minestom.vanilla.datapack.loot.function.LootFunction;
+import net.minestom.vanilla.datapack.loot.function.Predicate;
+import net.minestom.vanilla.datapack.number.NumberProvider;
+import net.minestom.vanilla.logging.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.random.RandomGenerator;
+
+/**
+ * A loot table compiled for repeated evaluation.
+ * <p>
+ * Constant number providers (rolls and weights) are evaluated once while compiling. Pools whose entries neither have
+ * conditions nor depend on the loot context are flattened into their loot entries, with the cumulative weights
+ * precomputed, so a roll is a binary search. The item functions of an entry, its pool and the table are fused into one
+ * array, which is applied to each item through a single reused function context.
+ * </p>
+ */
+public final class CompiledLootTable {
+
+    private static final Predicate[] NO_CONDITIONS = new Predicate[0];
+    private static final LootFunction[] NO_FUNCTIONS = new LootFunction[0];
+    // Only used to evaluate constant number providers, which ignore their context
+    private static final NumberProvider.Context CONSTANT = () -> {
+        throw new IllegalStateException("Constant number providers must not use randomness");
+    };
+
+    private final Datapack datapack;
+    private final Pool[] pools;
+
+    private CompiledLootTable(Datapack datapack, Pool[] pools) {
+        this.datapack = datapack;
+        this.pools = pools;
+    }
+
+    /**
+     * Compiles the given loot table. To compile many loot tables of the same datapack, use {@link #compiler(Datapack)}
+     * instead, so the loot tables, predicates and item modifiers they reference are only resolved once.
+     *
+     * @param datapack the datapack the loot table belongs to, used to resolve the items and references of its entries
+     * @param table    the loot table
+     * @return the compiled loot table
+     */
+    public static @NotNull CompiledLootTable compile(@NotNull Datapack datapack, @NotNull LootTable table) {
+        return compiler(datapack).compile(table);
+    }
+
+    /**
+     * Creates a compiler for the loot tables of the given datapack.
+     *
+     * @param datapack the datapack
+     * @return the compiler
+     */
+    public static @NotNull Compiler compiler(@NotNull Datapack datapack) {
+        return new Compiler(datapack);
+    }
+
+    /**
+     * Generates the loot of this table.
+     *
+     * @param context the loot context
+     * @param random  the random generator that rolls, functions and predicates roll with
+     * @param out     receives the generated items
+     */
+    public void generate(@NotNull LootContext context, @NotNull RandomGenerator random, @NotNull Consumer<ItemStack> out) {
+        Evaluation evaluation = new Evaluation(datapack, context, random, out);
+        for (Pool pool : pools) {
+            pool.generate(evaluation);
+        }
+    }
+
+    /**
+     * @return whether this table never generates anything
+     */
+    public boolean isEmpty() {
+        return pools.length == 0;
+    }
+
+    /**
+     * Compiles the loot tables of a datapack.
+     * <p>
+     * Loot table entries, predicates and item modifiers that reference other files are replaced with the files they
+     * reference, so evaluating a loot table never looks anything up by name. Every referenced file is resolved once
+     * per compiler. References that are cyclic or point at missing files are logged and left unresolved: unresolved
+     * loot tables generate nothing, unresolved predicates fail and unresolved item modifiers do nothing.
+     * </p>
+     * Compilers are not thread safe.
+     */
+    public static final class Compiler {
+
+        private final Datapack datapack;
+        private final Map<NamespaceID, CompiledLootTable> tables = new HashMap<>();
+        private final Map<NamespaceID, Predicate> predicates = new HashMap<>();
+        private final Map<NamespaceID, LootFunction[]> itemModifiers = new HashMap<>();
+        // The references currently being resolved, to detect cycles
+        private final Set<NamespaceID> resolvingTables = new HashSet<>();
+        private final Set<NamespaceID> resolvingPredicates = new HashSet<>();
+        private final Set<NamespaceID> resolvingItemModifiers = new HashSet<>();
+
+        private Compiler(Datapack datapack) {
+            this.datapack = datapack;
+        }
+
+        /**
+         * Compiles the loot table with the given id.
+         *
+         * @param id the loot table id
+         * @return the compiled loot table, or null if it does not exist or references itself
+         */
+        public @Nullable CompiledLootTable compile(@NotNull NamespaceID id) {
+            CompiledLootTable compiled = tables.get(id);
+            if (compiled != null) return compiled;
+            if (!resolvingTables.add(id)) {
+                Logger.warn("Loot table %s references itself%n", id);
+                return null;
+            }
+            try {
+                LootTable table = datapack.index().find(DatapackIndex.Category.LOOT_TABLE, id);
+                if (table == null) return null;
+                compiled = compile(table);
+                tables.put(id, compiled);
+                return compiled;
+            } finally {
+                resolvingTables.remove(id);
+            }
+        }
+
+        /**
+         * Compiles the given loot table.
+         *
+         * @param table the loot table
+         * @return the compiled loot table
+         */
+        public @NotNull CompiledLootTable compile(@NotNull LootTable table) {
+            LootFunction[] tableFunctions = functions(table.functions());
+            Pool[] pools = new Pool[table.pools().size()];
+            for (int i = 0; i < pools.length; i++) {
+                pools[i] = compilePool(table.pools().get(i), tableFunctions);
+            }
+            return new CompiledLootTable(datapack, pools);
+        }
+
+        private Pool compilePool(LootTable.Pool pool, LootFunction[] tableFunctions) {
+            Predicate[] conditions = conditions(pool.conditions());
+            LootFunction[] poolFunctions = concat(functions(pool.functions()), tableFunctions);
+            NumberProvider.Int rolls = pool.rolls().asInt();
+            int constantRolls = pool.rolls().isConstant() ? rolls.apply(CONSTANT) : -1;
+
+            Entry[] entries = compileEntries(pool.entries(), poolFunctions);
+
+            // Pools without any context dependent entries always roll from the same loot entries
+            List<LootEntry> lootEntries = new ArrayList<>();
+            boolean isStatic = true;
+            for (Entry entry : entries) {
+                isStatic &= entry.collectStatic(lootEntries);
+            }
+            if (isStatic) {
+                return new StaticPool(conditions, rolls, constantRolls, WeightedEntries.of(lootEntries));
+            }
+            return new DynamicPool(conditions, rolls, constantRolls, entries);
+        }
+
+        private Entry compileEntry(LootTable.Pool.Entry entry, LootFunction[] poolFunctions) {
+            Predicate[] conditions = conditions(entry.conditions());
+            if (entry instanceof LootTable.Pool.Entry.ItemGenerator generator) {
+                LootFunction[] functions = concat(functions(generator.functions()), poolFunctions);
+                NumberProvider weight = generator.weight();
+                List<List<ItemStack>> constantItems = constantItems(generator);
+                return new Generator(conditions, generator, functions, weight, constantWeight(weight), constantItems);
+            }
+            if (entry instanceof LootTable.Pool.Entry.LootTableNested nested) {
+                CompiledLootTable table = compile(nested.name());
+                if (table == null) {
+                    Logger.warn("Could not resolve loot table %s%n", nested.name());
+                    return new Composite(conditions, CompositeType.GROUP, new Entry[0]);
+                }
+                LootFunction[] functions = concat(functions(nested.functions()), poolFunctions);
+                return new NestedTable(conditions, table, functions, nested.weight(), constantWeight(nested.weight()));
+            }
+            if (entry instanceof LootTable.Pool.Entry.Group group) {
+                return new Composite(conditions, CompositeType.GROUP, compileEntries(group.children(), poolFunctions));
+            }
+            if (entry instanceof LootTable.Pool.Entry.Alternatives alternatives) {
+                return new Composite(conditions, CompositeType.ALTERNATIVES, compileEntries(alternatives.children(), poolFunctions));
+            }
+            LootTable.Pool.Entry.Sequence sequence = (LootTable.Pool.Entry.Sequence) entry;
+            return new Composite(conditions, CompositeType.SEQUENCE, compileEntries(sequence.children(), poolFunctions));
+        }
+
+        private @Nullable List<List<ItemStack>> constantItems(LootTable.Pool.Entry.ItemGenerator generator) {
+            // Items and tags generate the same items every time, so they are generated once
+            boolean isConstant = generator instanceof LootTable.Pool.Entry.Item ||
+                    generator instanceof LootTable.Pool.Entry.Tag ||
+                    generator instanceof LootTable.Pool.Entry.Empty;
+            if (!isConstant) return null;
+            try {
+                return generator.apply(datapack, new LootContext.Empty());
+            } catch (RuntimeException e) {
+                // e.g. an unknown item, which fails once the entry is rolled instead
+                return null;
+            }
+        }
+
+        private Entry[] compileEntries(List<LootTable.Pool.Entry> entries, LootFunction[] poolFunctions) {
+            Entry[] compiled = new Entry[entries.size()];
+            for (int i = 0; i < compiled.length; i++) {
+                compiled[i] = compileEntry(entries.get(i), poolFunctions);
+            }
+            return compiled;
+        }
+
+        private Predicate[] conditions(@Nullable List<Predicate> conditions) {
+            if (conditions == null || conditions.isEmpty()) return NO_CONDITIONS;
+            Predicate[] resolved = new Predicate[conditions.size()];
+            for (int i = 0; i < resolved.length; i++) {
+                resolved[i] = resolve(conditions.get(i));
+            }
+            return resolved;
+        }
+
+        private List<Predicate> resolve(List<Predicate> predicates) {
+            return List.of(conditions(predicates));
+        }
+
+        private Predicate resolve(Predicate predicate) {
+            if (predicate instanceof Predicate.Reference reference) {
+                Predicate resolved = predicate(NamespaceID.from(reference.name()));
+                return resolved == null ? reference : resolved;
+            }
+            if (predicate instanceof Predicate.Inverted inverted) {
+                return new Predicate.Inverted(resolve(inverted.term()));
+            }
+            if (predicate instanceof Predicate.Alternative alternative) {
+                return new Predicate.Alternative(resolve(alternative.terms()));
+            }
+            if (predicate instanceof Predicate.AllOf allOf) {
+                return new Predicate.AllOf(resolve(allOf.terms()));
+            }
+            if (predicate instanceof Predicate.AnyOf anyOf) {
+                return new Predicate.AnyOf(resolve(anyOf.terms()));
+            }
+            return predicate;
+        }
+
+        private @Nullable Predicate predicate(NamespaceID id) {
+            Predicate resolved = predicates.get(id);
+            if (resolved != null) return resolved;
+            if (!resolvingPredicates.add(id)) {
+                Logger.warn("Predicate %s references itself%n", id);
+                return null;
+            }
+            try {
+                Predicate predicate = datapack.index().find(DatapackIndex.Category.PREDICATE, id);
+                if (predicate == null) {
+                    Logger.warn("Unknown predicate %s%n", id);
+                    return null;
+                }
+                resolved = resolve(predicate);
+                predicates.put(id, resolved);
+                return resolved;
+            } finally {
+                resolvingPredicates.remove(id);
+            }
+        }
+
+        private LootFunction[] functions(@Nullable List<LootFunction> functions) {
+            if (functions == null || functions.isEmpty()) return NO_FUNCTIONS;
+            List<LootFunction> resolved = new ArrayList<>(functions.size());
+            for (LootFunction function : functions) {
+                if (function instanceof LootFunction.Reference reference) {
+                    resolved.addAll(Arrays.asList(itemModifier(reference.name())));
+                } else {
+                    resolved.add(function);
+                }
+            }
+            return resolved.toArray(LootFunction[]::new);
+        }
+
+        private LootFunction[] itemModifier(NamespaceID id) {
+            LootFunction[] resolved = itemModifiers.get(id);
+            if (resolved != null) return resolved;
+            if (!resolvingItemModifiers.add(id)) {
+                Logger.warn("Item modifier %s references itself%n", id);
+                return NO_FUNCTIONS;
+            }
+            try {
+                LootFunction itemModifier = datapack.index().find(DatapackIndex.Category.ITEM_MODIFIER, id);
+                if (itemModifier == null) {
+                    Logger.warn("Unknown item modifier %s%n", id);
+                    return NO_FUNCTIONS;
+                }
+                resolved = functions(List.of(itemModifier));
+                itemModifiers.put(id, resolved);
+                return resolved;
+            } finally {
+                resolvingItemModifiers.remove(id);
+            }
+        }
+    }
+
+    private static double constantWeight(@Nullable NumberProvider weight) {
+        if (weight == null) return 1;
+        return weight.isConstant() ? weight.asDouble().apply(CONSTANT) : -1;
+    }
+
+    private static double weight(Evaluation evaluation, @Nullable NumberProvider weight, double constantWeight) {
+        return constantWeight >= 0 || weight == null ? constantWeight : weight.asDouble().apply(evaluation);
+    }
+
+    private static LootFunction[] concat(LootFunction[] first, LootFunction[] second) {
+        if (first.length == 0) return second;
+        if (second.length == 0) return first;
+        LootFunction[] functions = new LootFunction[first.length + second.length];
+        System.arraycopy(first, 0, functions, 0, first.length);
+        System.arraycopy(second, 0, functions, first.length, second.length);
+        return functions;
+    }
+
+    private static boolean passes(Predicate[] conditions, LootContext context) {
+        for (Predicate condition : conditions) {
+            if (!condition.test(context)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * The state of a single evaluation, shared by all of its pools.
+     */
+    private static final class Evaluation implements LootFunction.Context, NumberProvider.Context {
+        private final Datapack datapack;
+        private final LootContext context;
+        private final RandomGenerator random;
+        private final Consumer<ItemStack> out;
+        private ItemStack itemStack = ItemStack.AIR;
+
+        Evaluation(Datapack datapack, LootContext context, RandomGenerator random, Consumer<ItemStack> out) {
+            this.datapack = datapack;
+            this.context = context;
+            this.random = random;
+            this.out = out;
+        }
+
+        void emit(LootEntry entry) {
+            LootFunction[] functions = entry.functions();
+            if (entry.table() != null) {
+                entry.table().generate(context, random, item -> emit(item, functions));
+                return;
+            }
+            for (ItemStack item : entry.items()) {
+                emit(item, functions);
+            }
+        }
+
+        private void emit(ItemStack item, LootFunction[] functions) {
+            itemStack = item;
+            for (LootFunction function : functions) {
+                itemStack = function.apply(this);
+            }
+            out.accept(itemStack);
+        }
+
+        @Override
+        public RandomGenerator random() {
+            return random;
+        }
+
+        @Override
+        public ItemStack itemStack() {
+            return itemStack;
+        }
+
+        @Override
+        public <T> @Nullable T get(Trait<T> trait) {
+            return context.get(trait);
+        }
+    }
+
+    /**
+     * A single loot entry, which either generates the given items or the loot of a nested table.
+     */
+    private record LootEntry(List<ItemStack> items, @Nullable CompiledLootTable table, LootFunction[] functions,
+                             double weight) {
+    }
+
+    private record WeightedEntries(LootEntry[] entries, double[] cumulativeWeights, double totalWeight) {
+
+        static WeightedEntries of(List<LootEntry> entries) {
+            double[] cumulativeWeights = new double[entries.size()];
+            double total = 0;
+            for (int i = 0; i < cumulativeWeights.length; i++) {
+                total += entries.get(i).weight();
+                cumulativeWeights[i] = total;
+            }
+            return new WeightedEntries(entries.toArray(LootEntry[]::new), cumulativeWeights, total);
+        }
+
+        boolean isEmpty() {
+            // entries that can never be rolled don't generate anything
+            return totalWeight <= 0;
+        }
+
+        LootEntry roll(RandomGenerator random) {
+            // the first entry whose cumulative weight exceeds the roll, which skips entries without weight
+            double roll = random.nextDouble() * totalWeight;
+            int low = 0;
+            int high = cumulativeWeights.length - 1;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (cumulativeWeights[middle] <= roll) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return entries[low];
+        }
+    }
+
+    private abstract static class Pool {
+        private final Predicate[] conditions;
+        private final NumberProvider.Int rolls;
+        private final int constantRolls;
+
+        Pool(Predicate[] conditions, NumberProvider.Int rolls, int constantRolls) {
+            this.conditions = conditions;
+            this.rolls = rolls;
+            this.constantRolls = constantRolls;
+        }
+
+        void generate(Evaluation evaluation) {
+            if (!passes(conditions, evaluation)) return;
+            int rolls = constantRolls >= 0 ? constantRolls : this.rolls.apply(evaluation);
+
+            WeightedEntries entries = entries(evaluation);
+            if (entries.isEmpty()) return;
+            for (int i = 0; i < rolls; i++) {
+                evaluation.emit(entries.roll(evaluation.random));
+            }
+        }
+
+        abstract WeightedEntries entries(Evaluation evaluation);
+    }
+
+    private static final class StaticPool extends Pool {
+        private final WeightedEntries entries;
+
+        StaticPool(Predicate[] conditions, NumberProvider.Int rolls, int constantRolls, WeightedEntries entries) {
+            super(conditions, rolls, constantRolls);
+            this.entries = entries;
+        }
+
+        @Override
+        WeightedEntries entries(Evaluation evaluation) {
+            return entries;
+        }
+    }
+
+    private static final class DynamicPool extends Pool {
+        private final Entry[] entries;
+
+        DynamicPool(Predicate[] conditions, NumberProvider.Int rolls, int constantRolls, Entry[] entries) {
+            super(conditions, rolls, constantRolls);
+            this.entries = entries;
+        }
+
+        @Override
+        WeightedEntries entries(Evaluation evaluation) {
+            List<LootEntry> lootEntries = new ArrayList<>();
+            for (Entry entry : entries) {
+                entry.expand(evaluation, lootEntries);
+            }
+            return WeightedEntries.of(lootEntries);
+        }
+    }
+
+    private sealed interface Entry {
+        Predicate[] conditions();
+
+        /**
+         * Adds the loot entries of this entry, if its conditions are met.
+         *
+         * @return whether the conditions were met
+         */
+        boolean expand(Evaluation evaluation, List<LootEntry> out);
+
+        /**
+         * Adds the loot entries of this entry, if they don't depend on the loot context.
+         *
+         * @return whether they don't depend on the loot context
+         */
+        boolean collectStatic(List<LootEntry> out);
+    }
+
+    private record Generator(Predicate[] conditions, LootTable.Pool.Entry.ItemGenerator generator,
+                             LootFunction[] functions, @Nullable NumberProvider weight, double constantWeight,
+                             @Nullable List<List<ItemStack>> constantItems) implements Entry {
+
+        @Override
+        public boolean expand(Evaluation evaluation, List<LootEntry> out) {
+            if (!passes(conditions, evaluation)) return false;
+            double weight = weight(evaluation, this.weight, constantWeight);
+            List<List<ItemStack>> items = constantItems != null ? constantItems : generator.apply(evaluation.datapack, evaluation.context);
+            for (List<ItemStack> lootEntryItems : items) {
+                out.add(new LootEntry(lootEntryItems, null, functions, weight));
+            }
+            return true;
+        }
+
+        @Override
+        public boolean collectStatic(List<LootEntry> out) {
+            if (conditions.length > 0 || constantWeight < 0 || constantItems == null) return false;
+            for (List<ItemStack> lootEntryItems : constantItems) {
+                out.add(new LootEntry(lootEntryItems, null, functions, constantWeight));
+            }
+            return true;
+        }
+    }
+
+    private record NestedTable(Predicate[] conditions, CompiledLootTable table, LootFunction[] functions,
+                               @Nullable NumberProvider weight, double constantWeight) implements Entry {
+
+        @Override
+        public boolean expand(Evaluation evaluation, List<LootEntry> out) {
+            if (!passes(conditions, evaluation)) return false;
+            out.add(new LootEntry(List.of(), table, functions, weight(evaluation, weight, constantWeight)));
+            return true;
+        }
+
+        @Override
+        public boolean collectStatic(List<LootEntry> out) {
+            // the nested table is only generated once the entry is rolled, so it doesn't need the loot context
+            if (conditions.length > 0 || constantWeight < 0) return false;
+            out.add(new LootEntry(List.of(), table, functions, constantWeight));
+            return true;
+        }
+    }
+
+    private enum CompositeType {
+        GROUP, ALTERNATIVES, SEQUENCE
+    }
+
+    private record Composite(Predicate[] conditions, CompositeType type, Entry[] children) implements Entry {
+
+        @Override
+        public boolean expand(Evaluation evaluation, List<LootEntry> out) {
+            if (!passes(conditions, evaluation)) return false;
+            for (Entry child : children) {
+                boolean passed = child.expand(evaluation, out);
+                if (type == CompositeType.ALTERNATIVES && passed) break;
+                if (type == CompositeType.SEQUENCE && !passed) break;
+            }
+            return true;
+        }
+
+        @Override
+        public boolean collectStatic(List<LootEntry> out) {
+            if (conditions.length > 0 || type != CompositeType.GROUP) return false;
+            boolean isStatic = true;
+            for (Entry child : children) {
+                isStatic &= child.collectStatic(out);
+            }
+            return isStatic;
+        }
+    }
+}
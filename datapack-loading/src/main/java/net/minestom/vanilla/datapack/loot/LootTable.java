@@ -6,7 +6,6 @@ import net.minestom.server.item.ItemStack;
 import net.minestom.server.item.Material;
 import net.minestom.server.utils.NamespaceID;
 import net.minestom.vanilla.datapack.Datapack;
-import net.minestom.vanilla.datapack.DatapackUtils;
 import net.minestom.vanilla.datapack.json.JsonUtils;
 import net.minestom.vanilla.datapack.loot.context.LootContext;
 import net.minestom.vanilla.datapack.loot.function.LootFunction;
@@ -109,11 +108,7 @@ public record LootTable(@Nullable String type, @Nullable List<LootFunction> func
                 public List<List<ItemStack>> apply(Datapack datapack, LootContext context) {
                     List<List<ItemStack>> result = new ArrayList<>();
 
-                    var itemTags = DatapackUtils.findTags(datapack, "items", name);
-
-                    var items = itemTags.stream()
-                            .map(Material::fromNamespaceId)
-                            .filter(Objects::nonNull)
+                    var items = datapack.resolvedTags().items(name).values().stream()
                             .map(material -> ItemStack.of(material, 1))
                             .toList();
 
@@ -6,13 +6,25 @@ import org.jetbrains.annotations.Nullable;
 import org.jglrxavpok.hephaistos.nbt.NBT;
 
 import java.io.IOException;
-import java.io.StringReader;
 import java.util.Map;
+import java.util.function.Consumer;
 
 public interface NBTPath {
 
     static NBTPath fromJson(JsonReader reader) throws IOException {
-        return NBTPathImpl.readPath(new StringReader(reader.nextString()));
+        return NBTPathImpl.parse(reader.nextString());
+    }
+
+    /**
+     * Parses the given NBT path. Recently parsed paths are interned, so parsing the same path again usually returns the
+     * same instance.
+     *
+     * @param path the path, e.g. {@code display.Name} or {@code Items[{Slot:0b}].tag}
+     * @return the parsed path
+     * @throws IllegalArgumentException if the path is invalid
+     */
+    static @NotNull NBTPath parse(@NotNull String path) {
+        return NBTPathImpl.parse(path);
     }
 
     /**
@@ -23,6 +35,14 @@ public interface NBTPath {
      */
     @NotNull Map<NBTPath.Single, NBT> get(NBT nbt);
 
+    /**
+     * Indexes the given NBT using this path and provides each result, without collecting the paths to them.
+     *
+     * @param nbt      the NBT to index
+     * @param selected the consumer for each result
+     */
+    void forEach(@NotNull NBT nbt, @NotNull Consumer<NBT> selected);
+
     /**
      * A single path returns either a single NBT value or nothing.
      * This makes it possible to set a single value in a NBT structure as well.
@@ -30,7 +50,7 @@ public interface NBTPath {
     interface Single extends NBTPath {
 
         static Single fromJson(JsonReader reader) throws IOException {
-            return NBTPathImpl.readSingle(new StringReader(reader.nextString()));
+            return NBTPathImpl.parseSingle(reader.nextString());
         }
 
         /**
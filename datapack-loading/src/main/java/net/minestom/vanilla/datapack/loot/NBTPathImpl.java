@@ -13,19 +13,43 @@ import org.jglrxavpok.hephaistos.nbt.mutable.MutableNBTCompound;
 
 import java.io.IOException;
 import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.util.*;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 interface NBTPathImpl extends NBTPath {
 
-    static NBTPathImpl readPath(StringReader reader) throws IOException {
-        return Reader.readPath(reader);
+    static NBTPathImpl parse(String path) {
+        return Interned.PATHS.computeIfAbsent(path, key -> {
+            try {
+                return Reader.readPath(new StringReader(key));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
     }
 
-    static Single readSingle(StringReader stringReader) throws IOException {
-        if (!(Reader.readPath(stringReader) instanceof Single single)) {
+    /**
+     * The most recently parsed paths by their string form, so every loot function and command using the same path
+     * shares it. Bounded, since commands can parse arbitrary paths.
+     */
+    final class Interned {
+        private static final int MAX_SIZE = 1024;
+        private static final Map<String, NBTPathImpl> PATHS = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, NBTPathImpl> eldest) {
+                return size() > MAX_SIZE;
+            }
+        });
+
+        private Interned() {
+        }
+    }
+
+    static Single parseSingle(String path) {
+        if (!(parse(path) instanceof Single single)) {
             throw new IllegalArgumentException("Expected a single nbt path, got a multi nbt path");
         }
         return single;
@@ -107,6 +131,23 @@ record NBTPathMultiImpl(@NotNull List<NBTPathImpl.Selector<?>> selectors) implem
                 }).collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, Map.Entry::getValue));
     }
 
+    @Override
+    public void forEach(@NotNull NBT source, @NotNull Consumer<NBT> selected) {
+        // depth first, so no paths or intermediate results are collected
+        select(0, source, selected);
+    }
+
+    private void select(int i, NBT nbt, Consumer<NBT> selected) {
+        if (i == selectors.size()) {
+            selected.accept(nbt);
+            return;
+        }
+        var selector = selectors.get(i);
+        if (!selector.fitsGeneric(nbt.getID())) return;
+        //noinspection unchecked
+        ((NBTPathImpl.Selector<NBT>) selector).get(nbt, (ignored, next) -> select(i + 1, next, selected));
+    }
+
     @Override
     public String toString() {
         return selectors().stream()
@@ -115,21 +156,42 @@ record NBTPathMultiImpl(@NotNull List<NBTPathImpl.Selector<?>> selectors) implem
     }
 }
 
-record NBTPathSingleImpl(List<NBTPathImpl.SingleSelector<?>> selectors) implements NBTPathImpl, NBTPath.Single {
+/**
+ * A path of single selectors, which are compiled into an array so getting the result is a single pass over it.
+ */
+final class NBTPathSingleImpl implements NBTPathImpl, NBTPath.Single {
+
+    private final List<NBTPathImpl.SingleSelector<?>> selectors;
+    private final NBTPathImpl.SingleSelector<NBT>[] chain;
+
+    @SuppressWarnings("unchecked")
+    NBTPathSingleImpl(List<NBTPathImpl.SingleSelector<?>> selectors) {
+        this.selectors = selectors;
+        this.chain = selectors.toArray(NBTPathImpl.SingleSelector[]::new);
+    }
+
+    public List<NBTPathImpl.SingleSelector<?>> selectors() {
+        return selectors;
+    }
 
     @Override
     public @Nullable NBT getSingle(NBT nbt) {
-        for (var selector : selectors()) {
+        for (var selector : chain) {
             if (nbt == null || !selector.fitsGeneric(nbt.getID())) {
                 // path has failed
                 return null;
             }
-            //noinspection unchecked
-            nbt = ((NBTPathImpl.SingleSelector<NBT>) selector).get(nbt);
+            nbt = selector.get(nbt);
         }
         return nbt;
     }
 
+    @Override
+    public void forEach(@NotNull NBT source, @NotNull Consumer<NBT> selected) {
+        NBT nbt = getSingle(source);
+        if (nbt != null) selected.accept(nbt);
+    }
+
     @Override
     public @Nullable NBT set(NBT nbt, NBT value) {
         return retrieveModified(0, nbt, value);
@@ -143,10 +205,10 @@ record NBTPathSingleImpl(List<NBTPathImpl.SingleSelector<?>> selectors) implemen
      * @return the modified version of the container
      */
     private @Nullable NBT retrieveModified(int i, NBT container, NBT value) {
-        if (i == selectors.size()) return value;
+        if (i == chain.length) return value;
         if (container == null) return null;
 
-        SingleSelector<?> selector = selectors.get(i);
+        SingleSelector<?> selector = chain[i];
         if (!selector.fitsGeneric(container.getID())) return null;
 
         //noinspection unchecked
@@ -200,6 +262,23 @@ record NBTPathSingleImpl(List<NBTPathImpl.SingleSelector<?>> selectors) implemen
         // the current nbt container is a value, which means we replace it directly with the value param
         return value;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof NBTPathSingleImpl other && selectors.equals(other.selectors);
+    }
+
+    @Override
+    public int hashCode() {
+        return selectors.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return selectors.stream()
+                .map(Object::toString)
+                .collect(Collectors.joining());
+    }
 }
 
 
@@ -314,14 +393,12 @@ record ListFilter(@NotNull NBTCompound filter) implements NBTPathImpl.Selector<N
 
     @Override
     public void get(@NotNull NBTList<?> source, NBTPathImpl.@NotNull NbtPathCollector<NBTList<?>> selectedElements) {
-        IntStream.range(0, source.getSize())
-                .mapToObj(i -> Map.entry(i, source.get(i)))
-                .filter(entry -> NBTUtils.compareNBT(filter, entry.getValue(), false))
-                .forEach(entry -> {
-                    int i = entry.getKey();
-                    NBT nbt = entry.getValue();
-                    selectedElements.accept(new ListIndex(i), nbt);
-                });
+        for (int i = 0; i < source.getSize(); i++) {
+            NBT nbt = source.get(i);
+            if (NBTUtils.compareNBT(filter, nbt, false)) {
+                selectedElements.accept(new ListIndex(i), nbt);
+            }
+        }
     }
 
     @Override
@@ -342,13 +419,9 @@ record EntireList() implements NBTPathImpl.Selector<NBTList<?>> {
 
     @Override
     public void get(@NotNull NBTList<?> source, NBTPathImpl.@NotNull NbtPathCollector<NBTList<?>> selectedElements) {
-        IntStream.range(0, source.getSize())
-                .mapToObj(i -> Map.entry(i, source.get(i)))
-                .forEach(entry -> {
-                    int i = entry.getKey();
-                    NBT nbt = entry.getValue();
-                    selectedElements.accept(new ListIndex(i), nbt);
-                });
+        for (int i = 0; i < source.getSize(); i++) {
+            selectedElements.accept(new ListIndex(i), source.get(i));
+        }
     }
 
     @Override
@@ -390,7 +463,7 @@ interface Reader {
                     throw new IllegalArgumentException(message);
                 }
                 // if all selectors are single, return a NBTPath.Single
-                boolean allSingle = selectors.stream().allMatch(selector -> selector instanceof NBTPathImpl.Single);
+                boolean allSingle = selectors.stream().allMatch(selector -> selector instanceof NBTPathImpl.SingleSelector);
                 List<NBTPathImpl.Selector<?>> selectorsView = Collections.unmodifiableList(selectors);
                 //noinspection unchecked
                 return allSingle ? new NBTPathSingleImpl((List<NBTPathImpl.SingleSelector<?>>) (List<?>) selectorsView) : new NBTPathMultiImpl(selectorsView);
@@ -7,7 +7,9 @@ import net.minestom.server.item.ItemStack;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Function;
+import java.util.random.RandomGenerator;
 
 // Information Source: https://minecraft.fandom.com/wiki/Loot_table#Loot_context_types
 public interface LootContext extends Traits {
@@ -16,6 +18,12 @@ public interface LootContext extends Traits {
     interface Trait<T> {
         String id();
 
+        /**
+         * @return the index of this trait in the trait extractors of a loot context. Traits mapped from another trait
+         * share its ordinal.
+         */
+        int ordinal();
+
         Function<Object, @Nullable T> finder();
 
         default <N> Trait<N> map(Function<T, @Nullable N> mapper) {
@@ -37,6 +45,16 @@ public interface LootContext extends Traits {
         return value;
     }
 
+    /**
+     * The random generator that random predicates roll with. Loot tables replace it with the random generator they
+     * are generated with.
+     *
+     * @return the random generator
+     */
+    default RandomGenerator random() {
+        return ThreadLocalRandom.current();
+    }
+
 
     //     Not used. Supplies no loot context parameters.
     //    Specifying "type":"empty" means no context parameters can be used in this loot table.
@@ -4,17 +4,24 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.function.Function;
 
-public record MappedTraitImpl<T, N>(LootContext.Trait<T> trait, Function<T, N> mapper) implements LootContext.Trait<N> {
+public record MappedTraitImpl<T, N>(LootContext.Trait<T> trait, Function<T, N> mapper,
+                                    Function<Object, @Nullable N> finder) implements LootContext.Trait<N> {
+
+    public MappedTraitImpl(LootContext.Trait<T> trait, Function<T, N> mapper) {
+        // composed once, instead of on every lookup
+        this(trait, mapper, baseValue -> {
+            T value = trait.finder().apply(baseValue);
+            return value == null ? null : mapper.apply(value);
+        });
+    }
+
     @Override
     public String id() {
         return trait.id();
     }
 
     @Override
-    public Function<Object, @Nullable N> finder() {
-        return baseValue -> {
-            T value = trait.finder().apply(baseValue);
-            return value == null ? null : mapper.apply(value);
-        };
+    public int ordinal() {
+        return trait.ordinal();
     }
 }
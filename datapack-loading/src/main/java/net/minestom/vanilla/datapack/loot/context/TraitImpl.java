@@ -2,16 +2,22 @@ package net.minestom.vanilla.datapack.loot.context;
 
 import org.jetbrains.annotations.Nullable;
 
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
-public record TraitImpl<T>(String id, Class<T> type) implements LootContext.Trait<T> {
-    @Override
-    public Function<Object, @Nullable T> finder() {
-        return o -> {
-            if (type.isInstance(o)) {
-                return type.cast(o);
-            }
-            return null;
-        };
+public record TraitImpl<T>(String id, int ordinal, Class<T> type, Function<Object, @Nullable T> finder) implements LootContext.Trait<T> {
+
+    // Hands out the ordinals of new traits
+    private static final AtomicInteger ORDINALS = new AtomicInteger();
+
+    public TraitImpl(String id, Class<T> type) {
+        this(id, ORDINALS.getAndIncrement(), type, o -> type.isInstance(o) ? type.cast(o) : null);
+    }
+
+    /**
+     * @return the number of traits created so far, i.e. one more than the highest ordinal
+     */
+    static int count() {
+        return ORDINALS.get();
     }
 }
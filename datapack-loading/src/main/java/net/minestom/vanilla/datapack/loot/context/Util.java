@@ -2,8 +2,7 @@ package net.minestom.vanilla.datapack.loot.context;
 
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 import java.util.function.Function;
 
 class Util {
@@ -16,7 +15,7 @@ class Util {
     }
 
     public interface LootContextTraitMap<C extends LootContext> {
-        <T> T obtain(C context, LootContext.Trait<T> trait);
+        <T> @Nullable T obtain(C context, LootContext.Trait<T> trait);
 
         static <C extends LootContext> Builder<C> builder() {
             return new BuilderImpl<>();
@@ -30,22 +29,29 @@ class Util {
     }
 
     static class BuilderImpl<C extends LootContext> implements LootContextTraitMap.Builder<C> {
-        private final Map<String, Function<C, ?>> map = new HashMap<>();
+        @SuppressWarnings("unchecked")
+        private Function<C, ?>[] extractors = new Function[TraitImpl.count()];
 
         @Override
         public <T> LootContextTraitMap.Builder<C> put(LootContext.Trait<T> trait, Function<C, T> value) {
-            map.put(trait.id(), value);
+            // traits created after this builder have ordinals beyond its extractors
+            if (trait.ordinal() >= extractors.length) {
+                extractors = Arrays.copyOf(extractors, TraitImpl.count());
+            }
+            extractors[trait.ordinal()] = value;
             return this;
         }
 
         @Override
         public LootContextTraitMap<C> build() {
-            Map<String, Function<C, ?>> copy = Map.copyOf(this.map);
+            Function<C, ?>[] extractors = this.extractors.clone();
             return new LootContextTraitMap<>() {
                 @Override
-                public <T> T obtain(C context, LootContext.Trait<T> trait) {
-                    Object baseValue = copy.get(trait.id()).apply(context);
-                    return trait.finder().apply(baseValue);
+                public <T> @Nullable T obtain(C context, LootContext.Trait<T> trait) {
+                    if (trait.ordinal() >= extractors.length) return null;
+                    Function<C, ?> extractor = extractors[trait.ordinal()];
+                    if (extractor == null) return null;
+                    return trait.finder().apply(extractor.apply(context));
                 }
             };
         }
@@ -247,6 +247,12 @@ interface InBuiltLootFunctions {
                 public NBT apply(NBT source, NBT target) {
                     return source;
                 }
+
+                @Override
+                public NBT applyOperation(NBT source, NBT itemStackNbt) {
+                    // replacing doesn't need the previous value, so the target path is only walked once to set it
+                    return target().set(itemStackNbt, source().getSingle(source));
+                }
             }
 
             record Merge(NBTPath.Single source, NBTPath.Single target) implements Operation {
@@ -803,6 +809,21 @@ interface InBuiltLootFunctions {
         }
     }
 
+    // Invokes an item modifier file. Loot tables replace it with the referenced item modifier when they are compiled.
+    record Reference(NamespaceID name) implements LootFunction {
+
+        @Override
+        public NamespaceID function() {
+            return NamespaceID.from("minecraft:reference");
+        }
+
+        @Override
+        public ItemStack apply(Context context) {
+            // Unresolved, i.e. the item modifier does not exist or references itself
+            return context.itemStack();
+        }
+    }
+
     // Sets the loot table for a container block when placed and opened.
     record SetLootTable(NamespaceID name, @Nullable Integer seed, String type) implements LootFunction {
 
@@ -17,7 +17,6 @@ import org.jetbrains.annotations.Nullable;
 import java.io.IOException;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.ThreadLocalRandom;
 
 interface InBuiltPredicates {
 
@@ -275,7 +274,7 @@ interface InBuiltPredicates {
 
         @Override
         public boolean test(LootContext context) {
-            return ThreadLocalRandom.current().nextFloat() < chance;
+            return context.random().nextFloat() < chance;
         }
     }
 
@@ -292,7 +291,7 @@ interface InBuiltPredicates {
 
         @Override
         public boolean test(LootContext context) {
-            double random = ThreadLocalRandom.current().nextDouble();
+            double random = context.random().nextDouble();
 
             int looting = 0;
 
@@ -318,7 +317,8 @@ interface InBuiltPredicates {
 
         @Override
         public boolean test(LootContext context) {
-            // TODO: Implement conditions
+            // Unresolved, i.e. the predicate does not exist or references itself.
+            // Loot tables replace references with the referenced predicate when they are compiled.
             return false;
         }
     }
@@ -336,7 +336,7 @@ interface InBuiltPredicates {
         public boolean test(LootContext context) {
             Double explosionRadius = context.get(LootContext.EXPLOSION_RADIUS);
             if (explosionRadius == null) return true;
-            return ThreadLocalRandom.current().nextFloat() < 1.0 / explosionRadius;
+            return context.random().nextFloat() < 1.0 / explosionRadius;
         }
     }
 
@@ -355,7 +355,7 @@ interface InBuiltPredicates {
         public boolean test(LootContext context) {
             ItemMeta meta = context.getOrThrow(LootContext.TOOL).meta();
             int level = meta.getEnchantmentMap().getOrDefault(enchantment, (short) 0);
-            return ThreadLocalRandom.current().nextFloat() < chances.get(level);
+            return context.random().nextFloat() < chances.get(level);
         }
     }
 
@@ -41,6 +41,7 @@ public interface LootFunction extends InBuiltLootFunctions {
                 Map.entry("minecraft:furnace_smelt", FurnaceSmelt.class),
                 Map.entry("minecraft:limit_count", LimitCount.class),
                 Map.entry("minecraft:looting_enchant", LootingEnchant.class),
+                Map.entry("minecraft:reference", Reference.class),
                 Map.entry("minecraft:set_attributes", SetAttributes.class),
                 Map.entry("minecraft:set_banner_pattern", SetBannerPattern.class),
                 Map.entry("minecraft:set_contents", SetContents.class),
@@ -9,6 +9,11 @@ interface DoubleNumberProviders {
         public double apply(NumberProvider.Context context) {
             return value;
         }
+
+        @Override
+        public boolean isConstant() {
+            return true;
+        }
     }
 
     record Uniform(NumberProvider.Double min, NumberProvider.Double max) implements NumberProvider.Double {
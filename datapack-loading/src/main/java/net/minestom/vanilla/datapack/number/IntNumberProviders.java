@@ -9,6 +9,11 @@ interface IntNumberProviders {
         public int apply(NumberProvider.Context context) {
             return value;
         }
+
+        @Override
+        public boolean isConstant() {
+            return true;
+        }
     }
 
     record Uniform(NumberProvider.Int min, NumberProvider.Int max) implements NumberProvider.Int {
@@ -13,6 +13,13 @@ public interface NumberProvider {
 
     Double asDouble();
 
+    /**
+     * @return whether this provider always provides the same number, so that it can be evaluated once up front
+     */
+    default boolean isConstant() {
+        return false;
+    }
+
     interface Context {
         // TODO: Scoreboard query
         RandomGenerator random();
@@ -19,8 +19,11 @@ public interface DensityFunction extends DensityFunctions, NumberFunction<Densit
     static DensityFunction fromJson(JsonReader reader) throws IOException {
         return JsonUtils.typeMap(reader, token -> switch (token) {
             case NUMBER -> json -> new Constant(json.nextDouble());
-            case STRING -> json -> new LazyLoadedDensityFunction(json.nextString(), DatapackLoader.loading());
-            case BEGIN_OBJECT -> json -> JsonUtils.unionStringTypeAdapted(json, "type", type -> switch (type) {
+            case STRING -> json -> {
+                String id = json.nextString();
+                return DensityFunctionProfiler.wrap(id, new LazyLoadedDensityFunction(id, DatapackLoader.loading()));
+            };
+            case BEGIN_OBJECT -> json -> DensityFunctionProfiler.wrap(JsonUtils.<DensityFunction>unionStringTypeAdapted(json, "type", type -> switch (type) {
                 case "minecraft:blend_alpha" -> BlendAlpha.class;
                 case "minecraft:blend_offset" -> BlendOffset.class;
                 case "minecraft:beardifier" -> Beardifier.class;
@@ -59,7 +62,7 @@ public interface DensityFunction extends DensityFunctions, NumberFunction<Densit
                 case "minecraft:constant" -> Constant.class;
                 case "minecraft:y_clamped_gradient" -> YClampedGradient.class;
                 default -> null;
-            });
+            }));
             default -> null;
         });
     }
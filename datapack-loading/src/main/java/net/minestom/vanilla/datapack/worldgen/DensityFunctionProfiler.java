@@ -0,0 +1,290 @@
+package net.minestom.vanilla.datapack.worldgen;
+
+import net.minestom.vanilla.logging.Logger;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Opt-in profiler for density functions, enabled with {@code -Dvri.densityfunction.profile=true}.
+ * <p>
+ * When enabled, every density function node is wrapped while the datapack is parsed, and records how often it is
+ * invoked and how long it takes. Referenced density functions are named after their registry id, inline nodes after
+ * their type. The cache nodes (flat_cache, cache_2d, cache_once and interpolated) also record their cache hit rate.
+ * </p>
+ * <p>
+ * Each thread records into its own call tree, so the counters are not synchronized. Reports taken while generation is
+ * still running may be slightly off.
+ * </p>
+ * <p>
+ * After {@code vri.densityfunction.profile.chunks} (default 256) chunks were generated, a report sorted by self time is
+ * logged, and the call tree is written to {@code density-functions.collapsed} in the collapsed stack format understood
+ * by flamegraph.pl and speedscope.
+ * </p>
+ */
+public final class DensityFunctionProfiler {
+
+    public static final String PROPERTY = "vri.densityfunction.profile";
+    public static final String CHUNKS_PROPERTY = "vri.densityfunction.profile.chunks";
+
+    /**
+     * Whether profiling is enabled. This must be decided before the datapack is parsed, and is constant so that the
+     * disabled profiler costs nothing.
+     */
+    public static final boolean ENABLED = Boolean.getBoolean(PROPERTY);
+
+    private static final Path COLLAPSED_FILE = Path.of("density-functions.collapsed");
+
+    private static final List<CallTree> TREES = new CopyOnWriteArrayList<>();
+    private static final ThreadLocal<CallTree> TREE = ThreadLocal.withInitial(() -> {
+        CallTree tree = new CallTree();
+        TREES.add(tree);
+        return tree;
+    });
+    private static final AtomicInteger GENERATED_CHUNKS = new AtomicInteger();
+
+    private DensityFunctionProfiler() {
+    }
+
+    /**
+     * Wraps the given density function, if profiling is enabled.
+     *
+     * @param name     the name to attribute the function's invocations to
+     * @param function the function
+     * @return the (possibly) wrapped function
+     */
+    static @NotNull DensityFunction wrap(@NotNull String name, @NotNull DensityFunction function) {
+        if (!ENABLED || function instanceof DensityFunctions.Constant) return function;
+        return new Profiled(name, function);
+    }
+
+    /**
+     * Wraps the given inline density function, if profiling is enabled. Its invocations are attributed to its type.
+     *
+     * @param function the function
+     * @return the (possibly) wrapped function
+     */
+    static @NotNull DensityFunction wrap(@NotNull DensityFunction function) {
+        return ENABLED ? wrap(function.getClass().getSimpleName(), function) : function;
+    }
+
+    /**
+     * Records a cache lookup of the cache node that is currently being computed.
+     */
+    static void cacheLookup() {
+        TREE.get().current.cacheLookups++;
+    }
+
+    /**
+     * Records a cache miss of the cache node that is currently being computed.
+     */
+    static void cacheMiss() {
+        TREE.get().current.cacheMisses++;
+    }
+
+    /**
+     * Notifies the profiler that a chunk has been generated, dumping the results once enough chunks were generated.
+     */
+    public static void chunkGenerated() {
+        if (!ENABLED) return;
+        int chunks = Integer.getInteger(CHUNKS_PROPERTY, 256);
+        if (GENERATED_CHUNKS.incrementAndGet() != chunks) return;
+
+        Logger.info("Density function profile after %d chunks:%n%s", chunks, report());
+        try {
+            writeCollapsed(COLLAPSED_FILE);
+            Logger.info("Density function flame graph written to %s", COLLAPSED_FILE.toAbsolutePath());
+        } catch (IOException e) {
+            Logger.warn(e);
+        }
+    }
+
+    /**
+     * Clears everything recorded so far.
+     */
+    public static void reset() {
+        for (CallTree tree : TREES) {
+            tree.reset = true;
+        }
+        GENERATED_CHUNKS.set(0);
+    }
+
+    /**
+     * Creates a report of all recorded nodes, merged by name and sorted by self time.
+     *
+     * @return the report, one node per line
+     */
+    public static @NotNull String report() {
+        Map<String, Stats> byName = new HashMap<>();
+        for (CallTree tree : TREES) {
+            tree.root.visit(node -> {
+                if (node.name == null) return;
+                byName.computeIfAbsent(node.name, Stats::new).add(node);
+            });
+        }
+
+        List<Stats> sorted = new ArrayList<>(byName.values());
+        sorted.sort(Comparator.comparingLong((Stats stats) -> stats.selfNanos).reversed());
+
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format("%-60s %14s %12s %12s %10s %8s%n", "density function", "calls", "total ms", "self ms", "avg ns", "hits"));
+        for (Stats stats : sorted) {
+            String hits = stats.cacheLookups == 0 ? "-" :
+                    String.format("%.1f%%", 100.0 * (stats.cacheLookups - stats.cacheMisses) / stats.cacheLookups);
+            builder.append(String.format("%-60s %14d %12.2f %12.2f %10.1f %8s%n", stats.name, stats.calls,
+                    stats.totalNanos / 1e6, stats.selfNanos / 1e6, (double) stats.totalNanos / stats.calls, hits));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Writes the self time of every call path in the collapsed stack format, one {@code a;b;c nanos} line per path.
+     *
+     * @param path the file to write to
+     * @throws IOException if the file could not be written
+     */
+    public static void writeCollapsed(@NotNull Path path) throws IOException {
+        Map<String, Long> stacks = new TreeMap<>();
+        for (CallTree tree : TREES) {
+            tree.root.collapse(null, stacks);
+        }
+        try (Writer writer = Files.newBufferedWriter(path)) {
+            for (Map.Entry<String, Long> entry : stacks.entrySet()) {
+                writer.write(entry.getKey() + " " + entry.getValue() + "\n");
+            }
+        }
+    }
+
+    private record Profiled(String name, DensityFunction function) implements DensityFunction {
+
+        @Override
+        public double compute(Context context) {
+            CallTree tree = TREE.get();
+            Node node = tree.enter(name);
+            long start = System.nanoTime();
+            try {
+                return function.compute(context);
+            } finally {
+                tree.exit(node, System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public double maxValue() {
+            return function.maxValue();
+        }
+
+        @Override
+        public double minValue() {
+            return function.minValue();
+        }
+    }
+
+    private static final class CallTree {
+        private volatile boolean reset = false;
+        private volatile Node root = new Node(null, null);
+        private Node current = root;
+        private int depth = 0;
+
+        Node enter(String name) {
+            if (depth++ == 0) {
+                if (reset) {
+                    reset = false;
+                    root = new Node(null, null);
+                }
+                current = root;
+            }
+            Node node = current.child(name);
+            node.calls++;
+            current = node;
+            return node;
+        }
+
+        void exit(Node node, long nanos) {
+            depth--;
+            node.nanos += nanos;
+            current = node.parent;
+            current.childNanos += nanos;
+        }
+    }
+
+    private static final class Node {
+        private final String name;
+        private final Node parent;
+        private final Map<String, Node> children = new ConcurrentHashMap<>();
+
+        private long calls;
+        private long nanos;
+        private long childNanos;
+        private long cacheLookups;
+        private long cacheMisses;
+
+        Node(String name, Node parent) {
+            this.name = name;
+            this.parent = parent;
+        }
+
+        Node child(String name) {
+            Node child = children.get(name);
+            if (child == null) {
+                child = new Node(name, this);
+                children.put(name, child);
+            }
+            return child;
+        }
+
+        void visit(Consumer<Node> consumer) {
+            consumer.accept(this);
+            for (Node child : children.values()) {
+                child.visit(consumer);
+            }
+        }
+
+        void collapse(String prefix, Map<String, Long> stacks) {
+            String stack = name == null ? null : prefix == null ? name : prefix + ";" + name;
+            if (stack != null) {
+                stacks.merge(stack, Math.max(0, nanos - childNanos), Long::sum);
+            }
+            for (Node child : children.values()) {
+                child.collapse(stack, stacks);
+            }
+        }
+    }
+
+    private static final class Stats {
+        private final String name;
+        private long calls;
+        private long totalNanos;
+        private long selfNanos;
+        private long cacheLookups;
+        private long cacheMisses;
+
+        Stats(String name) {
+            this.name = name;
+        }
+
+        void add(Node node) {
+            calls += node.calls;
+            selfNanos += Math.max(0, node.nanos - node.childNanos);
+            cacheLookups += node.cacheLookups;
+            cacheMisses += node.cacheMisses;
+            // Recursive paths would otherwise be counted more than once
+            if (!hasAncestor(node, name)) totalNanos += node.nanos;
+        }
+
+        private static boolean hasAncestor(Node node, String name) {
+            for (Node parent = node.parent; parent != null; parent = parent.parent) {
+                if (name.equals(parent.name)) return true;
+            }
+            return false;
+        }
+    }
+}
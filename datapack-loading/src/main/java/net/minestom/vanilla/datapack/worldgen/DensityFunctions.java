@@ -128,6 +128,18 @@ interface DensityFunctions {
         }
     }
 
+    /**
+     * The source of a cache storage, which records a cache miss whenever it is computed while profiling.
+     */
+    private static DoubleStorage profiledSource(DensityFunction argument) {
+        DoubleStorage source = DoubleStorage.from(argument);
+        if (!DensityFunctionProfiler.ENABLED) return source;
+        return (x, y, z) -> {
+            DensityFunctionProfiler.cacheMiss();
+            return source.obtain(x, y, z);
+        };
+    }
+
     interface Wrapped extends DensityFunction {
         DensityFunction wrapped();
 
@@ -157,7 +169,9 @@ interface DensityFunctions {
         public double compute(Context context) {
             int quartX = context.blockX() >> 2;
             int quartZ = context.blockZ() >> 2;
+            if (DensityFunctionProfiler.ENABLED) DensityFunctionProfiler.cacheLookup();
             if (this.lastQuartX != quartX || this.lastQuartZ != quartZ) {
+                if (DensityFunctionProfiler.ENABLED) DensityFunctionProfiler.cacheMiss();
                 this.lastValue = this.argument.compute(DensityFunction.context(quartX << 2, 0, quartZ << 2));
                 this.lastQuartX = quartX;
                 this.lastQuartZ = quartZ;
@@ -188,7 +202,7 @@ interface DensityFunctions {
 
         private DoubleStorage cache() {
             if (cache == null) {
-                cache = DoubleStorage.threadLocal(() -> DoubleStorage.from(argument).cache());
+                cache = DoubleStorage.threadLocal(() -> profiledSource(argument).cache());
             }
             return cache;
         }
@@ -218,6 +232,7 @@ interface DensityFunctions {
         }
 
         private double computeCorner(int x, int y, int z) {
+            if (DensityFunctionProfiler.ENABLED) DensityFunctionProfiler.cacheLookup();
             return cache().obtain(x, y, z);
         }
 
@@ -240,7 +255,7 @@ interface DensityFunctions {
 
         private DoubleStorage cache() {
             if (cache == null) {
-                cache = DoubleStorage.threadLocal(() -> DoubleStorage.from(argument).cache2d());
+                cache = DoubleStorage.threadLocal(() -> profiledSource(argument).cache2d());
             }
             return cache;
         }
@@ -249,6 +264,7 @@ interface DensityFunctions {
             int blockX = context.blockX();
             int blockY = context.blockY();
             int blockZ = context.blockZ();
+            if (DensityFunctionProfiler.ENABLED) DensityFunctionProfiler.cacheLookup();
             return cache().obtain(blockX, blockY, blockZ);
         }
 
@@ -274,7 +290,9 @@ interface DensityFunctions {
             int blockY = context.blockY();
             int blockZ = context.blockZ();
             int hash = Objects.hash(blockX, blockY, blockZ);
+            if (DensityFunctionProfiler.ENABLED) DensityFunctionProfiler.cacheLookup();
             if (this.lastHash != hash) {
+                if (DensityFunctionProfiler.ENABLED) DensityFunctionProfiler.cacheMiss();
                 this.lastValue = this.argument.compute(context);
                 this.lastHash = hash;
             }
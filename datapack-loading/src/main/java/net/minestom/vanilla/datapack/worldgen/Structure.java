@@ -11,7 +11,6 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -49,7 +48,7 @@ import java.util.stream.Collectors;
  * @param entities    List of entities in the structure.
  */
 public record Structure(int DataVersion, @Nullable String author, Point size,
-                        @Nullable Set<BlockState> palette, @UnknownNullability Set<Set<BlockState>> palettes,
+                        @Nullable List<BlockState> palette, @UnknownNullability List<List<BlockState>> palettes,
                         List<Block> blocks, List<Entity> entities) {
     public static Structure fromInput(ByteArray content) {
         try (NBTReader reader = new NBTReader(content.toStream())) {
@@ -68,8 +67,9 @@ public record Structure(int DataVersion, @Nullable String author, Point size,
 
             Point size = parsePoint(nbt_size);
             // Only one of "palette" OR "palettes" is present
-            Set<BlockState> palette = nbt_palette == null ? null : parsePalette(nbt_palette);
-            Set<Set<BlockState>> palettes = nbt_palettes == null ? null : parsePalettes(nbt_palettes);
+            // Palettes are kept in file order, as blocks refer to their state by palette index
+            List<BlockState> palette = nbt_palette == null ? null : parsePalette(nbt_palette);
+            List<List<BlockState>> palettes = nbt_palettes == null ? null : parsePalettes(nbt_palettes);
             List<Block> blocks = parseBlocks(nbt_blocks);
             List<Entity> entities = parseEntities(nbt_entities);
 
@@ -102,18 +102,16 @@ public record Structure(int DataVersion, @Nullable String author, Point size,
         );
     }
 
-    private static Set<BlockState> parsePalette(NBTList<NBTCompound> nbtPalette) {
+    private static List<BlockState> parsePalette(NBTList<NBTCompound> nbtPalette) {
         return nbtPalette.asListView().stream()
                 .map(Structure::parseBlockState)
-                .collect(Collectors.toSet());
+                .toList();
     }
 
-    private static Set<Set<BlockState>> parsePalettes(NBTList<NBTList<NBTCompound>> nbtPalettes) {
+    private static List<List<BlockState>> parsePalettes(NBTList<NBTList<NBTCompound>> nbtPalettes) {
         return nbtPalettes.asListView().stream()
-                .map(palette -> palette.asListView().stream()
-                        .map(Structure::parseBlockState)
-                        .collect(Collectors.toSet()))
-                .collect(Collectors.toSet());
+                .map(Structure::parsePalette)
+                .toList();
     }
 
     private static List<Block> parseBlocks(NBTList<NBTCompound> nbtBlocks) {
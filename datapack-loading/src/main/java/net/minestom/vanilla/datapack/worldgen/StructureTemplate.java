@@ -0,0 +1,297 @@
+package net.minestom.vanilla.datapack.worldgen;
+
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Section;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.palette.Palette;
+import org.jetbrains.annotations.NotNull;
+import org.jglrxavpok.hephaistos.nbt.NBTCompound;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A placement-ready form of a {@link Structure}.
+ * <p>
+ * Blocks are stored as palette indices in 16x16x16 sections relative to the template origin, so that placing the
+ * template into a chunk only has to copy the overlapping section slices into the chunk's block palettes.
+ * Block entity data is kept aside, and is only applied to the (few) blocks that need it.
+ * </p>
+ */
+public final class StructureTemplate {
+
+    private static final int SECTION_SIZE = Chunk.CHUNK_SECTION_SIZE;
+    private static final int SECTION_VOLUME = SECTION_SIZE * SECTION_SIZE * SECTION_SIZE;
+
+    /**
+     * Marker for positions that the template does not touch (e.g. structure voids).
+     */
+    private static final short EMPTY = 0;
+
+    private final int sizeX;
+    private final int sizeY;
+    private final int sizeZ;
+
+    private final int sectionsX;
+    private final int sectionsZ;
+
+    /**
+     * Template sections, each holding (palette index + 1) for every position, or {@link #EMPTY}.
+     * Sections without any blocks are null.
+     */
+    private final short[][] sections;
+
+    /**
+     * For each palette variant, the minestom state id of every palette index.
+     */
+    private final short[][] palettes;
+
+    private final List<BlockEntity> blockEntities;
+
+    private StructureTemplate(int sizeX, int sizeY, int sizeZ, short[][] sections, short[][] palettes,
+                              List<BlockEntity> blockEntities) {
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+        this.sizeZ = sizeZ;
+        this.sectionsX = sectionCount(sizeX);
+        this.sectionsZ = sectionCount(sizeZ);
+        this.sections = sections;
+        this.palettes = palettes;
+        this.blockEntities = List.copyOf(blockEntities);
+    }
+
+    /**
+     * Compiles the given structure into a template.
+     *
+     * @param structure the structure
+     * @return the compiled template
+     */
+    public static @NotNull StructureTemplate compile(@NotNull Structure structure) {
+        int sizeX = structure.size().blockX();
+        int sizeY = structure.size().blockY();
+        int sizeZ = structure.size().blockZ();
+
+        List<List<BlockState>> statePalettes = structure.palette() != null ?
+                List.of(structure.palette()) :
+                Objects.requireNonNull(structure.palettes(), "Structure has neither a palette nor palettes");
+        if (statePalettes.isEmpty()) {
+            throw new IllegalArgumentException("Structure has no palettes");
+        }
+
+        short[][] palettes = new short[statePalettes.size()][];
+        for (int i = 0; i < palettes.length; i++) {
+            List<BlockState> states = statePalettes.get(i);
+            short[] ids = new short[states.size()];
+            for (int j = 0; j < ids.length; j++) {
+                ids[j] = states.get(j).toMinestom().stateId();
+            }
+            palettes[i] = ids;
+        }
+
+        short[][] sections = new short[sectionCount(sizeX) * sectionCount(sizeY) * sectionCount(sizeZ)][];
+        List<BlockEntity> blockEntities = new ArrayList<>();
+        for (Structure.Block block : structure.blocks()) {
+            int x = block.pos().blockX();
+            int y = block.pos().blockY();
+            int z = block.pos().blockZ();
+            int sectionIndex = (y >> 4) * sectionCount(sizeX) * sectionCount(sizeZ) + (z >> 4) * sectionCount(sizeX) + (x >> 4);
+
+            short[] section = sections[sectionIndex];
+            if (section == null) {
+                section = new short[SECTION_VOLUME];
+                sections[sectionIndex] = section;
+            }
+            section[blockIndex(x, y, z)] = (short) (block.state() + 1);
+
+            if (block.nbt() instanceof NBTCompound nbt) {
+                blockEntities.add(new BlockEntity(x, y, z, block.state(), nbt));
+            }
+        }
+
+        return new StructureTemplate(sizeX, sizeY, sizeZ, sections, palettes, blockEntities);
+    }
+
+    /**
+     * Places this template into the given chunk, using the first palette.
+     * Only the part of the template that intersects the chunk is placed.
+     *
+     * @param chunk  the chunk to place into
+     * @param origin the world position of the template's origin
+     */
+    public void place(@NotNull Chunk chunk, @NotNull Point origin) {
+        place(chunk, origin, 0);
+    }
+
+    /**
+     * Places this template into the given chunk.
+     * Only the part of the template that intersects the chunk is placed.
+     * <p>
+     * Plain blocks are copied into the chunk's block palettes, while blocks replacing a cached block (e.g. a block
+     * entity) and the template's own block entities go through {@link Chunk#setBlock}. Every column is then set again
+     * from its top down to its first solid template block, so that chunks tracking heightmaps see the new surface,
+     * and the light of every touched section is invalidated.
+     * </p>
+     *
+     * @param chunk        the chunk to place into
+     * @param origin       the world position of the template's origin
+     * @param paletteIndex the palette variant to use
+     */
+    public void place(@NotNull Chunk chunk, @NotNull Point origin, int paletteIndex) {
+        short[] palette = palettes[paletteIndex];
+        int originX = origin.blockX();
+        int originY = origin.blockY();
+        int originZ = origin.blockZ();
+
+        int chunkMinX = chunk.getChunkX() * Chunk.CHUNK_SIZE_X;
+        int chunkMinZ = chunk.getChunkZ() * Chunk.CHUNK_SIZE_Z;
+        int chunkMinY = chunk.getMinSection() * SECTION_SIZE;
+
+        // The intersection, relative to the template origin
+        int minX = Math.max(originX, chunkMinX) - originX;
+        int maxX = Math.min(originX + sizeX, chunkMinX + Chunk.CHUNK_SIZE_X) - originX;
+        int minZ = Math.max(originZ, chunkMinZ) - originZ;
+        int maxZ = Math.min(originZ + sizeZ, chunkMinZ + Chunk.CHUNK_SIZE_Z) - originZ;
+        int minY = Math.max(originY, chunkMinY) - originY;
+        int maxY = Math.min(originY + sizeY, chunk.getMaxSection() * SECTION_SIZE) - originY;
+        if (minX >= maxX || minY >= maxY || minZ >= maxZ) {
+            return;
+        }
+
+        // The highest written y level of every column, and the chunk sections that were written to
+        int[] columnTops = new int[Chunk.CHUNK_SIZE_X * Chunk.CHUNK_SIZE_Z];
+        Arrays.fill(columnTops, Integer.MIN_VALUE);
+        boolean[] touchedSections = new boolean[chunk.getMaxSection() - chunk.getMinSection()];
+
+        synchronized (chunk) {
+            // Copy the intersecting slice of every template section
+            for (int sectionY = minY >> 4; sectionY <= (maxY - 1) >> 4; sectionY++) {
+                int sliceMinY = Math.max(minY, sectionY * SECTION_SIZE);
+                int sliceMaxY = Math.min(maxY, (sectionY + 1) * SECTION_SIZE);
+                for (int sectionZ = minZ >> 4; sectionZ <= (maxZ - 1) >> 4; sectionZ++) {
+                    int sliceMinZ = Math.max(minZ, sectionZ * SECTION_SIZE);
+                    int sliceMaxZ = Math.min(maxZ, (sectionZ + 1) * SECTION_SIZE);
+                    for (int sectionX = minX >> 4; sectionX <= (maxX - 1) >> 4; sectionX++) {
+                        short[] templateSection = sections[(sectionY * sectionsZ + sectionZ) * sectionsX + sectionX];
+                        if (templateSection == null) continue;
+                        int sliceMinX = Math.max(minX, sectionX * SECTION_SIZE);
+                        int sliceMaxX = Math.min(maxX, (sectionX + 1) * SECTION_SIZE);
+
+                        for (int y = sliceMinY; y < sliceMaxY; y++) {
+                            int worldY = originY + y;
+                            Palette blockPalette = chunk.getSection(worldY >> 4).blockPalette();
+                            boolean touched = false;
+                            for (int z = sliceMinZ; z < sliceMaxZ; z++) {
+                                int worldZ = originZ + z;
+                                for (int x = sliceMinX; x < sliceMaxX; x++) {
+                                    short value = templateSection[blockIndex(x, y, z)];
+                                    if (value == EMPTY) continue;
+                                    int worldX = originX + x;
+                                    if (chunk.getBlock(worldX, worldY, worldZ, Block.Getter.Condition.CACHED) != null) {
+                                        // Lets the chunk drop the cached block along with its block entity data
+                                        chunk.setBlock(worldX, worldY, worldZ, block(palette, value - 1));
+                                    } else {
+                                        blockPalette.set(worldX & 0xF, worldY & 0xF, worldZ & 0xF, palette[value - 1]);
+                                    }
+                                    int column = (worldZ & 0xF) * Chunk.CHUNK_SIZE_X + (worldX & 0xF);
+                                    columnTops[column] = Math.max(columnTops[column], y);
+                                    touched = true;
+                                }
+                            }
+                            if (touched) touchedSections[(worldY >> 4) - chunk.getMinSection()] = true;
+                        }
+                    }
+                }
+            }
+
+            // Below the first solid block of a column, written blocks cannot change any heightmap
+            for (int z = minZ; z < maxZ; z++) {
+                for (int x = minX; x < maxX; x++) {
+                    int worldX = originX + x;
+                    int worldZ = originZ + z;
+                    int top = columnTops[(worldZ & 0xF) * Chunk.CHUNK_SIZE_X + (worldX & 0xF)];
+                    for (int y = top; y >= minY; y--) {
+                        short[] templateSection = sections[sectionIndex(x, y, z)];
+                        if (templateSection == null) continue;
+                        short value = templateSection[blockIndex(x, y, z)];
+                        if (value == EMPTY) continue;
+                        Block block = block(palette, value - 1);
+                        chunk.setBlock(worldX, originY + y, worldZ, block);
+                        if (block.isSolid()) break;
+                    }
+                }
+            }
+
+            // Block entities need their nbt, so these go through the chunk itself
+            for (BlockEntity blockEntity : blockEntities) {
+                int x = blockEntity.x();
+                int y = blockEntity.y();
+                int z = blockEntity.z();
+                if (x < minX || x >= maxX || y < minY || y >= maxY || z < minZ || z >= maxZ) continue;
+                Block block = block(palette, blockEntity.state());
+                chunk.setBlock(originX + x, originY + y, originZ + z, block.withNbt(blockEntity.nbt()));
+            }
+
+            for (int i = 0; i < touchedSections.length; i++) {
+                if (!touchedSections[i]) continue;
+                Section section = chunk.getSection(chunk.getMinSection() + i);
+                section.blockLight().invalidate();
+                section.skyLight().invalidate();
+            }
+            chunk.invalidate();
+        }
+    }
+
+    public int sizeX() {
+        return sizeX;
+    }
+
+    public int sizeY() {
+        return sizeY;
+    }
+
+    public int sizeZ() {
+        return sizeZ;
+    }
+
+    /**
+     * @return the amount of palette variants in this template
+     */
+    public int paletteCount() {
+        return palettes.length;
+    }
+
+    public @NotNull List<BlockEntity> blockEntities() {
+        return blockEntities;
+    }
+
+    private int sectionIndex(int x, int y, int z) {
+        return (y >> 4) * sectionsX * sectionsZ + (z >> 4) * sectionsX + (x >> 4);
+    }
+
+    private static Block block(short[] palette, int state) {
+        return Objects.requireNonNull(Block.fromStateId(palette[state]));
+    }
+
+    private static int blockIndex(int x, int y, int z) {
+        return (y & 0xF) << 8 | (z & 0xF) << 4 | (x & 0xF);
+    }
+
+    private static int sectionCount(int size) {
+        return (size + SECTION_SIZE - 1) / SECTION_SIZE;
+    }
+
+    /**
+     * A block entity within the template.
+     *
+     * @param x     the x position, relative to the template origin
+     * @param y     the y position, relative to the template origin
+     * @param z     the z position, relative to the template origin
+     * @param state the palette index of the block
+     * @param nbt   the block entity data
+     */
+    public record BlockEntity(int x, int y, int z, int state, NBTCompound nbt) {
+    }
+}
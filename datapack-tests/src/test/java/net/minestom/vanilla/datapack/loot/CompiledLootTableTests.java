@@ -0,0 +1,157 @@
+package net.minestom.vanilla.datapack.loot;
+
+import net.minestom.server.item.ItemStack;
+import net.minestom.server.item.Material;
+import net.minestom.server.utils.NamespaceID;
+import net.minestom.vanilla.datapack.Datapack;
+import net.minestom.vanilla.datapack.loot.context.LootContext;
+import net.minestom.vanilla.files.FileSystem;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompiledLootTableTests {
+
+    private static final String ALWAYS = "{\"condition\": \"minecraft:random_chance\", \"chance\": 1.0}";
+    private static final String NEVER = "{\"condition\": \"minecraft:random_chance\", \"chance\": 0.0}";
+
+    @Test
+    public void testStaticAndDynamicPools() {
+        // without conditions the pool is flattened into its loot entries, with a condition that always passes it is
+        // expanded on every roll, but both must roll the same weights
+        String staticPool = """
+                {"pools": [{"rolls": 4000, "entries": [
+                  {"type": "minecraft:item", "name": "minecraft:stone", "weight": 1},
+                  {"type": "minecraft:item", "name": "minecraft:dirt", "weight": 3}
+                ]}]}
+                """;
+        String dynamicPool = """
+                {"pools": [{"rolls": 4000, "entries": [
+                  {"type": "minecraft:item", "name": "minecraft:stone", "weight": 1, "conditions": [%s]},
+                  {"type": "minecraft:item", "name": "minecraft:dirt", "weight": 3, "conditions": [%s]}
+                ]}]}
+                """.formatted(ALWAYS, ALWAYS);
+
+        for (String table : List.of(staticPool, dynamicPool)) {
+            Map<Material, Integer> counts = count(generate(table, Map.of()));
+            assertEquals(Set.of(Material.STONE, Material.DIRT), counts.keySet());
+            assertEquals(4000, counts.get(Material.STONE) + counts.get(Material.DIRT));
+            assertEquals(1000, counts.get(Material.STONE), 150);
+        }
+    }
+
+    @Test
+    public void testFailingConditions() {
+        String table = """
+                {"pools": [
+                  {"rolls": 20, "entries": [
+                    {"type": "minecraft:item", "name": "minecraft:stone", "conditions": [%s]},
+                    {"type": "minecraft:item", "name": "minecraft:dirt"}
+                  ]},
+                  {"rolls": 20, "conditions": [%s], "entries": [
+                    {"type": "minecraft:item", "name": "minecraft:diamond"}
+                  ]}
+                ]}
+                """.formatted(NEVER, NEVER);
+
+        assertEquals(Map.of(Material.DIRT, 20), count(generate(table, Map.of())));
+    }
+
+    @Test
+    public void testAlternatives() {
+        // the first child whose conditions pass is used, the following children are skipped
+        String table = """
+                {"pools": [{"rolls": 20, "entries": [{"type": "minecraft:alternatives", "children": [
+                  {"type": "minecraft:item", "name": "minecraft:stone", "conditions": [%s]},
+                  {"type": "minecraft:item", "name": "minecraft:dirt"},
+                  {"type": "minecraft:item", "name": "minecraft:diamond"}
+                ]}]}]}
+                """.formatted(NEVER);
+
+        assertEquals(Map.of(Material.DIRT, 20), count(generate(table, Map.of())));
+    }
+
+    @Test
+    public void testSequence() {
+        // children are used until the first child whose conditions fail
+        String table = """
+                {"pools": [{"rolls": 20, "entries": [{"type": "minecraft:sequence", "children": [
+                  {"type": "minecraft:item", "name": "minecraft:stone"},
+                  {"type": "minecraft:item", "name": "minecraft:dirt", "conditions": [%s]},
+                  {"type": "minecraft:item", "name": "minecraft:diamond"}
+                ]}]}]}
+                """.formatted(NEVER);
+
+        assertEquals(Map.of(Material.STONE, 20), count(generate(table, Map.of())));
+    }
+
+    @Test
+    public void testNestedTableWithFunctions() {
+        String inner = """
+                {"pools": [{"rolls": 1, "entries": [
+                  {"type": "minecraft:item", "name": "minecraft:stone",
+                   "functions": [{"function": "minecraft:set_count", "count": 2}]}
+                ]}]}
+                """;
+        // the functions of the nested entry and its pool are applied to every item of the nested table
+        String table = """
+                {"pools": [{"rolls": 3,
+                  "functions": [{"function": "minecraft:set_count", "count": 10, "add": true}],
+                  "entries": [
+                    {"type": "minecraft:loot_table", "name": "test:inner",
+                     "functions": [{"function": "minecraft:set_count", "count": 1, "add": true}]}
+                  ]}]}
+                """;
+
+        List<ItemStack> items = generate(table, Map.of("inner", inner));
+        assertEquals(3, items.size());
+        for (ItemStack item : items) {
+            assertEquals(Material.STONE, item.material());
+            assertEquals(13, item.amount());
+        }
+    }
+
+    @Test
+    public void testZeroWeights() {
+        String allZero = """
+                {"pools": [{"rolls": 20, "entries": [
+                  {"type": "minecraft:item", "name": "minecraft:stone", "weight": 0},
+                  {"type": "minecraft:item", "name": "minecraft:dirt", "weight": 0}
+                ]}]}
+                """;
+        assertEquals(List.of(), generate(allZero, Map.of()));
+
+        String someZero = """
+                {"pools": [{"rolls": 200, "entries": [
+                  {"type": "minecraft:item", "name": "minecraft:stone", "weight": 0},
+                  {"type": "minecraft:item", "name": "minecraft:dirt", "weight": 1},
+                  {"type": "minecraft:item", "name": "minecraft:diamond", "weight": 0}
+                ]}]}
+                """;
+        assertEquals(Map.of(Material.DIRT, 200), count(generate(someZero, Map.of())));
+    }
+
+    private static List<ItemStack> generate(String table, Map<String, String> otherTables) {
+        Map<String, byte[]> files = new HashMap<>();
+        files.put("test/loot_tables/table.json", table.getBytes(StandardCharsets.UTF_8));
+        otherTables.forEach((name, json) -> files.put("test/loot_tables/" + name + ".json", json.getBytes(StandardCharsets.UTF_8)));
+        Datapack datapack = Datapack.loadPrimitiveByteArray(FileSystem.fromMap(files));
+
+        CompiledLootTable compiled = CompiledLootTable.compiler(datapack).compile(NamespaceID.from("test:table"));
+        assertNotNull(compiled);
+        List<ItemStack> items = new ArrayList<>();
+        compiled.generate(new LootContext.Empty(), new Random(42), items::add);
+        return items;
+    }
+
+    private static Map<Material, Integer> count(List<ItemStack> items) {
+        Map<Material, Integer> counts = new HashMap<>();
+        for (ItemStack item : items) {
+            counts.merge(item.material(), 1, Integer::sum);
+        }
+        return counts;
+    }
+}
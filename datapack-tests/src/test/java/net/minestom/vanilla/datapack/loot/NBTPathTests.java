@@ -0,0 +1,51 @@
+package net.minestom.vanilla.datapack.loot;
+
+import org.jglrxavpok.hephaistos.nbt.NBT;
+import org.jglrxavpok.hephaistos.nbt.NBTInt;
+import org.jglrxavpok.hephaistos.nbt.NBTList;
+import org.jglrxavpok.hephaistos.nbt.NBTType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class NBTPathTests {
+
+    // {a: {b: [1, 2]}, c: [3, 4]}
+    private static final NBT NBT_VALUE = NBT.Compound(Map.of(
+            "a", NBT.Compound(Map.of("b", new NBTList<>(NBTType.TAG_Int, List.of(new NBTInt(1), new NBTInt(2))))),
+            "c", new NBTList<>(NBTType.TAG_Int, List.of(new NBTInt(3), new NBTInt(4)))
+    ));
+
+    @Test
+    public void testSingleIndex() {
+        NBTPath path = NBTPath.parse("a.b[0]");
+
+        NBTPath.Single single = assertInstanceOf(NBTPath.Single.class, path);
+        assertEquals(new NBTInt(1), single.getSingle(NBT_VALUE));
+
+        NBT changed = single.set(NBT_VALUE, new NBTInt(5));
+        assertNotNull(changed);
+        assertEquals(new NBTInt(5), single.getSingle(changed));
+    }
+
+    @Test
+    public void testAllElements() {
+        assertFalse(NBTPath.parse("a[]") instanceof NBTPath.Single);
+
+        NBTPath path = NBTPath.parse("c[]");
+        assertFalse(path instanceof NBTPath.Single);
+        List<NBT> selected = new ArrayList<>();
+        path.forEach(NBT_VALUE, selected::add);
+        assertEquals(List.of(new NBTInt(3), new NBTInt(4)), selected);
+    }
+
+    @Test
+    public void testInterned() {
+        assertSame(NBTPath.parse("a.b[0]"), NBTPath.parse("a.b[0]"));
+        assertSame(NBTPath.parse("c[]"), NBTPath.parse("c[]"));
+    }
+}
@@ -0,0 +1,164 @@
+package net.minestom.vanilla.datapack.worldgen;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.DynamicChunk;
+import net.minestom.server.instance.InstanceContainer;
+import net.minestom.server.instance.block.Block;
+import org.jetbrains.annotations.Nullable;
+import org.jglrxavpok.hephaistos.nbt.NBT;
+import org.jglrxavpok.hephaistos.nbt.NBTCompound;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StructureTemplateTests {
+
+    private static final BlockState STONE = new BlockState("minecraft:stone", Map.of());
+    private static final BlockState DIRT = new BlockState("minecraft:dirt", Map.of());
+    private static final BlockState AIR = new BlockState("minecraft:air", Map.of());
+    private static final BlockState CHEST = new BlockState("minecraft:chest", Map.of());
+
+    private static InstanceContainer instance;
+
+    @BeforeAll
+    public static void init() {
+        MinecraftServer.init();
+        instance = MinecraftServer.getInstanceManager().createInstanceContainer();
+    }
+
+    @Test
+    public void testClipping() {
+        // a 20^3 stone cube, crossing the chunk's -x and +z edges and a section edge at y = 16
+        List<Structure.Block> blocks = new ArrayList<>();
+        for (int x = 0; x < 20; x++) {
+            for (int y = 0; y < 20; y++) {
+                for (int z = 0; z < 20; z++) {
+                    blocks.add(new Structure.Block(0, new Vec(x, y, z), null));
+                }
+            }
+        }
+        StructureTemplate template = StructureTemplate.compile(structure(new Vec(20, 20, 20), List.of(List.of(STONE)), blocks));
+
+        Chunk chunk = chunk(0, 0);
+        template.place(chunk, new Vec(-4, 10, 6));
+        for (int x = 0; x < Chunk.CHUNK_SIZE_X; x++) {
+            for (int y = 8; y < 32; y++) {
+                for (int z = 0; z < Chunk.CHUNK_SIZE_Z; z++) {
+                    boolean inside = y >= 10 && y < 30 && z >= 6;
+                    assertEquals(inside ? Block.STONE : Block.AIR, block(chunk, x, y, z), x + ", " + y + ", " + z);
+                }
+            }
+        }
+
+        // the cube is clipped at the bottom of the world
+        Chunk bottom = chunk(0, 0);
+        int minY = bottom.getMinSection() * Chunk.CHUNK_SECTION_SIZE;
+        template.place(bottom, new Vec(0, minY - 10, 0));
+        assertEquals(Block.STONE, block(bottom, 0, minY, 0));
+        assertEquals(Block.STONE, block(bottom, 15, minY + 9, 15));
+        assertEquals(Block.AIR, block(bottom, 0, minY + 10, 0));
+
+        // chunks that do not intersect the cube are left alone
+        Chunk outside = chunk(2, 0);
+        template.place(outside, new Vec(-4, 10, 6));
+        assertEquals(Block.AIR, block(outside, 32, 10, 6));
+    }
+
+    @Test
+    public void testEmptyCells() {
+        // only (0, 0, 0) is part of the template, the rest of it is void
+        StructureTemplate template = StructureTemplate.compile(structure(new Vec(2, 2, 2), List.of(List.of(AIR)),
+                List.of(new Structure.Block(0, new Vec(0, 0, 0), null))));
+
+        Chunk chunk = chunk(0, 0);
+        for (int x = 0; x < 2; x++) {
+            for (int y = 0; y < 2; y++) {
+                for (int z = 0; z < 2; z++) {
+                    setBlock(chunk, x, y, z, Block.DIRT);
+                }
+            }
+        }
+        template.place(chunk, Vec.ZERO);
+        assertEquals(Block.AIR, block(chunk, 0, 0, 0));
+        assertEquals(Block.DIRT, block(chunk, 1, 0, 0));
+        assertEquals(Block.DIRT, block(chunk, 0, 1, 0));
+        assertEquals(Block.DIRT, block(chunk, 1, 1, 1));
+    }
+
+    @Test
+    public void testPaletteVariants() {
+        StructureTemplate template = StructureTemplate.compile(structure(new Vec(1, 1, 1),
+                List.of(List.of(STONE), List.of(DIRT)), List.of(new Structure.Block(0, new Vec(0, 0, 0), null))));
+        assertEquals(2, template.paletteCount());
+
+        Chunk first = chunk(0, 0);
+        template.place(first, Vec.ZERO);
+        assertEquals(Block.STONE, block(first, 0, 0, 0));
+
+        Chunk second = chunk(0, 0);
+        template.place(second, Vec.ZERO, 1);
+        assertEquals(Block.DIRT, block(second, 0, 0, 0));
+    }
+
+    @Test
+    public void testBlockEntities() {
+        NBTCompound nbt = NBT.Compound(Map.of("CustomName", NBT.String("\"Loot\"")));
+        // the second chest is outside of the chunk
+        StructureTemplate template = StructureTemplate.compile(structure(new Vec(20, 2, 1), List.of(List.of(STONE, CHEST)), List.of(
+                new Structure.Block(0, new Vec(0, 0, 0), null),
+                new Structure.Block(1, new Vec(1, 1, 0), nbt),
+                new Structure.Block(1, new Vec(18, 1, 0), nbt)
+        )));
+        assertEquals(2, template.blockEntities().size());
+
+        Chunk chunk = chunk(0, 0);
+        setBlock(chunk, 0, 0, 0, Block.CHEST.withNbt(nbt));
+        template.place(chunk, Vec.ZERO);
+
+        // the chest that was replaced must not leave its data behind
+        assertEquals(Block.STONE, block(chunk, 0, 0, 0));
+        synchronized (chunk) {
+            assertNull(chunk.getBlock(0, 0, 0, Block.Getter.Condition.CACHED));
+        }
+
+        Block chest = block(chunk, 1, 1, 0);
+        assertTrue(chest.compare(Block.CHEST));
+        assertEquals(nbt, chest.nbt());
+
+        Chunk neighbour = chunk(1, 0);
+        template.place(neighbour, Vec.ZERO);
+        Block neighbourChest = block(neighbour, 18, 1, 0);
+        assertTrue(neighbourChest.compare(Block.CHEST));
+        assertEquals(nbt, neighbourChest.nbt());
+        assertEquals(Block.AIR, block(neighbour, 16, 0, 0));
+    }
+
+    private static Structure structure(Point size, List<List<BlockState>> palettes, List<Structure.Block> blocks) {
+        @Nullable List<BlockState> palette = palettes.size() == 1 ? palettes.get(0) : null;
+        return new Structure(3700, null, size, palette, palette == null ? palettes : null, blocks, List.of());
+    }
+
+    private static Chunk chunk(int chunkX, int chunkZ) {
+        return new DynamicChunk(instance, chunkX, chunkZ);
+    }
+
+    private static Block block(Chunk chunk, int x, int y, int z) {
+        synchronized (chunk) {
+            return chunk.getBlock(x, y, z);
+        }
+    }
+
+    private static void setBlock(Chunk chunk, int x, int y, int z, Block block) {
+        synchronized (chunk) {
+            chunk.setBlock(x, y, z, block);
+        }
+    }
+}
@@ -1,3 +1,10 @@
 dependencies {
     compileOnly(project(":core"))
-}
\ No newline at end of file
+    testImplementation(platform("org.junit:junit-bom:5.9.1"))
+    testImplementation("org.junit.jupiter:junit-jupiter")
+    testImplementation(project(":core"))
+}
+
+tasks.test {
+    useJUnitPlatform()
+}
@@ -0,0 +1,195 @@
+package io.github.pesto;
+
+import net.minestom.vanilla.files.ByteArray;
+import net.minestom.vanilla.files.FileSystem;
+import net.minestom.vanilla.logging.Logger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A binary snapshot of the vanilla data, so that later startups don't have to scan and inflate the client jar.
+ * <p>
+ * The snapshot is a single file holding every data file uncompressed, behind an index of paths, offsets and lengths.
+ * It is keyed by the hash of the jar it was extracted from and the VRI version that wrote it, and is memory-mapped
+ * when read, and its files are views of the mapped buffer. A snapshot with a different key is stale, and is ignored.
+ * </p>
+ */
+final class AssetsSnapshot {
+
+    private static final int MAGIC = 0x56524953; // VRIS
+    private static final int FORMAT_VERSION = 1;
+
+    private AssetsSnapshot() {
+    }
+
+    /**
+     * Creates the key of a snapshot extracted from the given jar.
+     *
+     * @param jar the jar
+     * @return the key, made of the jar's SHA-1 and the VRI version
+     * @throws IOException if the jar could not be read
+     */
+    static @NotNull String key(@NotNull File jar) throws IOException {
+        String vriVersion = AssetsSnapshot.class.getPackage().getImplementationVersion();
+        return jarSha1(jar) + "-" + (vriVersion == null ? "indev" : vriVersion);
+    }
+
+    /**
+     * Gets the SHA-1 of the given jar. It is stored next to the jar once known, so the jar is only hashed once.
+     *
+     * @param jar the jar
+     * @return the SHA-1, in hex
+     * @throws IOException if the jar could not be read
+     */
+    static @NotNull String jarSha1(@NotNull File jar) throws IOException {
+        Path stored = sha1File(jar);
+        if (Files.isRegularFile(stored) && Files.getLastModifiedTime(stored).compareTo(Files.getLastModifiedTime(jar.toPath())) >= 0) {
+            return Files.readString(stored).trim();
+        }
+        String sha1 = sha1(jar);
+        writeJarSha1(jar, sha1);
+        return sha1;
+    }
+
+    /**
+     * Stores the SHA-1 of the given jar next to it.
+     *
+     * @param jar  the jar
+     * @param sha1 the SHA-1, in hex
+     * @throws IOException if the SHA-1 could not be written
+     */
+    static void writeJarSha1(@NotNull File jar, @NotNull String sha1) throws IOException {
+        Files.writeString(sha1File(jar), sha1);
+    }
+
+    private static Path sha1File(File jar) {
+        return jar.toPath().resolveSibling(jar.getName() + ".sha1");
+    }
+
+    static @NotNull MessageDigest sha1Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Reads the snapshot at the given path.
+     *
+     * @param path the snapshot file
+     * @param key  the expected key
+     * @return the snapshot's files, or null if there is no snapshot, or it is stale or corrupt
+     */
+    static @Nullable FileSystem<ByteArray> read(@NotNull Path path, @NotNull String key) {
+        if (!Files.isRegularFile(path)) return null;
+
+        try (FileChannel channel = FileChannel.open(path)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION || !key.equals(readString(buffer))) {
+                Logger.info("Vanilla data snapshot is stale, re-extracting it");
+                return null;
+            }
+
+            int count = buffer.getInt();
+            Map<String, ByteBuffer> files = new HashMap<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                String name = readString(buffer);
+                int offset = buffer.getInt();
+                int length = buffer.getInt();
+                files.put(name, buffer.slice(offset, length));
+            }
+            return FileSystem.fromMap(files).map(ByteArray::view);
+        } catch (IOException | RuntimeException e) {
+            Logger.warn("Failed to read the vanilla data snapshot, re-extracting it");
+            return null;
+        }
+    }
+
+    /**
+     * Writes a snapshot of the given files. The snapshot is written to a temporary file first, so that an interrupted
+     * write never leaves a corrupt snapshot behind.
+     *
+     * @param path  the snapshot file
+     * @param key   the key of the snapshot
+     * @param files the files to write
+     * @throws IOException if the snapshot could not be written
+     */
+    static void write(@NotNull Path path, @NotNull String key, @NotNull FileSystem<ByteArray> files) throws IOException {
+        Map<String, byte[]> contents = new LinkedHashMap<>();
+        collect(files, "", contents);
+
+        // The index goes first, so its size has to be known before the data offsets are
+        int indexSize = Integer.BYTES * 3 + stringSize(key) + Integer.BYTES;
+        for (String name : contents.keySet()) {
+            indexSize += stringSize(name) + Integer.BYTES * 2;
+        }
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            writeString(out, key);
+            out.writeInt(contents.size());
+            int offset = indexSize;
+            for (Map.Entry<String, byte[]> entry : contents.entrySet()) {
+                writeString(out, entry.getKey());
+                out.writeInt(offset);
+                out.writeInt(entry.getValue().length);
+                offset += entry.getValue().length;
+            }
+            for (byte[] bytes : contents.values()) {
+                out.write(bytes);
+            }
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void collect(FileSystem<ByteArray> fs, String prefix, Map<String, byte[]> contents) {
+        for (String file : fs.files()) {
+            contents.put(prefix + file, fs.file(file).array());
+        }
+        for (String folder : fs.folders()) {
+            collect(fs.folder(folder), prefix + folder + "/", contents);
+        }
+    }
+
+    private static int stringSize(String string) {
+        return Integer.BYTES + string.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String sha1(File file) throws IOException {
+        try (DigestInputStream in = new DigestInputStream(new BufferedInputStream(new FileInputStream(file)), sha1Digest())) {
+            in.transferTo(OutputStream.nullOutputStream());
+            return HexFormat.of().formatHex(in.getMessageDigest().digest());
+        }
+    }
+}
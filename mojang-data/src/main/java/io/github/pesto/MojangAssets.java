@@ -4,47 +4,76 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
 import net.minestom.vanilla.files.ByteArray;
+import net.minestom.vanilla.files.CloseableFileSystem;
 import net.minestom.vanilla.files.FileSystem;
 import net.minestom.vanilla.logging.Loading;
+import net.minestom.vanilla.logging.Logger;
 import org.jetbrains.annotations.NotNull;
 
-import java.io.File;
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.*;
 import java.net.URL;
 import java.net.URLConnection;
-import java.nio.ByteBuffer;
-import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.HexFormat;
 import java.util.concurrent.CompletableFuture;
 
-import static java.nio.file.StandardOpenOption.*;
-
 final class MojangAssets {
     private static final File ROOT = new File(".", "mojang-data");
-    private static final String VERSION_MANIFEST_URL = "https://launchermeta.mojang.com/mc/game/version_manifest.json";
+    // Can be pointed at a local stand-in of the launcher meta server
+    private static final String VERSION_MANIFEST_URL = System.getProperty("vri.mojang.manifest",
+            "https://launchermeta.mojang.com/mc/game/version_manifest.json");
+
+    private final File root;
+    private final String manifestUrl;
+
+    MojangAssets() {
+        this(ROOT, VERSION_MANIFEST_URL);
+    }
+
+    MojangAssets(@NotNull File root, @NotNull String manifestUrl) {
+        this.root = root;
+        this.manifestUrl = manifestUrl;
+    }
 
     public CompletableFuture<FileSystem<ByteArray>> getAssets(@NotNull String version) {
-        return CompletableFuture.supplyAsync(() -> downloadResources(version));
+        return CompletableFuture.supplyAsync(Loading.inherit(() -> downloadResources(version)));
     }
 
     private FileSystem<ByteArray> downloadResources(@NotNull String version) {
         try {
             Loading.start("Downloading vanilla jar (" + version + ")...");
 
-            // Check if source files already exist
-            File jar = new File(ROOT, version + File.separator + "resources.jar");
-            if (!jar.exists()) {
+            File jar = jar(version);
 
-                // Get version info
-                String versionInfoUrl = findVersionInfoUrl(version);
-                JsonObject versionInfo = downloadJson(versionInfoUrl);
-
-                // Download jar
-                downloadJar(versionInfo, jar);
+            // Use the snapshot of a previous startup if it was extracted from this same jar
+            Path snapshot = new File(root, version + File.separator + "data.snapshot").toPath();
+            String key = AssetsSnapshot.key(jar);
+            FileSystem<ByteArray> data = AssetsSnapshot.read(snapshot, key);
+            if (data != null) {
+                return data;
             }
 
-            return FileSystem.fromZipFile(jar, path -> path.startsWith("data/minecraft/")).folder("data");
+            CloseableFileSystem<ByteArray> zip = FileSystem.openZipFile(jar, path -> path.startsWith("data/minecraft/"));
+            try {
+                AssetsSnapshot.write(snapshot, key, zip.folder("data"));
+                data = AssetsSnapshot.read(snapshot, key);
+            } catch (IOException e) {
+                Logger.warn("Failed to write the vanilla data snapshot: %s%n", e.getMessage());
+            }
+            if (data == null) {
+                // the files are read from the jar for as long as they are used, so it stays open
+                return zip.folder("data");
+            }
+            try {
+                zip.close();
+            } catch (IOException e) {
+                Logger.warn("Failed to close the vanilla jar: %s%n", e.getMessage());
+            }
+            return data;
 
         } catch (IOException e) {
             exitError(e.getMessage());
@@ -54,6 +83,28 @@ final class MojangAssets {
         return FileSystem.empty();
     }
 
+    /**
+     * Gets the vanilla jar of the given version, downloading it if it wasn't downloaded before.
+     *
+     * @param version The release version
+     * @return The jar
+     * @throws IOException If the jar could not be downloaded
+     */
+    File jar(@NotNull String version) throws IOException {
+        // Check if source files already exist
+        File jar = new File(root, version + File.separator + "resources.jar");
+        if (!jar.exists()) {
+
+            // Get version info
+            String versionInfoUrl = findVersionInfoUrl(version);
+            JsonObject versionInfo = downloadJson(versionInfoUrl);
+
+            // Download jar
+            downloadJar(versionInfo, jar);
+        }
+        return jar;
+    }
+
     /**
      * Gets the version info from the version manifest
      *
@@ -63,7 +114,7 @@ final class MojangAssets {
      */
     private String findVersionInfoUrl(@NotNull String version) throws IOException {
         // Get manifest
-        JsonObject manifest = downloadJson(VERSION_MANIFEST_URL);
+        JsonObject manifest = downloadJson(manifestUrl);
 
         // Get the latest version if requested
         if (version.equals("latest")) {
@@ -86,7 +137,9 @@ final class MojangAssets {
     }
 
     /**
-     * Downloads the vanilla jar to be used for extracting
+     * Downloads the vanilla jar to be used for extracting. The jar is streamed to a temporary file while its SHA-1 is
+     * computed, and only moved into place once it matches the SHA-1 of the version info, so an interrupted or corrupt
+     * download is never mistaken for the jar.
      *
      * @param versionInfo The version info
      */
@@ -94,48 +147,56 @@ final class MojangAssets {
         JsonObject downloads = versionInfo.getAsJsonObject("downloads");
         JsonObject client = downloads.getAsJsonObject("client");
         String url = client.get("url").getAsString();
+        String expectedSha1 = client.get("sha1").getAsString();
 
-        // Create if it doesn't exist
-        if (!destination.exists()) {
-            destination.getParentFile().mkdirs();
-            destination.createNewFile();
-        }
+        destination.getParentFile().mkdirs();
+        Path temp = destination.toPath().resolveSibling(destination.getName() + ".part");
 
-        URLConnection connection = new URL(url).openConnection();
-        connection.connect();
-        try (InputStream input = connection.getInputStream()) {
-
-            // Download the jar to memory first
-            ByteBuffer buffer = ByteBuffer.allocateDirect(connection.getContentLength());
-
-            double totalMB = (double) connection.getContentLengthLong() / 1024 / 1024;
-            Loading.start(String.format("Downloading vanilla jar (%.2f MB)...", totalMB));
-            long pos = 0;
-            long segmentCompleted = 0;
-            while (true) {
-                var bytes = input.readNBytes(64);
-                if (bytes.length == 0) break;
-                pos += bytes.length;
-                buffer.put(bytes);
-
-                // we only want to update the progress every 8th of the total size
-                double progress = (double) pos / (double) connection.getContentLengthLong();
-                if (progress - segmentCompleted > 1.0 / 8.0) {
-                    segmentCompleted = (long) (progress * 8.0) / 8;
-                    Loading.updater().progress(progress);
+        try {
+            URLConnection connection = new URL(url).openConnection();
+            connection.connect();
+            long total = connection.getContentLengthLong();
+            MessageDigest digest = AssetsSnapshot.sha1Digest();
+            try (InputStream input = new DigestInputStream(connection.getInputStream(), digest);
+                 OutputStream output = Files.newOutputStream(temp)) {
+
+                double totalMB = (double) total / 1024 / 1024;
+                Loading.start(String.format("Downloading vanilla jar (%.2f MB)...", totalMB));
+                try {
+                    byte[] buffer = new byte[64 * 1024];
+                    long pos = 0;
+                    long segmentCompleted = 0;
+                    int read;
+                    while ((read = input.read(buffer)) != -1) {
+                        output.write(buffer, 0, read);
+                        pos += read;
+
+                        // we only want to update the progress every 8th of the total size
+                        double progress = (double) pos / (double) total;
+                        if (total > 0 && progress - segmentCompleted > 1.0 / 8.0) {
+                            segmentCompleted = (long) (progress * 8.0) / 8;
+                            Loading.updater().progress(progress);
+                        }
+                    }
+                    if (total >= 0 && pos != total) {
+                        // the connection was closed before the whole jar was sent
+                        throw new IOException("Download of the client JAR was interrupted after " + pos + " of " + total + " bytes");
+                    }
+                } finally {
+                    Loading.finish();
                 }
             }
-            Loading.finish();
 
-            // Write the buffer to the file
-            buffer.flip();
-            try (FileChannel channel = FileChannel.open(destination.toPath(), WRITE, TRUNCATE_EXISTING)) {
-                channel.write(buffer);
+            String sha1 = HexFormat.of().formatHex(digest.digest());
+            if (!sha1.equalsIgnoreCase(expectedSha1)) {
+                throw new IOException("Failed to download client JAR, its SHA-1 is " + sha1 + " instead of " + expectedSha1);
             }
-
-            boolean success = destination.exists() && destination.length() == connection.getContentLengthLong();
-            if (!success)
-                throw new IOException("Failed to download client JAR");
+            Files.move(temp, destination.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            AssetsSnapshot.writeJarSha1(destination, sha1);
+        } catch (IOException | RuntimeException e) {
+            // never leave a partial download behind
+            Files.deleteIfExists(temp);
+            throw e;
         }
     }
 
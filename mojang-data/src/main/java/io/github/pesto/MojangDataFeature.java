@@ -16,9 +16,13 @@ public class MojangDataFeature implements VanillaReimplementation.Feature {
 
     @Override
     public void hook(@NotNull HookContext context) {
-        assetsRequest(LATEST)
-                .thenAccept(latest::complete)
-                .join();
+        hookAsync(context).join();
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> hookAsync(@NotNull HookContext context) {
+        // The download doesn't need to hold up features that don't depend on the vanilla data
+        return assetsRequest(LATEST).thenAccept(latest::complete);
     }
 
     @Override
@@ -0,0 +1,137 @@
+package io.github.pesto;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Downloads the vanilla jar from a local stand-in of the launcher meta server
+public class MojangAssetsTests {
+
+    private static final String VERSION = "1.20.4";
+    private static final byte[] JAR = "not really a jar, but the download doesn't care".getBytes(StandardCharsets.UTF_8);
+
+    private final AtomicInteger jarRequests = new AtomicInteger();
+    private HttpServer server;
+    private volatile String expectedSha1;
+    private volatile String jarUrl;
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        expectedSha1 = HexFormat.of().formatHex(AssetsSnapshot.sha1Digest().digest(JAR));
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        jarUrl = url("/client.jar");
+        server.createContext("/manifest.json", exchange -> respond(exchange, """
+                {"latest": {"release": "%s"}, "versions": [{"id": "%s", "url": "%s"}]}
+                """.formatted(VERSION, VERSION, url("/version.json")).getBytes(StandardCharsets.UTF_8)));
+        server.createContext("/version.json", exchange -> respond(exchange, """
+                {"downloads": {"client": {"url": "%s", "sha1": "%s"}}}
+                """.formatted(jarUrl, expectedSha1).getBytes(StandardCharsets.UTF_8)));
+        server.createContext("/client.jar", exchange -> {
+            jarRequests.incrementAndGet();
+            respond(exchange, JAR);
+        });
+        server.start();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    private String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    private static void respond(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+    private MojangAssets assets(Path root) {
+        return new MojangAssets(root.toFile(), url("/manifest.json"));
+    }
+
+    private static void assertNothingDownloaded(Path root) throws IOException {
+        Path versionFolder = root.resolve(VERSION);
+        assertFalse(Files.exists(versionFolder.resolve("resources.jar")));
+        assertFalse(Files.exists(versionFolder.resolve("resources.jar.part")));
+    }
+
+    @Test
+    public void testDownloadAndReuse(@TempDir Path root) throws IOException {
+        MojangAssets assets = assets(root);
+
+        File jar = assets.jar(VERSION);
+        assertArrayEquals(JAR, Files.readAllBytes(jar.toPath()));
+        assertEquals(expectedSha1, AssetsSnapshot.jarSha1(jar));
+        assertFalse(Files.exists(jar.toPath().resolveSibling("resources.jar.part")));
+        assertEquals(1, jarRequests.get());
+
+        // the downloaded jar is reused, even by a new instance
+        assertEquals(jar, assets(root).jar(VERSION));
+        assertEquals(1, jarRequests.get());
+    }
+
+    @Test
+    public void testSha1Mismatch(@TempDir Path root) throws IOException {
+        expectedSha1 = "0".repeat(40);
+
+        IOException exception = assertThrows(IOException.class, () -> assets(root).jar(VERSION));
+        assertTrue(exception.getMessage().contains(expectedSha1));
+        assertNothingDownloaded(root);
+
+        // a corrupt download isn't mistaken for the jar, so the next attempt downloads it again
+        assertThrows(IOException.class, () -> assets(root).jar(VERSION));
+        assertEquals(2, jarRequests.get());
+    }
+
+    @Test
+    public void testInterruptedDownload(@TempDir Path root) throws Exception {
+        // announces the whole jar, but closes the connection halfway through
+        try (ServerSocket interrupting = new ServerSocket(0, 0, InetAddress.getLoopbackAddress())) {
+            Thread serving = new Thread(() -> {
+                try (Socket socket = interrupting.accept()) {
+                    socket.getInputStream().read(new byte[8192]);
+                    OutputStream output = socket.getOutputStream();
+                    output.write(("HTTP/1.1 200 OK\r\nContent-Length: " + JAR.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+                    output.write(JAR, 0, JAR.length / 2);
+                    output.flush();
+                } catch (IOException ignored) {
+                }
+            });
+            serving.start();
+            jarUrl = "http://127.0.0.1:" + interrupting.getLocalPort() + "/client.jar";
+
+            IOException exception = assertThrows(IOException.class, () -> assets(root).jar(VERSION));
+            assertTrue(exception.getMessage().contains("interrupted"));
+            assertNothingDownloaded(root);
+            serving.join();
+        }
+
+        // the next attempt starts over
+        jarUrl = url("/client.jar");
+        File jar = assets(root).jar(VERSION);
+        assertArrayEquals(JAR, Files.readAllBytes(jar.toPath()));
+        assertEquals(1, jarRequests.get());
+    }
+}
@@ -1,6 +1,6 @@
 
-// Find all projects except for the root project and this project.
-val disallowed = setOf(project.name, project.parent!!.name)
+// Find all projects except for the root project, this project and the benchmarks.
+val disallowed = setOf(project.name, project.parent!!.name, "benchmarks")
 val includedProjects = (project.parent?.allprojects ?: emptyList()).filter { !disallowed.contains(it.name) }
 
 dependencies {
@@ -8,11 +8,12 @@ import net.minestom.server.event.EventNode;
 import net.minestom.server.event.player.AsyncPlayerConfigurationEvent;
 import net.minestom.server.extras.lan.OpenToLAN;
 import net.minestom.server.instance.Instance;
-import net.minestom.server.instance.block.Block;
 import net.minestom.server.network.ConnectionManager;
 import net.minestom.server.utils.NamespaceID;
 import net.minestom.server.world.DimensionType;
 import net.minestom.vanilla.VanillaReimplementation;
+import net.minestom.vanilla.generation.Heightmap;
+import net.minestom.vanilla.generation.Heightmaps;
 import net.minestom.vanilla.logging.Level;
 import net.minestom.vanilla.logging.Loading;
 import net.minestom.vanilla.logging.Logger;
@@ -83,14 +84,7 @@ class VanillaServer {
                     event.setSpawningInstance(overworld);
                     event.getPlayer().setGameMode(GameMode.SPECTATOR);
                     overworld.loadChunk(0, 0).join();
-                    // TODO: Find the first block that is not air
-                    int y = overworld.getDimensionType().getMaxY();
-                    while (Block.AIR.compare(overworld.getBlock(0, y, 0))) {
-                        y--;
-                        if (y == overworld.getDimensionType().getMinY()) {
-                            break;
-                        }
-                    }
+                    int y = Heightmaps.height(overworld, Heightmap.Type.MOTION_BLOCKING, 0, 0);
                     event.getPlayer().setRespawnPoint(new Pos(0, y, 0));
                 });
 
@@ -122,7 +116,7 @@ class VanillaServer {
         AtomicInteger completed = new AtomicInteger(0);
         for (int x = -radius; x < radius; x++) {
             for (int z = -radius; z < radius; z++) {
-                int index = (x + radius) + (z + radius) * radius;
+                int index = (x + radius) + (z + radius) * radius * 2;
                 chunkFutures[index] = overworld.loadChunk(x, z)
                         .thenRun(() -> {
                             int completedCount = completed.incrementAndGet();
@@ -15,10 +15,12 @@ include("mojang-data")
 include("crafting")
 include("datapack-loading")
 include("datapack-tests")
+include("benchmarks")
 
 pluginManagement {
     repositories {
         mavenCentral()
+        gradlePluginPortal()
         maven("https://repo.spongepowered.org/repository/maven-public")
         maven("https://repo.spongepowered.org/repository/maven-snapshots")
     }
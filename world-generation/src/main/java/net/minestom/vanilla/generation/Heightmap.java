@@ -0,0 +1,153 @@
+package net.minestom.vanilla.generation;
+
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.utils.MathUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Predicate;
+
+/**
+ * A single heightmap of a chunk column, storing the first free y level above the highest block matching its type.
+ * <p>
+ * Heights are stored relative to the minimum y level, packed into a long array the same way vanilla does (entries do
+ * not span across longs).
+ * </p>
+ */
+public final class Heightmap {
+
+    private static final int SIZE = Chunk.CHUNK_SIZE_X * Chunk.CHUNK_SIZE_Z;
+
+    public enum Type {
+        /**
+         * The highest non-air block.
+         */
+        WORLD_SURFACE(block -> !block.isAir()),
+        /**
+         * The highest block that blocks motion or contains a fluid.
+         */
+        MOTION_BLOCKING(block -> block.isSolid() || block.isLiquid() || "true".equals(block.getProperty("waterlogged"))),
+        /**
+         * The highest solid block.
+         */
+        OCEAN_FLOOR(Block::isSolid);
+
+        private final Predicate<Block> predicate;
+
+        Type(Predicate<Block> predicate) {
+            this.predicate = predicate;
+        }
+
+        public boolean test(@NotNull Block block) {
+            return predicate.test(block);
+        }
+    }
+
+    private final Type type;
+    private final int minY;
+    private final int bitsPerEntry;
+    private final int entriesPerLong;
+    private final long mask;
+    private final long[] data;
+
+    /**
+     * Creates an empty heightmap.
+     *
+     * @param type the type of the heightmap
+     * @param minY the minimum y level of the chunk (inclusive)
+     * @param maxY the maximum y level of the chunk (exclusive)
+     */
+    public Heightmap(@NotNull Type type, int minY, int maxY) {
+        this.type = type;
+        this.minY = minY;
+        this.bitsPerEntry = MathUtils.bitsToRepresent(maxY - minY);
+        this.entriesPerLong = Long.SIZE / bitsPerEntry;
+        this.mask = (1L << bitsPerEntry) - 1;
+        this.data = new long[(SIZE + entriesPerLong - 1) / entriesPerLong];
+    }
+
+    public @NotNull Type type() {
+        return type;
+    }
+
+    /**
+     * Gets the first free y level above the highest block matching this heightmap's type.
+     *
+     * @param x the chunk-relative x coordinate
+     * @param z the chunk-relative z coordinate
+     * @return the y level, or the minimum y level of the chunk if no block matches
+     */
+    public int get(int x, int z) {
+        return minY + (int) getRaw(index(x, z));
+    }
+
+    /**
+     * Sets the first free y level of the given column.
+     *
+     * @param x the chunk-relative x coordinate
+     * @param z the chunk-relative z coordinate
+     * @param y the new y level
+     */
+    public void set(int x, int z, int y) {
+        setRaw(index(x, z), y - minY);
+    }
+
+    /**
+     * Updates this heightmap for a block that was just written.
+     *
+     * @param x      the chunk-relative x coordinate
+     * @param y      the y coordinate
+     * @param z      the chunk-relative z coordinate
+     * @param block  the block that was written
+     * @param column a getter for the rest of the column, used when the highest block is removed
+     */
+    public void update(int x, int y, int z, @NotNull Block block, @NotNull ColumnGetter column) {
+        int height = get(x, z);
+        if (type.test(block)) {
+            if (y >= height) set(x, z, y + 1);
+            return;
+        }
+        if (y + 1 != height) return;
+
+        // The highest block was removed, find the next one down
+        for (int below = y - 1; below >= minY; below--) {
+            if (type.test(column.getBlock(x, below, z))) {
+                set(x, z, below + 1);
+                return;
+            }
+        }
+        set(x, z, minY);
+    }
+
+    /**
+     * Copies the packed data of this heightmap, in vanilla's format.
+     *
+     * @return the packed heights
+     */
+    public long @NotNull [] data() {
+        return data.clone();
+    }
+
+    private long getRaw(int index) {
+        int longIndex = index / entriesPerLong;
+        int shift = (index % entriesPerLong) * bitsPerEntry;
+        return (data[longIndex] >>> shift) & mask;
+    }
+
+    private void setRaw(int index, long value) {
+        int longIndex = index / entriesPerLong;
+        int shift = (index % entriesPerLong) * bitsPerEntry;
+        data[longIndex] = (data[longIndex] & ~(mask << shift)) | ((value & mask) << shift);
+    }
+
+    private static int index(int x, int z) {
+        return (z & 0xF) * Chunk.CHUNK_SIZE_X + (x & 0xF);
+    }
+
+    /**
+     * Gets blocks within a single chunk column, using chunk-relative x and z coordinates.
+     */
+    public interface ColumnGetter {
+        @NotNull Block getBlock(int x, int y, int z);
+    }
+}
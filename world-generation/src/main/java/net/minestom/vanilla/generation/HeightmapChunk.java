@@ -0,0 +1,36 @@
+package net.minestom.vanilla.generation;
+
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.LightingChunk;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.block.BlockHandler;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A chunk that keeps its {@link Heightmaps} up to date after every block change, whatever its source (players,
+ * explosions, fluids or {@link Instance#setBlock}).
+ * <p>
+ * Heightmaps that have not been attached or scanned yet are left alone, they are computed from the final blocks on
+ * first access.
+ * </p>
+ */
+final class HeightmapChunk extends LightingChunk {
+
+    HeightmapChunk(@NotNull Instance instance, int chunkX, int chunkZ) {
+        super(instance, chunkX, chunkZ);
+    }
+
+    @Override
+    public void setBlock(int x, int y, int z, @NotNull Block block,
+                         @Nullable BlockHandler.Placement placement,
+                         @Nullable BlockHandler.Destroy destroy) {
+        super.setBlock(x, y, z, block, placement, destroy);
+        Heightmaps heightmaps = Heightmaps.recorded(this);
+        if (heightmaps == null) return;
+        int minX = getChunkX() * CHUNK_SIZE_X;
+        int minZ = getChunkZ() * CHUNK_SIZE_Z;
+        heightmaps.update(x, y, z, block, (columnX, columnY, columnZ) ->
+                getBlock(minX + columnX, columnY, minZ + columnZ, Block.Getter.Condition.TYPE));
+    }
+}
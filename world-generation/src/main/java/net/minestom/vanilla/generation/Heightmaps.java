@@ -0,0 +1,142 @@
+package net.minestom.vanilla.generation;
+
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.tag.Tag;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * All the heightmaps of a single chunk.
+ * <p>
+ * Heightmaps are recorded while the chunk is generated, and attached to the chunk once it is loaded. Chunks that were
+ * not generated by vri (e.g. loaded from disk) are scanned once on first access.
+ * </p>
+ */
+public final class Heightmaps {
+
+    private static final Tag<@Nullable Heightmaps> TAG = Tag.Transient("vri:heightmaps");
+    private static final Heightmap.Type[] TYPES = Heightmap.Type.values();
+
+    private final Heightmap[] heightmaps = new Heightmap[TYPES.length];
+
+    /**
+     * Creates empty heightmaps.
+     *
+     * @param minY the minimum y level of the chunk (inclusive)
+     * @param maxY the maximum y level of the chunk (exclusive)
+     */
+    public Heightmaps(int minY, int maxY) {
+        for (Heightmap.Type type : TYPES) {
+            heightmaps[type.ordinal()] = new Heightmap(type, minY, maxY);
+        }
+    }
+
+    /**
+     * Gets the heightmaps of the given chunk, scanning the chunk if they have not been recorded yet.
+     *
+     * @param chunk the chunk
+     * @return the heightmaps
+     */
+    public static @NotNull Heightmaps of(@NotNull Chunk chunk) {
+        Heightmaps heightmaps = chunk.getTag(TAG);
+        if (heightmaps != null) return heightmaps;
+        synchronized (chunk) {
+            heightmaps = chunk.getTag(TAG);
+            if (heightmaps == null) {
+                heightmaps = scan(chunk);
+                chunk.setTag(TAG, heightmaps);
+            }
+        }
+        return heightmaps;
+    }
+
+    /**
+     * Gets the first free y level above the highest block of the given type, at the given world position.
+     * The chunk at this position must be loaded.
+     *
+     * @param instance the instance
+     * @param type     the heightmap type
+     * @param x        the world x coordinate
+     * @param z        the world z coordinate
+     * @return the y level
+     */
+    public static int height(@NotNull Instance instance, @NotNull Heightmap.Type type, int x, int z) {
+        Chunk chunk = instance.getChunkAt(x, z);
+        if (chunk == null) {
+            throw new IllegalStateException("Chunk at " + x + ", " + z + " is not loaded");
+        }
+        return of(chunk).get(type, x, z);
+    }
+
+    /**
+     * Gets the heightmaps of the given chunk if they have already been recorded or scanned, without scanning it.
+     */
+    static @Nullable Heightmaps recorded(@NotNull Chunk chunk) {
+        return chunk.getTag(TAG);
+    }
+
+    /**
+     * Attaches already computed heightmaps to the given chunk.
+     */
+    static void attach(@NotNull Chunk chunk, @NotNull Heightmaps heightmaps) {
+        chunk.setTag(TAG, heightmaps);
+    }
+
+    /**
+     * Gets the first free y level above the highest block of the given type.
+     *
+     * @param type the heightmap type
+     * @param x    the x coordinate, only the chunk-relative part is used
+     * @param z    the z coordinate, only the chunk-relative part is used
+     * @return the y level
+     */
+    public int get(@NotNull Heightmap.Type type, int x, int z) {
+        return heightmaps[type.ordinal()].get(x, z);
+    }
+
+    public @NotNull Heightmap heightmap(@NotNull Heightmap.Type type) {
+        return heightmaps[type.ordinal()];
+    }
+
+    /**
+     * Updates all heightmaps for a block that was just written.
+     *
+     * @param x      the x coordinate, only the chunk-relative part is used
+     * @param y      the y coordinate
+     * @param z      the z coordinate, only the chunk-relative part is used
+     * @param block  the block that was written
+     * @param column a getter for the rest of the column
+     */
+    public void update(int x, int y, int z, @NotNull Block block, @NotNull Heightmap.ColumnGetter column) {
+        for (Heightmap heightmap : heightmaps) {
+            heightmap.update(x & 0xF, y, z & 0xF, block, column);
+        }
+    }
+
+    private static Heightmaps scan(Chunk chunk) {
+        int minY = chunk.getMinSection() * Chunk.CHUNK_SECTION_SIZE;
+        int maxY = chunk.getMaxSection() * Chunk.CHUNK_SECTION_SIZE;
+        Heightmaps heightmaps = new Heightmaps(minY, maxY);
+        int blockX = chunk.getChunkX() * Chunk.CHUNK_SIZE_X;
+        int blockZ = chunk.getChunkZ() * Chunk.CHUNK_SIZE_Z;
+
+        for (int x = 0; x < Chunk.CHUNK_SIZE_X; x++) {
+            for (int z = 0; z < Chunk.CHUNK_SIZE_Z; z++) {
+                int remaining = TYPES.length;
+                boolean[] found = new boolean[TYPES.length];
+                for (int y = maxY - 1; y >= minY && remaining > 0; y--) {
+                    Block block = chunk.getBlock(blockX + x, y, blockZ + z, Block.Getter.Condition.TYPE);
+                    for (Heightmap.Type type : TYPES) {
+                        if (found[type.ordinal()] || !type.test(block)) continue;
+                        found[type.ordinal()] = true;
+                        remaining--;
+                        heightmaps.heightmaps[type.ordinal()].set(x, z, y + 1);
+                    }
+                }
+            }
+        }
+        return heightmaps;
+    }
+}
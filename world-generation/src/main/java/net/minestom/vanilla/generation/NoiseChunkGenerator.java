@@ -11,6 +11,7 @@ import net.minestom.server.utils.NamespaceID;
 import net.minestom.server.utils.chunk.ChunkUtils;
 import net.minestom.server.world.DimensionType;
 import net.minestom.vanilla.datapack.Datapack;
+import net.minestom.vanilla.datapack.worldgen.DensityFunctionProfiler;
 import net.minestom.vanilla.datapack.worldgen.NoiseSettings;
 import net.minestom.vanilla.datapack.worldgen.WorldgenContext;
 import net.minestom.vanilla.datapack.worldgen.biome.BiomeSource;
@@ -21,9 +22,11 @@ import org.jetbrains.annotations.UnknownNullability;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class NoiseChunkGenerator implements ChunkGenerator {
     private final Map<Long, NoiseChunk> noiseChunkCache = new HashMap<>();
+    private final Map<Long, Heightmaps> generatedHeightmaps;
     private final Aquifer.FluidPicker globalFluidPicker;
 
 //    constructor(
@@ -51,7 +54,17 @@ public class NoiseChunkGenerator implements ChunkGenerator {
     private final DimensionType dimensionType;
 
     public NoiseChunkGenerator(@NotNull Datapack datapack, @NotNull BiomeSource biomeSource, @NotNull NoiseSettings settings, DimensionType dimensionType) {
+        this(datapack, biomeSource, settings, dimensionType, new ConcurrentHashMap<>());
+    }
+
+    /**
+     * @param generatedHeightmaps where the heightmaps of generated chunks are stored, by chunk index. This may be shared
+     *                            between generators of the same instance.
+     */
+    public NoiseChunkGenerator(@NotNull Datapack datapack, @NotNull BiomeSource biomeSource, @NotNull NoiseSettings settings, DimensionType dimensionType,
+                               @NotNull Map<Long, Heightmaps> generatedHeightmaps) {
         this.datapack = datapack;
+        this.generatedHeightmaps = generatedHeightmaps;
         this.biomeSource = biomeSource;
         this.settings = settings;
         this.dimensionType = dimensionType;
@@ -181,6 +194,8 @@ public class NoiseChunkGenerator implements ChunkGenerator {
                 dimensionType.getMaxY() / Chunk.CHUNK_SECTION_SIZE);
         RandomState randomState = new RandomState(settings, 125);
         fill(this.datapack, randomState, chunk);
+        generatedHeightmaps.put(chunk.index(), chunk.heightmaps());
+        DensityFunctionProfiler.chunkGenerated();
     }
 
     private static class TargetChunkImpl implements TargetChunk {
@@ -194,6 +209,7 @@ public class NoiseChunkGenerator implements ChunkGenerator {
         private final ChunkBatch batch;
 
         private final Int2ObjectMap<Block> blocks = new Int2ObjectOpenHashMap<>();
+        private final Heightmaps heightmaps;
 
         public TargetChunkImpl(ChunkBatch batch, int chunkX, int chunkZ, int minSection, int maxSection) {
             this.chunkX = chunkX;
@@ -201,6 +217,12 @@ public class NoiseChunkGenerator implements ChunkGenerator {
             this.minSection = minSection;
             this.maxSection = maxSection;
             this.batch = batch;
+            this.heightmaps = new Heightmaps(minY(), maxY());
+        }
+
+        @Override
+        public @NotNull Heightmaps heightmaps() {
+            return this.heightmaps;
         }
 
         @Override
@@ -236,8 +258,14 @@ public class NoiseChunkGenerator implements ChunkGenerator {
             }
             int index = ChunkUtils.getBlockIndex(x, y, z);
             this.blocks.put(index, block);
+            this.heightmaps.update(x, y, z, block, this::getWrittenBlock);
             batch.setBlock(x - minX(), y, z - minZ(), block);
         }
+
+        private @NotNull Block getWrittenBlock(int localX, int y, int localZ) {
+            int index = ChunkUtils.getBlockIndex(localX, y, localZ);
+            return this.blocks.getOrDefault(index, Block.AIR);
+        }
     }
 
     public interface TargetChunk extends Block.Getter, Block.Setter {
@@ -276,6 +304,11 @@ public class NoiseChunkGenerator implements ChunkGenerator {
         default int maxY() {
             return (maxSection() + 1) * Chunk.CHUNK_SECTION_SIZE;
         }
+
+        /**
+         * @return the heightmaps of this chunk, updated as blocks are written
+         */
+        @NotNull Heightmaps heightmaps();
     }
 
     @Override
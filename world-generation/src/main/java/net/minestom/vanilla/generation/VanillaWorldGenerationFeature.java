@@ -1,9 +1,13 @@
 package net.minestom.vanilla.generation;
 
+import net.minestom.server.event.instance.InstanceChunkLoadEvent;
 import net.minestom.server.instance.ChunkGenerator;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.InstanceContainer;
 import net.minestom.server.instance.ChunkPopulator;
 import net.minestom.server.instance.batch.ChunkBatch;
 import net.minestom.server.utils.NamespaceID;
+import net.minestom.server.utils.chunk.ChunkUtils;
 import net.minestom.vanilla.VanillaReimplementation;
 import net.minestom.vanilla.datapack.Datapack;
 import net.minestom.vanilla.datapack.DatapackLoadingFeature;
@@ -13,31 +17,31 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class VanillaWorldGenerationFeature implements VanillaReimplementation.Feature {
 
     @Override
     public void hook(@NotNull HookContext context) {
         context.vri().process().eventHandler().addListener(SetupVanillaInstanceEvent.class, event -> {
-
-            NamespaceID plains = NamespaceID.from("minecraft:plains");
+            Instance instance = event.getInstance();
             DatapackLoadingFeature datapackLoading = context.vri().feature(DatapackLoadingFeature.class);
-            Datapack datapack = datapackLoading.current();
-
-            Datapack.NamespacedData data = datapack.namespacedData().get("minecraft");
-            if (data == null) {
-                throw new IllegalStateException("minecraft namespace not found");
-            }
 
-            NoiseSettings settings = data.world_gen().noise_settings().file("overworld.json");
-//            BiomeSource.fromJson()
+            // Heightmaps are recorded by any of the generators, and attached to the chunk once it has loaded
+            Map<Long, Heightmaps> generatedHeightmaps = new ConcurrentHashMap<>();
+            // Chunks generated after a reload use the worldgen settings of the new datapack
+            AtomicReference<ThreadLocal<NoiseChunkGenerator>> generators =
+                    new AtomicReference<>(generators(datapackLoading.current(), instance, generatedHeightmaps));
+            datapackLoading.onReload(datapack -> generators.set(generators(datapack, instance, generatedHeightmaps)));
 
-            ThreadLocal<NoiseChunkGenerator> generators = ThreadLocal.withInitial(() -> new NoiseChunkGenerator(datapack, (x, y, z, sampler) -> plains, settings, event.getInstance().getDimensionType()));
-            event.getInstance().setChunkGenerator(new ChunkGenerator() {
+            hookHeightmaps(instance, generatedHeightmaps);
+            instance.setChunkGenerator(new ChunkGenerator() {
                 @Override
                 public void generateChunkData(@NotNull ChunkBatch batch, int chunkX, int chunkZ) {
-                    generators.get().generateChunkData(batch, chunkX, chunkZ);
+                    generators.get().get().generateChunkData(batch, chunkX, chunkZ);
                 }
 
                 @Override
@@ -48,6 +52,34 @@ public class VanillaWorldGenerationFeature implements VanillaReimplementation.Fe
         });
     }
 
+    private static ThreadLocal<NoiseChunkGenerator> generators(Datapack datapack, Instance instance,
+                                                               Map<Long, Heightmaps> generatedHeightmaps) {
+        NamespaceID plains = NamespaceID.from("minecraft:plains");
+
+        Datapack.NamespacedData data = datapack.namespacedData().get("minecraft");
+        if (data == null) {
+            throw new IllegalStateException("minecraft namespace not found");
+        }
+
+        NoiseSettings settings = data.world_gen().noise_settings().file("overworld.json");
+//        BiomeSource.fromJson()
+
+        return ThreadLocal.withInitial(() -> new NoiseChunkGenerator(datapack, (x, y, z, sampler) -> plains, settings, instance.getDimensionType(), generatedHeightmaps));
+    }
+
+    private static void hookHeightmaps(Instance instance, Map<Long, Heightmaps> generatedHeightmaps) {
+        // keeps the heightmaps up to date once a block change has been applied
+        if (instance instanceof InstanceContainer container) {
+            container.setChunkSupplier(HeightmapChunk::new);
+        }
+        instance.eventNode().addListener(InstanceChunkLoadEvent.class, event -> {
+            Heightmaps heightmaps = generatedHeightmaps.remove(ChunkUtils.getChunkIndex(event.getChunkX(), event.getChunkZ()));
+            if (heightmaps != null) {
+                Heightmaps.attach(event.getChunk(), heightmaps);
+            }
+        });
+    }
+
     @Override
     public @NotNull NamespaceID namespaceId() {
         return NamespaceID.from("vri:worldgeneration");